@@ -0,0 +1,105 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters.benchmarks;
+
+import id.opentelemetry.exporters.CsvMetricExporter;
+import id.opentelemetry.exporters.CsvMetricExporterConfiguration;
+import id.opentelemetry.exporters.CsvMetricExporterConfiguration.Durability;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.MetricDataType;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Throughput of appending metrics to CSV files by {@link
+ * CsvMetricExporter#export(java.util.Collection)}.
+ *
+ * <p>Files are not forced to the disk, so results do not depend on the disk sync latency. Files are
+ * rotated by size without compression, so that they do not fill up the disk.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CsvExportBenchmark {
+
+    @Param({"10", "100"})
+    int metrics;
+
+    @Param({"1", "10"})
+    int pointsPerMetric;
+
+    @Param({"0", "5"})
+    int attributes;
+
+    @Param({"LONG_SUM", "DOUBLE_GAUGE", "HISTOGRAM", "EXPONENTIAL_HISTOGRAM"})
+    MetricDataType type;
+
+    private List<MetricData> data;
+    private Path dir;
+    private CsvMetricExporter exporter;
+
+    @Setup
+    public void setup() throws IOException {
+        data = new MetricsGenerator().generate(type, metrics, pointsPerMetric, attributes);
+        dir = Files.createTempDirectory("csv-benchmark");
+        exporter =
+                new CsvMetricExporter(
+                        dir,
+                        new CsvMetricExporterConfiguration.Builder()
+                                .durability(Durability.NONE)
+                                .maxFileSizeInBytes(64 * 1024 * 1024)
+                                .compressRotatedFiles(false)
+                                .maxRotatedFiles(1)
+                                .build());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        exporter.shutdown();
+        try (var files = Files.walk(dir)) {
+            for (var file : files.sorted(Comparator.reverseOrder()).toList()) Files.delete(file);
+        }
+    }
+
+    @Benchmark
+    public CompletableResultCode export() {
+        return exporter.export(data);
+    }
+}
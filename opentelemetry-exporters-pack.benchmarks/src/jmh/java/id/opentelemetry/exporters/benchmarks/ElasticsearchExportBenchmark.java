@@ -0,0 +1,100 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters.benchmarks;
+
+import id.opentelemetry.exporters.ElasticsearchMetricExporter;
+import id.opentelemetry.exporters.ElasticsearchMetricExporterConfiguration;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.MetricDataType;
+import java.net.URI;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Serialization of metrics by {@link ElasticsearchMetricExporter#export(java.util.Collection)}.
+ *
+ * <p>Metrics are serialized on the calling thread (export queue is disabled) and sizes of the bulk
+ * bodies are passed to the blackhole instead of sending them. Bodies are released back to the pool
+ * right away, same as after they are sent.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ElasticsearchExportBenchmark {
+
+    @Param({"10", "100"})
+    int metrics;
+
+    @Param({"1", "10"})
+    int pointsPerMetric;
+
+    @Param({"0", "5"})
+    int attributes;
+
+    @Param({"LONG_SUM", "DOUBLE_GAUGE", "HISTOGRAM", "EXPONENTIAL_HISTOGRAM"})
+    MetricDataType type;
+
+    private List<MetricData> data;
+    private ElasticsearchMetricExporter exporter;
+    private Blackhole blackhole;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        this.blackhole = blackhole;
+        data = new MetricsGenerator().generate(type, metrics, pointsPerMetric, attributes);
+        exporter =
+                ElasticsearchMetricExporter.withBodySizes(
+                        URI.create("http://localhost:9200/benchmark"),
+                        new ElasticsearchMetricExporterConfiguration.Builder().build(),
+                        this::send);
+    }
+
+    private CompletableResultCode send(long bodySize) {
+        blackhole.consume(bodySize);
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @TearDown
+    public void tearDown() {
+        exporter.shutdown().join(10, TimeUnit.SECONDS);
+    }
+
+    @Benchmark
+    public CompletableResultCode export() {
+        return exporter.export(data);
+    }
+}
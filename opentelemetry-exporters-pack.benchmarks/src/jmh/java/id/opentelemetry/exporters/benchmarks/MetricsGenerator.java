@@ -0,0 +1,196 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters.benchmarks;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.DoublePointData;
+import io.opentelemetry.sdk.metrics.data.ExponentialHistogramPointData;
+import io.opentelemetry.sdk.metrics.data.HistogramPointData;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.MetricDataType;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableDoublePointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableExponentialHistogramBuckets;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableExponentialHistogramData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableExponentialHistogramPointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableGaugeData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableHistogramData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableHistogramPointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableLongPointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableMetricData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableSumData;
+import io.opentelemetry.sdk.resources.Resource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates metrics of the given shape for the benchmarks. Same arguments always produce same
+ * metrics.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+class MetricsGenerator {
+    private static final long START_EPOCH_NANOS = 1_676_163_225_663_000_000L;
+    private static final long END_EPOCH_NANOS = START_EPOCH_NANOS + 3_000_000_000L;
+    private static final List<Double> BOUNDARIES =
+            List.of(0., 5., 10., 25., 50., 75., 100., 250., 500., 1000.);
+    private static final InstrumentationScopeInfo SCOPE =
+            InstrumentationScopeInfo.create("benchmark");
+
+    private final Random random = new Random(0);
+
+    /**
+     * @param attributes number of attributes of each point
+     */
+    List<MetricData> generate(
+            MetricDataType type, int metrics, int pointsPerMetric, int attributes) {
+        var result = new ArrayList<MetricData>(metrics);
+        for (int m = 0; m < metrics; m++) {
+            var name = "metric_" + m;
+            var longPoints = new ArrayList<LongPointData>();
+            var doublePoints = new ArrayList<DoublePointData>();
+            var histogramPoints = new ArrayList<HistogramPointData>();
+            var exponentialPoints = new ArrayList<ExponentialHistogramPointData>();
+            for (int p = 0; p < pointsPerMetric; p++) {
+                var pointAttributes = attributes(p, attributes);
+                switch (type) {
+                    case LONG_SUM, LONG_GAUGE -> longPoints.add(longPoint(pointAttributes));
+                    case DOUBLE_SUM, DOUBLE_GAUGE -> doublePoints.add(doublePoint(pointAttributes));
+                    case HISTOGRAM -> histogramPoints.add(histogramPoint(pointAttributes));
+                    case EXPONENTIAL_HISTOGRAM ->
+                            exponentialPoints.add(exponentialPoint(pointAttributes));
+                    default -> throw new IllegalArgumentException("Unsupported type " + type);
+                }
+            }
+            result.add(
+                    switch (type) {
+                        case LONG_SUM ->
+                                ImmutableMetricData.createLongSum(
+                                        Resource.getDefault(),
+                                        SCOPE,
+                                        name,
+                                        "",
+                                        "1",
+                                        ImmutableSumData.create(
+                                                true, AggregationTemporality.DELTA, longPoints));
+                        case DOUBLE_SUM ->
+                                ImmutableMetricData.createDoubleSum(
+                                        Resource.getDefault(),
+                                        SCOPE,
+                                        name,
+                                        "",
+                                        "ms",
+                                        ImmutableSumData.create(
+                                                true, AggregationTemporality.DELTA, doublePoints));
+                        case LONG_GAUGE ->
+                                ImmutableMetricData.createLongGauge(
+                                        Resource.getDefault(),
+                                        SCOPE,
+                                        name,
+                                        "",
+                                        "1",
+                                        ImmutableGaugeData.create(longPoints));
+                        case DOUBLE_GAUGE ->
+                                ImmutableMetricData.createDoubleGauge(
+                                        Resource.getDefault(),
+                                        SCOPE,
+                                        name,
+                                        "",
+                                        "ms",
+                                        ImmutableGaugeData.create(doublePoints));
+                        case HISTOGRAM ->
+                                ImmutableMetricData.createDoubleHistogram(
+                                        Resource.getDefault(),
+                                        SCOPE,
+                                        name,
+                                        "",
+                                        "ms",
+                                        ImmutableHistogramData.create(
+                                                AggregationTemporality.DELTA, histogramPoints));
+                        default ->
+                                ImmutableMetricData.createExponentialHistogram(
+                                        Resource.getDefault(),
+                                        SCOPE,
+                                        name,
+                                        "",
+                                        "ms",
+                                        ImmutableExponentialHistogramData.create(
+                                                AggregationTemporality.DELTA, exponentialPoints));
+                    });
+        }
+        return result;
+    }
+
+    private Attributes attributes(int point, int attributes) {
+        var builder = Attributes.builder();
+        for (int i = 0; i < attributes; i++) builder.put("attribute_" + i, "value_" + point);
+        return builder.build();
+    }
+
+    private LongPointData longPoint(Attributes attributes) {
+        return ImmutableLongPointData.create(
+                START_EPOCH_NANOS, END_EPOCH_NANOS, attributes, random.nextInt(1_000_000));
+    }
+
+    private DoublePointData doublePoint(Attributes attributes) {
+        return ImmutableDoublePointData.create(
+                START_EPOCH_NANOS, END_EPOCH_NANOS, attributes, random.nextDouble() * 1000);
+    }
+
+    private HistogramPointData histogramPoint(Attributes attributes) {
+        var counts = new ArrayList<Long>();
+        var count = 0L;
+        for (int i = 0; i <= BOUNDARIES.size(); i++) {
+            counts.add((long) random.nextInt(100));
+            count += counts.get(i);
+        }
+        return ImmutableHistogramPointData.create(
+                START_EPOCH_NANOS,
+                END_EPOCH_NANOS,
+                attributes,
+                count * 100.,
+                true,
+                0,
+                true,
+                2000,
+                BOUNDARIES,
+                counts);
+    }
+
+    private ExponentialHistogramPointData exponentialPoint(Attributes attributes) {
+        var counts = new ArrayList<Long>();
+        for (int i = 0; i < 40; i++) counts.add((long) random.nextInt(100));
+        return ImmutableExponentialHistogramPointData.create(
+                3,
+                10_000,
+                random.nextInt(10),
+                true,
+                0,
+                true,
+                2000,
+                ImmutableExponentialHistogramBuckets.create(3, 10, counts),
+                ImmutableExponentialHistogramBuckets.create(3, 0, List.of()),
+                START_EPOCH_NANOS,
+                END_EPOCH_NANOS,
+                attributes,
+                List.of());
+    }
+}
@@ -0,0 +1,220 @@
+/*
+ * Copyright 2022 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters.tests;
+
+import id.opentelemetry.exporters.BinaryMetricExporter;
+import id.opentelemetry.exporters.BinaryMetricPoint;
+import id.opentelemetry.exporters.BinaryMetricReader;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.MetricDataType;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableDoublePointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableGaugeData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableHistogramData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableHistogramPointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableLongPointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableMetricData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableSumData;
+import io.opentelemetry.sdk.resources.Resource;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class BinaryMetricExporterTest {
+
+    @Test
+    public void test() throws Exception {
+        var dir = Files.createTempDirectory("binary");
+        try {
+            // small segments so that each export goes to the new one
+            var exporter = new BinaryMetricExporter(dir, 1);
+            for (int i = 0; i < 3; i++)
+                Assertions.assertTrue(exporter.export(createMetrics(i * 1000)).isSuccess());
+            exporter.shutdown();
+            exporter = new BinaryMetricExporter(dir);
+            for (int i = 3; i < 5; i++)
+                Assertions.assertTrue(exporter.export(createMetrics(i * 1000)).isSuccess());
+            exporter.shutdown();
+            try (var files = Files.list(dir)) {
+                Assertions.assertEquals(4, files.count());
+            }
+
+            var points = new ArrayList<BinaryMetricPoint>();
+            new BinaryMetricReader(dir).scan(Long.MIN_VALUE, Long.MAX_VALUE, points::add);
+            Assertions.assertEquals(15, points.size());
+            var scope = InstrumentationScopeInfo.builder("scope").setVersion("1.0").build();
+            Assertions.assertEquals(
+                    new BinaryMetricPoint(
+                            scope,
+                            "longSum",
+                            MetricDataType.LONG_SUM,
+                            Attributes.builder()
+                                    .put("key", "value")
+                                    .put("count", -3L)
+                                    .put(AttributeKey.doubleArrayKey("array"), List.of(1., 2.))
+                                    .build(),
+                            1000,
+                            1100,
+                            -10,
+                            0,
+                            0,
+                            0,
+                            0,
+                            0),
+                    points.get(3));
+            Assertions.assertEquals(
+                    new BinaryMetricPoint(
+                            InstrumentationScopeInfo.create("scope2"),
+                            "doubleGauge",
+                            MetricDataType.DOUBLE_GAUGE,
+                            Attributes.empty(),
+                            4000,
+                            4100,
+                            0,
+                            111.11,
+                            0,
+                            0,
+                            0,
+                            0),
+                    points.get(13));
+            Assertions.assertEquals(
+                    new BinaryMetricPoint(
+                            scope,
+                            "hist",
+                            MetricDataType.HISTOGRAM,
+                            Attributes.empty(),
+                            4000,
+                            4100,
+                            0,
+                            0,
+                            24,
+                            4.5,
+                            Double.NaN,
+                            6),
+                    points.get(14));
+
+            // time range
+            points.clear();
+            new BinaryMetricReader(dir).scan(1100, 3100, points::add);
+            Assertions.assertEquals(6, points.size());
+            Assertions.assertEquals(1100, points.get(0).epochNanos());
+            Assertions.assertEquals(2100, points.get(5).epochNanos());
+        } finally {
+            try (var files = Files.list(dir)) {
+                for (var file : files.toList()) Files.delete(file);
+            }
+            Files.delete(dir);
+        }
+    }
+
+    @Test
+    public void test_corrupted_skipped_block() throws Exception {
+        var dir = Files.createTempDirectory("binary");
+        try {
+            var exporter = new BinaryMetricExporter(dir);
+            for (int i = 0; i < 2; i++)
+                Assertions.assertTrue(exporter.export(createMetrics(i * 1000)).isSuccess());
+            exporter.shutdown();
+            Path segment;
+            try (var files = Files.list(dir)) {
+                segment = files.findFirst().orElseThrow();
+            }
+            var points = new ArrayList<BinaryMetricPoint>();
+            new BinaryMetricReader(dir).scan(1000, 2000, points::add);
+            Assertions.assertEquals(3, points.size());
+
+            // number of strings in the dictionary of the first block, which follows segment
+            // header, block header and block time range, now exceeds the block
+            var bytes = Files.readAllBytes(segment);
+            bytes[5 + 8 + 16] = (byte) 0xff;
+            Files.write(segment, bytes);
+            points.clear();
+            // first block is outside of the range, still rest of the segment cannot be read
+            new BinaryMetricReader(dir).scan(1000, 2000, points::add);
+            Assertions.assertEquals(List.of(), points);
+        } finally {
+            try (var files = Files.list(dir)) {
+                for (var file : files.toList()) Files.delete(file);
+            }
+            Files.delete(dir);
+        }
+    }
+
+    private List<MetricData> createMetrics(long time) {
+        var scope = InstrumentationScopeInfo.builder("scope").setVersion("1.0").build();
+        return List.of(
+                ImmutableMetricData.createLongSum(
+                        Resource.getDefault(),
+                        scope,
+                        "longSum",
+                        "",
+                        "ms",
+                        ImmutableSumData.create(
+                                false,
+                                AggregationTemporality.DELTA,
+                                List.of(
+                                        ImmutableLongPointData.create(
+                                                time,
+                                                time + 100,
+                                                Attributes.builder()
+                                                        .put("key", "value")
+                                                        .put("count", -3L)
+                                                        .put("array", 1., 2.)
+                                                        .build(),
+                                                -10)))),
+                ImmutableMetricData.createDoubleGauge(
+                        Resource.getDefault(),
+                        InstrumentationScopeInfo.create("scope2"),
+                        "doubleGauge",
+                        "",
+                        "ms",
+                        ImmutableGaugeData.create(
+                                List.of(
+                                        ImmutableDoublePointData.create(
+                                                time, time + 100, Attributes.empty(), 111.11)))),
+                ImmutableMetricData.createDoubleHistogram(
+                        Resource.getDefault(),
+                        scope,
+                        "hist",
+                        "",
+                        "ms",
+                        ImmutableHistogramData.create(
+                                AggregationTemporality.DELTA,
+                                List.of(
+                                        ImmutableHistogramPointData.create(
+                                                time,
+                                                time + 100,
+                                                Attributes.empty(),
+                                                4.5,
+                                                false,
+                                                0,
+                                                true,
+                                                6,
+                                                List.of(1., 5.),
+                                                List.of(7L, 8L, 9L))))));
+    }
+}
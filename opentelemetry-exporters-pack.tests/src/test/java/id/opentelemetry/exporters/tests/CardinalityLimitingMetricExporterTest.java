@@ -0,0 +1,98 @@
+/*
+ * Copyright 2022 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters.tests;
+
+import id.opentelemetry.exporters.CardinalityLimitingMetricExporter;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableLongPointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableMetricData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableSumData;
+import io.opentelemetry.sdk.resources.Resource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class CardinalityLimitingMetricExporterTest {
+
+    @Test
+    public void test() {
+        var mock = new ExporterMock();
+        var exporter = new CardinalityLimitingMetricExporter(mock, 2, true);
+        Assertions.assertTrue(exporter.export(List.of(counter(1, 2, 3, 4, 5))).isSuccess());
+        Assertions.assertTrue(exporter.export(List.of(counter(6, 1))).isSuccess());
+        var metric = counter(2);
+        Assertions.assertTrue(exporter.export(List.of(metric)).isSuccess());
+        Assertions.assertTrue(exporter.shutdown().isSuccess());
+        Assertions.assertTrue(mock.isShutdown);
+
+        var points = points(mock.exports.get(0).get(0));
+        Assertions.assertEquals(3, points.size());
+        Assertions.assertEquals(attributes(1), points.get(0).getAttributes());
+        Assertions.assertEquals(attributes(2), points.get(1).getAttributes());
+        Assertions.assertEquals(
+                CardinalityLimitingMetricExporter.OVERFLOW_ATTRIBUTES,
+                points.get(2).getAttributes());
+        Assertions.assertEquals(3 + 4 + 5, points.get(2).getValue());
+
+        points = points(mock.exports.get(1).get(0));
+        Assertions.assertEquals(2, points.size());
+        Assertions.assertEquals(attributes(1), points.get(0).getAttributes());
+        Assertions.assertEquals(
+                CardinalityLimitingMetricExporter.OVERFLOW_ATTRIBUTES,
+                points.get(1).getAttributes());
+        Assertions.assertEquals(6, points.get(1).getValue());
+
+        // metrics without overflow are passed as is
+        Assertions.assertSame(metric, mock.exports.get(2).get(0));
+    }
+
+    private static Attributes attributes(int requestId) {
+        return Attributes.builder().put("requestId", requestId).build();
+    }
+
+    private static List<LongPointData> points(MetricData metric) {
+        return new ArrayList<>(metric.getLongSumData().getPoints());
+    }
+
+    private static MetricData counter(int... requestIds) {
+        return ImmutableMetricData.createLongSum(
+                Resource.getDefault(),
+                InstrumentationScopeInfo.create("scope"),
+                "requests",
+                "",
+                "1",
+                ImmutableSumData.create(
+                        true,
+                        AggregationTemporality.DELTA,
+                        IntStream.of(requestIds)
+                                .mapToObj(
+                                        id ->
+                                                ImmutableLongPointData.create(
+                                                        0, 1, attributes(id), id))
+                                .toList()));
+    }
+}
@@ -0,0 +1,295 @@
+/*
+ * Copyright 2022 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters.tests;
+
+import id.opentelemetry.exporters.CsvMetricExporter;
+import id.opentelemetry.exporters.CsvMetricExporterConfiguration;
+import id.opentelemetry.exporters.CsvMetricExporterConfiguration.Durability;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableDoublePointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableExponentialHistogramData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableGaugeData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableHistogramData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableHistogramPointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableLongPointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableMetricData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableSumData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableSummaryData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableSummaryPointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableValueAtQuantile;
+import io.opentelemetry.sdk.resources.Resource;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class CsvMetricExporterTest {
+
+    @Test
+    public void test() throws Exception {
+        var dir = Files.createTempDirectory("csv");
+        try {
+            var config =
+                    new CsvMetricExporterConfiguration.Builder()
+                            .durability(Durability.FORCE_ON_EXPORT)
+                            .percentiles(50, 99.9)
+                            .build();
+            var exporter = new CsvMetricExporter(dir, config);
+            Assertions.assertTrue(exporter.export(createMetrics()).isSuccess());
+            Assertions.assertTrue(exporter.shutdown().isSuccess());
+            Assertions.assertFalse(exporter.export(createMetrics()).isSuccess());
+            var stats = exporter.stats();
+
+            // files are appended and header is not repeated
+            exporter = new CsvMetricExporter(dir, config);
+            Assertions.assertTrue(exporter.export(createMetrics()).isSuccess());
+            Assertions.assertTrue(exporter.shutdown().isSuccess());
+
+            var counter = "longSum\t1970-01-01T00:00Z\t1970-01-01T00:00:00.003Z\t-1234567890123\n";
+            Assertions.assertEquals(
+                    "METRIC_NAME\tSTART_TIME\tEND_TIME\tVALUE\n" + counter + counter,
+                    Files.readString(dir.resolve("counter.csv")));
+            var histogram =
+                    "h\u00e9\t1970-01-01T00:00Z\t1970-01-01T00:00Z\t24\t4.5\t5.0\t6.0\t0.1875"
+                            + "\t3.5\t5.0\n";
+            Assertions.assertEquals(
+                    "METRIC_NAME\tSTART_TIME\tEND_TIME\tCOUNT\tSUM\tMIN\tMAX\tAVG\tP50\tP99_9\n"
+                            + histogram
+                            + histogram,
+                    Files.readString(dir.resolve("histogram.csv")));
+
+            Assertions.assertEquals(1, stats.getExports());
+            Assertions.assertEquals(2, stats.getDocuments());
+            Assertions.assertEquals(
+                    counter.getBytes(StandardCharsets.UTF_8).length
+                            + histogram.getBytes(StandardCharsets.UTF_8).length,
+                    stats.getPayloadBytes());
+            Assertions.assertEquals(
+                    1,
+                    stats.getSendTimeHistogram().values().stream()
+                            .mapToLong(Long::longValue)
+                            .sum());
+        } finally {
+            delete(dir);
+        }
+    }
+
+    @Test
+    public void test_interrupted() throws Exception {
+        var dir = Files.createTempDirectory("csv");
+        try {
+            var exporter = new CsvMetricExporter(dir);
+            // interrupt closes the file channel
+            Thread.currentThread().interrupt();
+            var result = exporter.export(createMetrics());
+            Thread.interrupted();
+            Assertions.assertFalse(result.isSuccess());
+            Assertions.assertNotNull(result.getFailureThrowable());
+            Assertions.assertEquals(1, exporter.stats().getFailedExports());
+            // file is reopened
+            Assertions.assertTrue(exporter.export(createMetrics()).isSuccess());
+            Assertions.assertEquals(2, exporter.stats().getExports());
+            Assertions.assertTrue(exporter.shutdown().isSuccess());
+            Assertions.assertEquals(2, Files.readAllLines(dir.resolve("counter.csv")).size());
+            Assertions.assertEquals(2, Files.readAllLines(dir.resolve("histogram.csv")).size());
+        } finally {
+            delete(dir);
+        }
+    }
+
+    @Test
+    public void test_rotation() throws Exception {
+        var dir = Files.createTempDirectory("csv");
+        try {
+            var config =
+                    new CsvMetricExporterConfiguration.Builder()
+                            .maxFileSizeInBytes(1)
+                            .maxRotatedFiles(2)
+                            .build();
+            var exporter = new CsvMetricExporter(dir, config);
+            for (int i = 0; i < 4; i++)
+                Assertions.assertTrue(exporter.export(createMetrics()).isSuccess());
+            // waits for the compression
+            Assertions.assertTrue(exporter.shutdown().isSuccess());
+            Assertions.assertEquals(2, Files.readAllLines(dir.resolve("counter.csv")).size());
+            List<Path> segments;
+            try (var files = Files.list(dir)) {
+                segments =
+                        files.filter(p -> p.getFileName().toString().startsWith("counter-"))
+                                .toList();
+            }
+            Assertions.assertEquals(2, segments.size());
+            for (var segment : segments) {
+                Assertions.assertTrue(segment.toString().endsWith(".csv.gz"));
+                try (var in = new GZIPInputStream(Files.newInputStream(segment))) {
+                    var content = new String(in.readAllBytes());
+                    Assertions.assertEquals(2, content.split("\n").length);
+                    Assertions.assertTrue(content.startsWith("METRIC_NAME\t"));
+                }
+            }
+        } finally {
+            delete(dir);
+        }
+    }
+
+    @Test
+    public void test_types() throws Exception {
+        var dir = Files.createTempDirectory("csv");
+        try {
+            var config = new CsvMetricExporterConfiguration.Builder().percentiles(50).build();
+            var exporter = new CsvMetricExporter(dir, config);
+            var scope = InstrumentationScopeInfo.create("scope");
+            var exponential = MetricFixtures.createExponentialPoint();
+            var summary =
+                    ImmutableSummaryPointData.create(
+                            0,
+                            0,
+                            Attributes.empty(),
+                            4,
+                            10,
+                            List.of(
+                                    ImmutableValueAtQuantile.create(0.5, 2),
+                                    ImmutableValueAtQuantile.create(0.99, 4)));
+            Assertions.assertTrue(
+                    exporter.export(
+                                    List.of(
+                                            ImmutableMetricData.createDoubleSum(
+                                                    Resource.getDefault(),
+                                                    scope,
+                                                    "doubleSum",
+                                                    "",
+                                                    "ms",
+                                                    ImmutableSumData.create(
+                                                            true,
+                                                            AggregationTemporality.CUMULATIVE,
+                                                            List.of(
+                                                                    ImmutableDoublePointData.create(
+                                                                            0,
+                                                                            0,
+                                                                            Attributes.empty(),
+                                                                            1.5)))),
+                                            ImmutableMetricData.createLongGauge(
+                                                    Resource.getDefault(),
+                                                    scope,
+                                                    "longGauge",
+                                                    "",
+                                                    "ms",
+                                                    ImmutableGaugeData.create(
+                                                            List.of(
+                                                                    ImmutableLongPointData.create(
+                                                                            0,
+                                                                            0,
+                                                                            Attributes.empty(),
+                                                                            7)))),
+                                            ImmutableMetricData.createExponentialHistogram(
+                                                    Resource.getDefault(),
+                                                    scope,
+                                                    "expHistogram",
+                                                    "",
+                                                    "ms",
+                                                    ImmutableExponentialHistogramData.create(
+                                                            AggregationTemporality.DELTA,
+                                                            List.of(exponential))),
+                                            ImmutableMetricData.createDoubleSummary(
+                                                    Resource.getDefault(),
+                                                    scope,
+                                                    "summary",
+                                                    "",
+                                                    "ms",
+                                                    ImmutableSummaryData.create(List.of(summary)))))
+                            .isSuccess());
+            Assertions.assertTrue(exporter.shutdown().isSuccess());
+            var time = "\t1970-01-01T00:00Z\t1970-01-01T00:00Z\t";
+            Assertions.assertEquals(
+                    "doubleSum" + time + "1.5",
+                    Files.readAllLines(dir.resolve("counter.csv")).get(1));
+            Assertions.assertEquals(
+                    "longGauge" + time + "7", Files.readAllLines(dir.resolve("gauge.csv")).get(1));
+            Assertions.assertEquals(
+                    List.of(
+                            "METRIC_NAME\tSTART_TIME\tEND_TIME\tCOUNT\tSUM\tMIN\tMAX\tAVG\tSCALE"
+                                    + "\tZERO_COUNT\tPOSITIVE_OFFSET\tPOSITIVE_COUNTS"
+                                    + "\tNEGATIVE_OFFSET\tNEGATIVE_COUNTS\tP50",
+                            "expHistogram"
+                                    + time
+                                    + "4\t8.0\t0.0\t4.0\t2.0\t0\t1\t0\t1,2\t0\t\t2.0"),
+                    Files.readAllLines(dir.resolve("exponential_histogram.csv")));
+            Assertions.assertEquals(
+                    "summary" + time + "4\t10.0\t2.5\t0.5=2.0,0.99=4.0",
+                    Files.readAllLines(dir.resolve("summary.csv")).get(1));
+        } finally {
+            delete(dir);
+        }
+    }
+
+    private void delete(Path dir) throws IOException {
+        try (var files = Files.list(dir)) {
+            for (var file : files.toList()) Files.delete(file);
+        }
+        Files.delete(dir);
+    }
+
+    private List<MetricData> createMetrics() {
+        return List.of(
+                ImmutableMetricData.createLongSum(
+                        Resource.getDefault(),
+                        InstrumentationScopeInfo.create("scope"),
+                        "longSum",
+                        "",
+                        "ms",
+                        ImmutableSumData.create(
+                                false,
+                                AggregationTemporality.DELTA,
+                                List.of(
+                                        ImmutableLongPointData.create(
+                                                0,
+                                                3_000_000,
+                                                Attributes.empty(),
+                                                -1234567890123L)))),
+                ImmutableMetricData.createDoubleHistogram(
+                        Resource.getDefault(),
+                        InstrumentationScopeInfo.create("scope"),
+                        "h\u00e9",
+                        "",
+                        "ms",
+                        ImmutableHistogramData.create(
+                                AggregationTemporality.DELTA,
+                                List.of(
+                                        ImmutableHistogramPointData.create(
+                                                1,
+                                                2,
+                                                Attributes.empty(),
+                                                4.5,
+                                                false,
+                                                5,
+                                                false,
+                                                6,
+                                                List.of(1., 5.),
+                                                List.of(7L, 8L, 9L))))));
+    }
+}
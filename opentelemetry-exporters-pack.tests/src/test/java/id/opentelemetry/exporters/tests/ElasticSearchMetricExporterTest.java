@@ -17,24 +17,64 @@
  */
 package id.opentelemetry.exporters.tests;
 
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpServer;
+import id.opentelemetry.exporters.BulkExportException;
+import id.opentelemetry.exporters.DroppedMetricsException;
 import id.opentelemetry.exporters.ElasticsearchMetricExporter;
+import id.opentelemetry.exporters.ElasticsearchMetricExporter.Credentials;
+import id.opentelemetry.exporters.ElasticsearchMetricExporterConfiguration;
+import id.opentelemetry.exporters.ElasticsearchMetricExporterConfiguration.IndexRouting;
+import id.opentelemetry.exporters.ElasticsearchMetricExporterConfiguration.LoadBalancing;
+import id.opentelemetry.exporters.ElasticsearchMetricExporterConfiguration.QueuePolicy;
+import id.opentelemetry.exporters.ElasticsearchMetricExporterConfiguration.SourceMode;
+import id.opentelemetry.exporters.TimestampFormat;
+import id.opentelemetry.exporters.tests.FakeElasticsearch.Fault;
 import id.xfunctiontests.XAsserts;
 import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
 import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.LongExemplarData;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.PeriodicMetricReader;
 import io.opentelemetry.sdk.metrics.internal.data.ImmutableDoublePointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableExponentialHistogramData;
 import io.opentelemetry.sdk.metrics.internal.data.ImmutableGaugeData;
 import io.opentelemetry.sdk.metrics.internal.data.ImmutableHistogramData;
 import io.opentelemetry.sdk.metrics.internal.data.ImmutableHistogramPointData;
 import io.opentelemetry.sdk.metrics.internal.data.ImmutableLongPointData;
 import io.opentelemetry.sdk.metrics.internal.data.ImmutableMetricData;
 import io.opentelemetry.sdk.metrics.internal.data.ImmutableSumData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableSummaryData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableSummaryPointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableValueAtQuantile;
 import io.opentelemetry.sdk.resources.Resource;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
 import java.net.URI;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import javax.management.ObjectName;
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
 
@@ -53,69 +93,1065 @@ public class ElasticSearchMetricExporterTest {
                 };
         try (var exporter =
                 new ElasticsearchMetricExporter(URI.create("http://a/b/c"), sendMetrics)) {
+            exporter.export(createMetrics());
+        }
+        Assertions.assertEquals(1, out.size());
+        XAsserts.assertEquals(getClass(), "requests", out.toString());
+    }
+
+    @Test
+    public void test_attributes() {
+        var out = new ArrayList<String>();
+        try (var exporter =
+                new ElasticsearchMetricExporter(
+                        URI.create("http://a/b/c"),
+                        json -> {
+                            out.add(json);
+                            return CompletableResultCode.ofSuccess();
+                        })) {
             exporter.export(
                     List.of(
-                            ImmutableMetricData.createLongSum(
+                            ImmutableMetricData.createLongGauge(
                                     Resource.getDefault(),
                                     InstrumentationScopeInfo.create("scope"),
-                                    "longSum",
+                                    "longGauge",
                                     "",
                                     "ms",
-                                    ImmutableSumData.create(
-                                            false,
-                                            AggregationTemporality.DELTA,
+                                    ImmutableGaugeData.create(
                                             List.of(
                                                     ImmutableLongPointData.create(
                                                             0,
                                                             0,
-                                                            Attributes.builder().build(),
-                                                            0)))),
-                            ImmutableMetricData.createDoubleGauge(
+                                                            Attributes.builder()
+                                                                    .put("str", "a\"b\\c\n")
+                                                                    .put("long", -12)
+                                                                    .put("double", 0.5)
+                                                                    .put("bool", true)
+                                                                    .put("array", "x", "y")
+                                                                    .build(),
+                                                            -7))))));
+        }
+        XAsserts.assertEquals(getClass(), "attributes", out.toString());
+    }
+
+    @Test
+    public void test_chunks() {
+        var out = new ArrayList<String>();
+        var config =
+                new ElasticsearchMetricExporterConfiguration.Builder().maxBulkDocuments(2).build();
+        try (var exporter =
+                new ElasticsearchMetricExporter(
+                        URI.create("http://a/b/c"),
+                        config,
+                        json -> {
+                            out.add(json);
+                            return out.size() == 2
+                                    ? CompletableResultCode.ofFailure()
+                                    : CompletableResultCode.ofSuccess();
+                        })) {
+            var result = exporter.export(createLongSum(5));
+            Assertions.assertEquals(3, out.size());
+            Assertions.assertTrue(result.isDone());
+            Assertions.assertFalse(result.isSuccess());
+            var ex = (BulkExportException) result.getFailureThrowable();
+            Assertions.assertEquals(1, ex.getFailedRequests());
+            Assertions.assertEquals(3, ex.getTotalRequests());
+            Assertions.assertEquals(2, ex.getFailedDocuments());
+            Assertions.assertEquals(5, ex.getTotalDocuments());
+        }
+    }
+
+    @Test
+    public void test_parallel_serialization() {
+        var metrics = new ArrayList<MetricData>();
+        metrics.addAll(createLongSum(25));
+        metrics.addAll(createLongSum(10));
+        var tasks = new AtomicInteger();
+        Function<Integer, List<String>> export =
+                minPoints -> {
+                    var out = new CopyOnWriteArrayList<String>();
+                    var config =
+                            new ElasticsearchMetricExporterConfiguration.Builder()
+                                    .parallelSerialization(minPoints, 4)
+                                    .serializationExecutor(
+                                            r -> {
+                                                tasks.incrementAndGet();
+                                                new Thread(r).start();
+                                            })
+                                    .build();
+                    try (var exporter =
+                            new ElasticsearchMetricExporter(
+                                    URI.create("http://a/b/c"),
+                                    config,
+                                    json -> {
+                                        out.add(json);
+                                        return CompletableResultCode.ofSuccess();
+                                    })) {
+                        Assertions.assertTrue(
+                                exporter.export(metrics).join(10, TimeUnit.SECONDS).isSuccess());
+                        Assertions.assertEquals(35, exporter.stats().getDocuments());
+                    }
+                    return out.stream()
+                            .flatMap(json -> Stream.of(json.split("\n")))
+                            .sorted()
+                            .toList();
+                };
+        var expected = export.apply(100);
+        Assertions.assertEquals(0, tasks.get());
+        Assertions.assertEquals(70, expected.size());
+        // 35 points are split into 4 ranges, first of them is serialized by the caller
+        Assertions.assertEquals(expected, export.apply(35));
+        Assertions.assertEquals(3, tasks.get());
+    }
+
+    @Test
+    public void test_parallel_serialization_failure() {
+        var broken =
+                new LongPointData() {
+                    @Override
+                    public long getStartEpochNanos() {
+                        return 0;
+                    }
+
+                    @Override
+                    public long getEpochNanos() {
+                        return 0;
+                    }
+
+                    @Override
+                    public Attributes getAttributes() {
+                        return Attributes.empty();
+                    }
+
+                    @Override
+                    public long getValue() {
+                        throw new IllegalStateException("Broken point");
+                    }
+
+                    @Override
+                    public List<LongExemplarData> getExemplars() {
+                        return List.of();
+                    }
+                };
+        var metrics = new ArrayList<MetricData>();
+        metrics.addAll(createLongSum(25));
+        metrics.add(
+                ImmutableMetricData.createLongSum(
+                        Resource.getDefault(),
+                        InstrumentationScopeInfo.create("scope"),
+                        "broken",
+                        "",
+                        "ms",
+                        ImmutableSumData.create(
+                                false,
+                                AggregationTemporality.DELTA,
+                                List.of(
+                                        ImmutableLongPointData.create(0, 0, Attributes.empty(), 1),
+                                        broken))));
+        var out = new CopyOnWriteArrayList<String>();
+        var config =
+                new ElasticsearchMetricExporterConfiguration.Builder()
+                        .parallelSerialization(1, 4)
+                        .serializationExecutor(r -> new Thread(r).start())
+                        .build();
+        try (var exporter =
+                new ElasticsearchMetricExporter(
+                        URI.create("http://a/b/c"),
+                        config,
+                        json -> {
+                            out.add(json);
+                            return CompletableResultCode.ofSuccess();
+                        })) {
+            // 27 points are split into ranges of 7 points, only the last one fails and its
+            // documents are not sent
+            var result = exporter.export(metrics).join(10, TimeUnit.SECONDS);
+            Assertions.assertTrue(result.isDone());
+            Assertions.assertInstanceOf(IllegalStateException.class, result.getFailureThrowable());
+            Assertions.assertEquals(
+                    21, out.stream().mapToInt(json -> json.split("\n").length / 2).sum());
+            // failed export is not left pending
+            Assertions.assertTrue(exporter.flush().join(10, TimeUnit.SECONDS).isSuccess());
+            Assertions.assertTrue(
+                    exporter.export(createLongSum(3)).join(10, TimeUnit.SECONDS).isSuccess());
+        }
+    }
+
+    @Test
+    public void test_compression() throws Exception {
+        var requests = new CopyOnWriteArrayList<Request>();
+        var server =
+                startRawServer(
+                        0,
+                        request -> {
+                            requests.add(request);
+                            return new Response(200, "{\"took\":1,\"errors\":false,\"items\":[]}");
+                        });
+        var uri = URI.create("http://localhost:" + server.getAddress().getPort() + "/b/c");
+        try {
+            var config =
+                    new ElasticsearchMetricExporterConfiguration.Builder()
+                            .compression(true)
+                            .compressionMinSizeInBytes(0)
+                            .build();
+            try (var exporter = new ElasticsearchMetricExporter(uri, Optional.empty(), config)) {
+                Assertions.assertTrue(
+                        exporter.export(createMetrics()).join(10, TimeUnit.SECONDS).isSuccess());
+            }
+            // body is smaller than the default compressionMinSizeInBytes
+            config =
+                    new ElasticsearchMetricExporterConfiguration.Builder().compression(true).build();
+            try (var exporter = new ElasticsearchMetricExporter(uri, Optional.empty(), config)) {
+                Assertions.assertTrue(
+                        exporter.export(createMetrics()).join(10, TimeUnit.SECONDS).isSuccess());
+            }
+        } finally {
+            server.stop(0);
+        }
+        Assertions.assertEquals(2, requests.size());
+
+        var compressed = requests.get(0);
+        Assertions.assertEquals("gzip", compressed.headers().getFirst("Content-Encoding"));
+        // gzip magic bytes
+        Assertions.assertEquals((byte) 0x1f, compressed.body()[0]);
+        Assertions.assertEquals((byte) 0x8b, compressed.body()[1]);
+        try (var gzip = new GZIPInputStream(new ByteArrayInputStream(compressed.body()))) {
+            XAsserts.assertEquals(
+                    getClass(), "requests", List.of(new String(gzip.readAllBytes())).toString());
+        }
+
+        var plain = requests.get(1);
+        Assertions.assertNull(plain.headers().getFirst("Content-Encoding"));
+        XAsserts.assertEquals(getClass(), "requests", List.of(new String(plain.body())).toString());
+    }
+
+    private List<MetricData> createMetrics() {
+        return List.of(
+                ImmutableMetricData.createLongSum(
+                        Resource.getDefault(),
+                        InstrumentationScopeInfo.create("scope"),
+                        "longSum",
+                        "",
+                        "ms",
+                        ImmutableSumData.create(
+                                false,
+                                AggregationTemporality.DELTA,
+                                List.of(
+                                        ImmutableLongPointData.create(
+                                                0, 0, Attributes.builder().build(), 0)))),
+                ImmutableMetricData.createDoubleGauge(
+                        Resource.getDefault(),
+                        InstrumentationScopeInfo.create("scope"),
+                        "doubleGauge",
+                        "",
+                        "ms",
+                        ImmutableGaugeData.create(
+                                List.of(
+                                        ImmutableDoublePointData.create(
+                                                0, 0, Attributes.builder().build(), 111.11)))),
+                ImmutableMetricData.createDoubleHistogram(
+                        Resource.getDefault(),
+                        InstrumentationScopeInfo.create("scope"),
+                        "hist1",
+                        "",
+                        "ms",
+                        ImmutableHistogramData.create(
+                                AggregationTemporality.DELTA,
+                                List.of(
+                                        ImmutableHistogramPointData.create(
+                                                1,
+                                                2,
+                                                Attributes.builder().build(),
+                                                4,
+                                                false,
+                                                5,
+                                                false,
+                                                6,
+                                                List.of(1., 5.),
+                                                List.of(7L, 8L, 9L)),
+                                        ImmutableHistogramPointData.create(
+                                                3,
+                                                4,
+                                                Attributes.builder().build(),
+                                                5,
+                                                false,
+                                                6,
+                                                false,
+                                                7,
+                                                List.of(1., 5.),
+                                                List.of(17L, 18L, 19L))))));
+    }
+
+    @Test
+    public void test_stats() throws Exception {
+        var mbeanServer = ManagementFactory.getPlatformMBeanServer();
+        var pattern =
+                new ObjectName("id.opentelemetry.exporters:type=ElasticsearchMetricExporter,*");
+        var registered = mbeanServer.queryNames(pattern, null);
+        // JMX is disabled by default
+        try (var exporter =
+                new ElasticsearchMetricExporter(
+                        URI.create("http://a/b/c"),
+                        new ElasticsearchMetricExporterConfiguration.Builder().build(),
+                        json -> CompletableResultCode.ofSuccess())) {
+            Assertions.assertEquals(registered, mbeanServer.queryNames(pattern, null));
+        }
+        var metricExporter = new ExporterMock();
+        var reader = PeriodicMetricReader.builder(metricExporter).build();
+        var meterProvider = SdkMeterProvider.builder().registerMetricReader(reader).build();
+        var config =
+                new ElasticsearchMetricExporterConfiguration.Builder()
+                        .maxBulkDocuments(2)
+                        .jmx(true)
+                        .meter(meterProvider.get("test"))
+                        .build();
+        var out = new ArrayList<String>();
+        var exporter =
+                new ElasticsearchMetricExporter(
+                        URI.create("http://a/b/c"),
+                        config,
+                        json -> {
+                            out.add(json);
+                            return CompletableResultCode.ofSuccess();
+                        });
+        var names = mbeanServer.queryNames(pattern, null);
+        names.removeAll(registered);
+        Assertions.assertEquals(1, names.size());
+        var name = names.iterator().next();
+
+        Assertions.assertTrue(exporter.export(createLongSum(3)).isSuccess());
+        var stats = exporter.stats();
+        Assertions.assertEquals(1, stats.getExports());
+        Assertions.assertEquals(0, stats.getFailedExports());
+        Assertions.assertEquals(0, stats.getPendingExports());
+        Assertions.assertEquals(3, stats.getDocuments());
+        Assertions.assertEquals(3.0, stats.getDocumentsPerExport());
+        Assertions.assertEquals(
+                out.stream().mapToInt(String::length).sum(), stats.getPayloadBytes());
+        Assertions.assertTrue(stats.getLastSuccessEpochMillis() > 0);
+        Assertions.assertEquals(3L, mbeanServer.getAttribute(name, "Documents"));
+
+        Assertions.assertTrue(reader.forceFlush().join(10, TimeUnit.SECONDS).isSuccess());
+        var exported =
+                metricExporter.exports.stream()
+                        .flatMap(List::stream)
+                        .map(MetricData::getName)
+                        .collect(Collectors.toSet());
+        Assertions.assertTrue(exported.contains("exporter.documents"), exported.toString());
+        Assertions.assertTrue(
+                exported.contains("exporter.serialization.duration"), exported.toString());
+
+        Assertions.assertTrue(exporter.shutdown().isSuccess());
+        Assertions.assertFalse(mbeanServer.isRegistered(name));
+        meterProvider.close();
+    }
+
+    @Test
+    public void test_retry() throws Exception {
+        var requests = new ArrayList<String>();
+        var responses =
+                List.of(
+                        // whole request is rejected
+                        new Response(429, "{}"),
+                        // second document can be retried, third is rejected permanently
+                        new Response(
+                                200,
+                                "{\"took\":1,\"errors\":true,\"items\":["
+                                        + "{\"create\":{\"status\":201}},"
+                                        + "{\"create\":{\"status\":429,\"error\":"
+                                        + "{\"type\":\"es_rejected_execution_exception\"}}},"
+                                        + "{\"create\":{\"status\":400,\"error\":"
+                                        + "{\"type\":\"mapper_parsing_exception\"}}}]}"),
+                        new Response(
+                                200,
+                                "{\"took\":1,\"errors\":false,\"items\":["
+                                        + "{\"create\":{\"status\":201}}]}"));
+        var server =
+                startServer(
+                        body -> {
+                            synchronized (requests) {
+                                requests.add(body);
+                                return responses.get(requests.size() - 1);
+                            }
+                        });
+        var config =
+                new ElasticsearchMetricExporterConfiguration.Builder()
+                        .retryBackoff(Duration.ofMillis(1), Duration.ofMillis(10))
+                        .build();
+        try (var exporter =
+                new ElasticsearchMetricExporter(
+                        URI.create("http://localhost:" + server.getAddress().getPort() + "/a"),
+                        Optional.empty(),
+                        config)) {
+            var result = exporter.export(createLongSum(3)).join(10, TimeUnit.SECONDS);
+            Assertions.assertFalse(result.isSuccess());
+            var ex = (BulkExportException) result.getFailureThrowable();
+            Assertions.assertEquals(1, ex.getFailedDocuments());
+            Assertions.assertEquals(3, ex.getTotalDocuments());
+            Assertions.assertEquals(3, requests.size());
+            Assertions.assertEquals(requests.get(0), requests.get(1));
+            var lines = requests.get(0).split("\n");
+            Assertions.assertEquals(lines[2] + "\n" + lines[3] + "\n", requests.get(2));
+            var stats = exporter.stats();
+            Assertions.assertEquals(1, stats.getExports());
+            Assertions.assertEquals(1, stats.getFailedExports());
+            Assertions.assertEquals(3, stats.getDocuments());
+            Assertions.assertEquals(4, stats.getRetriedDocuments());
+            Assertions.assertEquals(1, stats.getDroppedDocuments());
+            Assertions.assertEquals(Map.of("200", 2L, "429", 1L), stats.getStatusCodes());
+            Assertions.assertEquals(
+                    3,
+                    stats.getSendTimeHistogram().values().stream()
+                            .mapToLong(Long::longValue)
+                            .sum());
+            Assertions.assertEquals(0, stats.getLastSuccessEpochMillis());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void test_nodes() throws Exception {
+        var response = new Response(200, "{\"took\":1,\"errors\":false,\"items\":[]}");
+        var requests1 = new CopyOnWriteArrayList<String>();
+        var requests2 = new CopyOnWriteArrayList<String>();
+        var server1 =
+                startServer(
+                        body -> {
+                            requests1.add(body);
+                            return response;
+                        });
+        var server2 =
+                startServer(
+                        body -> {
+                            requests2.add(body);
+                            return response;
+                        });
+        var deadServer = startServer(body -> response);
+        deadServer.stop(0);
+        var config =
+                new ElasticsearchMetricExporterConfiguration.Builder()
+                        .nodes(
+                                URI.create("http://localhost:" + deadServer.getAddress().getPort()),
+                                URI.create("http://localhost:" + server2.getAddress().getPort()))
+                        .maxRetries(0)
+                        .build();
+        try (var exporter =
+                new ElasticsearchMetricExporter(
+                        URI.create("http://localhost:" + server1.getAddress().getPort() + "/a"),
+                        Optional.empty(),
+                        config)) {
+            for (int i = 0; i < 4; i++)
+                Assertions.assertTrue(
+                        exporter.export(createLongSum(1)).join(10, TimeUnit.SECONDS).isSuccess());
+            // second request fails over from the dead node to the next one, which is skipped
+            // after that
+            Assertions.assertEquals(2, requests1.size());
+            Assertions.assertEquals(2, requests2.size());
+            Assertions.assertEquals(Map.of("0", 1L, "200", 4L), exporter.stats().getStatusCodes());
+        } finally {
+            server1.stop(0);
+            server2.stop(0);
+        }
+    }
+
+    @Test
+    public void test_nodes_least_outstanding_requests() throws Exception {
+        var response = new Response(200, "{\"took\":1,\"errors\":false,\"items\":[]}");
+        var requests1 = new CopyOnWriteArrayList<String>();
+        var requests2 = new CopyOnWriteArrayList<String>();
+        var slowServer =
+                startServer(
+                        body -> {
+                            requests1.add(body);
+                            try {
+                                Thread.sleep(1000);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                            return response;
+                        });
+        var server =
+                startServer(
+                        body -> {
+                            requests2.add(body);
+                            return response;
+                        });
+        var config =
+                new ElasticsearchMetricExporterConfiguration.Builder()
+                        .nodes(URI.create("http://localhost:" + server.getAddress().getPort()))
+                        .loadBalancing(LoadBalancing.LEAST_OUTSTANDING_REQUESTS)
+                        .maxBulkDocuments(1)
+                        .maxInFlightRequests(2)
+                        .build();
+        try (var exporter =
+                new ElasticsearchMetricExporter(
+                        URI.create("http://localhost:" + slowServer.getAddress().getPort() + "/a"),
+                        Optional.empty(),
+                        config)) {
+            Assertions.assertTrue(
+                    exporter.export(createLongSum(8)).join(10, TimeUnit.SECONDS).isSuccess());
+            // while slow node handles the first request all others go to the idle one
+            Assertions.assertEquals(1, requests1.size());
+            Assertions.assertEquals(7, requests2.size());
+        } finally {
+            slowServer.stop(0);
+            server.stop(0);
+        }
+    }
+
+    @Test
+    public void test_nodes_resurrection() throws Exception {
+        var response = new Response(200, "{\"took\":1,\"errors\":false,\"items\":[]}");
+        var requests1 = new CopyOnWriteArrayList<String>();
+        var requests2 = new CopyOnWriteArrayList<String>();
+        var server1 =
+                startServer(
+                        body -> {
+                            requests1.add(body);
+                            return response;
+                        });
+        var server2 = startServer(body -> response);
+        var port = server2.getAddress().getPort();
+        server2.stop(0);
+        var config =
+                new ElasticsearchMetricExporterConfiguration.Builder()
+                        .nodes(URI.create("http://localhost:" + port))
+                        .deadNodeBackoff(Duration.ofMillis(100), Duration.ofMillis(100))
+                        .maxRetries(0)
+                        .build();
+        try (var exporter =
+                new ElasticsearchMetricExporter(
+                        URI.create("http://localhost:" + server1.getAddress().getPort() + "/a"),
+                        Optional.empty(),
+                        config)) {
+            for (int i = 0; i < 2; i++)
+                Assertions.assertTrue(
+                        exporter.export(createLongSum(1)).join(10, TimeUnit.SECONDS).isSuccess());
+            // second request failed over from the dead node
+            Assertions.assertEquals(2, requests1.size());
+            server2 =
+                    startServer(
+                            port,
+                            body -> {
+                                requests2.add(body);
+                                return response;
+                            });
+            Thread.sleep(200);
+            for (int i = 0; i < 4; i++)
+                Assertions.assertTrue(
+                        exporter.export(createLongSum(1)).join(10, TimeUnit.SECONDS).isSuccess());
+            // node is used again once its backoff passes
+            Assertions.assertEquals(4, requests1.size());
+            Assertions.assertEquals(2, requests2.size());
+        } finally {
+            server1.stop(0);
+            server2.stop(0);
+        }
+    }
+
+    @Test
+    public void test_nodes_validation() {
+        var builder = new ElasticsearchMetricExporterConfiguration.Builder();
+        for (var node : List.of("http://node2:9200/index", "node2:9200", "http://node2:9200?a=b"))
+            Assertions.assertThrows(
+                    IllegalArgumentException.class,
+                    () -> builder.nodes(URI.create(node)),
+                    node);
+        builder.nodes(URI.create("http://node2:9200"), URI.create("https://node3:9200/"));
+    }
+
+    @Test
+    public void test_auth() throws Exception {
+        try (var elasticsearch = new FakeElasticsearch().credentials("elastic", "pass")) {
+            try (var exporter =
+                    new ElasticsearchMetricExporter(
+                            elasticsearch.uri("a"),
+                            Optional.of(new Credentials("elastic", "pass")))) {
+                Assertions.assertTrue(
+                        exporter.export(createLongSum(3)).join(10, TimeUnit.SECONDS).isSuccess());
+            }
+            try (var exporter = new ElasticsearchMetricExporter(elasticsearch.uri("a"))) {
+                var result = exporter.export(createLongSum(3)).join(10, TimeUnit.SECONDS);
+                Assertions.assertFalse(result.isSuccess());
+                Assertions.assertEquals(Map.of("401", 1L), exporter.stats().getStatusCodes());
+            }
+            Assertions.assertEquals(3, elasticsearch.documents().size());
+        }
+    }
+
+    @Test
+    public void test_timeout() throws Exception {
+        try (var elasticsearch = new FakeElasticsearch().readDelay(Duration.ofMillis(300))) {
+            var config =
+                    new ElasticsearchMetricExporterConfiguration.Builder()
+                            .timeout(Duration.ofMillis(100))
+                            .maxRetries(0)
+                            .build();
+            try (var exporter =
+                    new ElasticsearchMetricExporter(
+                            elasticsearch.uri("a"), Optional.empty(), config)) {
+                var result = exporter.export(createLongSum(3)).join(10, TimeUnit.SECONDS);
+                Assertions.assertFalse(result.isSuccess());
+                Assertions.assertEquals(
+                        3,
+                        ((BulkExportException) result.getFailureThrowable())
+                                .getFailedDocuments());
+                Assertions.assertEquals(Map.of("0", 1L), exporter.stats().getStatusCodes());
+            }
+        }
+    }
+
+    @Test
+    public void test_connection_reset() throws Exception {
+        try (var elasticsearch = new FakeElasticsearch().inject(Fault.CONNECTION_RESET, 2)) {
+            var config =
+                    new ElasticsearchMetricExporterConfiguration.Builder()
+                            .retryBackoff(Duration.ofMillis(1), Duration.ofMillis(10))
+                            .build();
+            try (var exporter =
+                    new ElasticsearchMetricExporter(
+                            elasticsearch.uri("a"), Optional.empty(), config)) {
+                Assertions.assertTrue(
+                        exporter.export(createLongSum(3)).join(10, TimeUnit.SECONDS).isSuccess());
+            }
+            Assertions.assertEquals(3, elasticsearch.requests());
+            Assertions.assertEquals(3, elasticsearch.documents().size());
+        }
+    }
+
+    @Test
+    public void test_index_routing() {
+        var day = Instant.parse("2026-10-16T23:59:59.999Z");
+        var nextDay = Instant.parse("2026-10-17T00:00:00Z");
+        var metrics =
+                List.<MetricData>of(
+                        ImmutableMetricData.createLongSum(
+                                Resource.getDefault(),
+                                InstrumentationScopeInfo.create("scope"),
+                                "longSum",
+                                "",
+                                "ms",
+                                ImmutableSumData.create(
+                                        false,
+                                        AggregationTemporality.DELTA,
+                                        List.of(
+                                                ImmutableLongPointData.create(
+                                                        0, toNanos(day), Attributes.empty(), 1),
+                                                ImmutableLongPointData.create(
+                                                        0,
+                                                        toNanos(nextDay),
+                                                        Attributes.empty(),
+                                                        2)))));
+        Function<IndexRouting, List<String>> export =
+                routing -> {
+                    var out = new ArrayList<String>();
+                    var config =
+                            new ElasticsearchMetricExporterConfiguration.Builder()
+                                    .indexRouting(routing)
+                                    .build();
+                    try (var exporter =
+                            new ElasticsearchMetricExporter(
+                                    URI.create("http://a/b/metrics/_bulk"),
+                                    config,
+                                    json -> {
+                                        out.add(json);
+                                        return CompletableResultCode.ofSuccess();
+                                    })) {
+                        exporter.export(metrics);
+                    }
+                    return List.of(out.get(0).split("\n"));
+                };
+        var lines = export.apply(IndexRouting.DAILY);
+        Assertions.assertEquals(
+                "{ \"create\": { \"_index\": \"metrics-2026.10.16\" } }", lines.get(0));
+        Assertions.assertEquals(
+                "{ \"create\": { \"_index\": \"metrics-2026.10.17\" } }", lines.get(2));
+        lines = export.apply(IndexRouting.HOURLY);
+        Assertions.assertEquals(
+                "{ \"create\": { \"_index\": \"metrics-2026.10.16.23\" } }", lines.get(0));
+        Assertions.assertEquals(
+                "{ \"create\": { \"_index\": \"metrics-2026.10.17.00\" } }", lines.get(2));
+        lines = export.apply(IndexRouting.DATA_STREAM);
+        Assertions.assertEquals("{ \"create\": { } }", lines.get(0));
+        Assertions.assertTrue(
+                lines.get(1).contains("\"@timestamp\": \"2026-10-16T23:59:59.999Z\""),
+                lines.get(1));
+        lines = export.apply(IndexRouting.NONE);
+        Assertions.assertEquals("{ \"create\": { } }", lines.get(0));
+        Assertions.assertFalse(lines.get(1).contains("@timestamp"));
+    }
+
+    @Test
+    public void test_index_template() throws Exception {
+        // behind the reverse proxy
+        try (var elasticsearch = new FakeElasticsearch().pathPrefix("/es")) {
+            var config =
+                    new ElasticsearchMetricExporterConfiguration.Builder()
+                            .indexTemplate(true)
+                            .indexRouting(IndexRouting.DAILY)
+                            .sourceMode(SourceMode.SYNTHETIC)
+                            .build();
+            try (var exporter =
+                    new ElasticsearchMetricExporter(
+                            elasticsearch.uri("metrics"), Optional.empty(), config)) {
+                for (int i = 0; i < 2; i++)
+                    Assertions.assertTrue(
+                            exporter.export(createLongSum(3))
+                                    .join(10, TimeUnit.SECONDS)
+                                    .isSuccess());
+            }
+            Assertions.assertEquals(6, elasticsearch.documents().size());
+            // template is installed only once
+            Assertions.assertEquals(3, elasticsearch.requests());
+            var template = elasticsearch.templates().get("opentelemetry-exporters-pack-metrics");
+            Assertions.assertNotNull(template);
+            for (var expected :
+                    List.of(
+                            "\"index_patterns\": [\"metrics-*\"]",
+                            "\"_source\": { \"mode\": \"synthetic\" }",
+                            "\"path_match\": \"ATTR.*\", \"match_mapping_type\": \"string\","
+                                    + " \"mapping\": { \"type\": \"keyword\" }",
+                            "\"METRIC_NAME\": { \"type\": \"keyword\" }",
+                            "\"START_TIME\": { \"type\": \"date\" }",
+                            "\"VALUE\": { \"type\": \"double\" }"))
+                Assertions.assertTrue(template.contains(expected), template);
+            Assertions.assertFalse(template.contains("data_stream"), template);
+        }
+    }
+
+    @Test
+    public void test_index_template_timeout() throws Exception {
+        try (var elasticsearch = new FakeElasticsearch().templateLatency(Duration.ofSeconds(30))) {
+            var config =
+                    new ElasticsearchMetricExporterConfiguration.Builder()
+                            .indexTemplate(true)
+                            .indexTemplateTimeout(Duration.ofMillis(200))
+                            .build();
+            try (var exporter =
+                    new ElasticsearchMetricExporter(
+                            elasticsearch.uri("metrics"), Optional.empty(), config)) {
+                // node which does not respond to the template request does not block exports
+                Assertions.assertTrue(
+                        exporter.export(createLongSum(3)).join(10, TimeUnit.SECONDS).isSuccess());
+            }
+            Assertions.assertEquals(3, elasticsearch.documents().size());
+            Assertions.assertTrue(elasticsearch.templates().isEmpty());
+        }
+    }
+
+    private static long toNanos(Instant instant) {
+        return TimeUnit.MILLISECONDS.toNanos(instant.toEpochMilli());
+    }
+
+    @Test
+    public void test_spool() throws Exception {
+        var dir = Files.createTempDirectory("spool");
+        var isAvailable = new AtomicBoolean();
+        var requests = new CopyOnWriteArrayList<String>();
+        var server =
+                startServer(
+                        body -> {
+                            if (!isAvailable.get()) return new Response(503, "{}");
+                            requests.add(body);
+                            return new Response(200, "{\"errors\":false}");
+                        });
+        var uri = URI.create("http://localhost:" + server.getAddress().getPort() + "/a");
+        var config =
+                new ElasticsearchMetricExporterConfiguration.Builder()
+                        .maxRetries(0)
+                        .retryBackoff(Duration.ofMillis(1), Duration.ofMillis(10))
+                        .spoolDirectory(dir)
+                        .spoolSegmentSizeInBytes(64 * 1024)
+                        .build();
+        try {
+            try (var exporter = new ElasticsearchMetricExporter(uri, Optional.empty(), config)) {
+                // stored to the spool
+                Assertions.assertTrue(
+                        exporter.export(createLongSum(3)).join(10, TimeUnit.SECONDS).isSuccess());
+                Assertions.assertTrue(
+                        exporter.export(createLongSum(2)).join(10, TimeUnit.SECONDS).isSuccess());
+            }
+            // let replays which are still in-flight to complete
+            Thread.sleep(100);
+            Assertions.assertEquals(0, requests.size());
+            // spool is replayed after restart
+            isAvailable.set(true);
+            try (var exporter = new ElasticsearchMetricExporter(uri, Optional.empty(), config)) {
+                while (requests.size() < 2) Thread.sleep(10);
+                Assertions.assertEquals(6, requests.get(0).split("\n").length);
+                Assertions.assertEquals(4, requests.get(1).split("\n").length);
+                Assertions.assertTrue(
+                        exporter.export(createLongSum(1)).join(10, TimeUnit.SECONDS).isSuccess());
+                while (requests.size() < 3) Thread.sleep(10);
+                Assertions.assertEquals(2, requests.get(2).split("\n").length);
+            }
+            // nothing is replayed twice
+            try (var exporter = new ElasticsearchMetricExporter(uri, Optional.empty(), config)) {
+                Thread.sleep(100);
+                Assertions.assertEquals(3, requests.size());
+            }
+        } finally {
+            server.stop(0);
+            try (var files = Files.list(dir)) {
+                for (var file : files.toList()) Files.delete(file);
+            }
+            Files.delete(dir);
+        }
+    }
+
+    @Test
+    public void test_queue() throws Exception {
+        var isSending = new CountDownLatch(1);
+        var canSend = new CountDownLatch(1);
+        var out = new CopyOnWriteArrayList<String>();
+        var pending = new CompletableResultCode();
+        var config =
+                new ElasticsearchMetricExporterConfiguration.Builder()
+                        .exportQueue(1, QueuePolicy.DROP_NEWEST)
+                        .build();
+        var exporter =
+                new ElasticsearchMetricExporter(
+                        URI.create("http://a/b/c"),
+                        config,
+                        json -> {
+                            isSending.countDown();
+                            try {
+                                canSend.await();
+                            } catch (InterruptedException e) {
+                                throw new RuntimeException(e);
+                            }
+                            out.add(json);
+                            return out.size() == 1 ? CompletableResultCode.ofSuccess() : pending;
+                        });
+        // worker is blocked in sending
+        var result1 = exporter.export(createLongSum(1));
+        isSending.await();
+        // queued
+        var result2 = exporter.export(createLongSum(2));
+        // dropped
+        var result3 = exporter.export(createLongSum(3));
+        Assertions.assertTrue(result3.isDone());
+        Assertions.assertEquals(
+                1, ((DroppedMetricsException) result3.getFailureThrowable()).getDroppedMetrics());
+        var flush = exporter.flush();
+        Assertions.assertFalse(flush.isDone());
+        canSend.countDown();
+        result1.join(10, TimeUnit.SECONDS);
+        Assertions.assertTrue(result1.isSuccess());
+        Assertions.assertFalse(result2.isDone());
+        Assertions.assertFalse(flush.isDone());
+        // shutdown waits for in-flight exports
+        new Thread(
+                        () -> {
+                            while (out.size() < 2) Thread.onSpinWait();
+                            pending.succeed();
+                        })
+                .start();
+        Assertions.assertTrue(exporter.shutdown().isSuccess());
+        Assertions.assertTrue(result2.isSuccess());
+        Assertions.assertTrue(flush.isDone());
+        var ex = (DroppedMetricsException) flush.getFailureThrowable();
+        Assertions.assertEquals(1, ex.getDroppedExports());
+        Assertions.assertEquals(1, ex.getDroppedMetrics());
+        Assertions.assertFalse(exporter.export(createLongSum(1)).isSuccess());
+    }
+
+    @Test
+    public void test_timestamp_format() {
+        var out = new ArrayList<String>();
+        var points =
+                List.of(
+                        ImmutableLongPointData.create(
+                                1676163225663123456L, 1676163228000000000L, Attributes.empty(), 1));
+        for (var format : TimestampFormat.values()) {
+            var config =
+                    new ElasticsearchMetricExporterConfiguration.Builder()
+                            .timestampFormat(format)
+                            .build();
+            try (var exporter =
+                    new ElasticsearchMetricExporter(
+                            URI.create("http://a/b/c"),
+                            config,
+                            json -> {
+                                out.add(json);
+                                return CompletableResultCode.ofSuccess();
+                            })) {
+                exporter.export(
+                        List.of(
+                                ImmutableMetricData.createLongGauge(
+                                        Resource.getDefault(),
+                                        InstrumentationScopeInfo.create("scope"),
+                                        "gauge",
+                                        "",
+                                        "ms",
+                                        ImmutableGaugeData.create(points))));
+            }
+        }
+        Assertions.assertTrue(
+                out.get(0)
+                        .contains(
+                                "\"START_TIME\": \"2023-02-12T00:53:45.663Z\", \"END_TIME\":"
+                                        + " \"2023-02-12T00:53:48Z\""));
+        Assertions.assertTrue(
+                out.get(1).contains("\"START_TIME\": 1676163225663, \"END_TIME\": 1676163228000"));
+    }
+
+    @Test
+    public void test_percentiles() {
+        var out = new ArrayList<String>();
+        var config =
+                new ElasticsearchMetricExporterConfiguration.Builder()
+                        .percentiles(50, 90, 99)
+                        .histogramBuckets(true)
+                        .build();
+        try (var exporter =
+                new ElasticsearchMetricExporter(
+                        URI.create("http://a/b/c"),
+                        config,
+                        json -> {
+                            out.add(json);
+                            return CompletableResultCode.ofSuccess();
+                        })) {
+            exporter.export(
+                    List.of(
+                            ImmutableMetricData.createDoubleHistogram(
                                     Resource.getDefault(),
                                     InstrumentationScopeInfo.create("scope"),
-                                    "doubleGauge",
+                                    "hist",
                                     "",
                                     "ms",
-                                    ImmutableGaugeData.create(
+                                    ImmutableHistogramData.create(
+                                            AggregationTemporality.DELTA,
                                             List.of(
-                                                    ImmutableDoublePointData.create(
+                                                    ImmutableHistogramPointData.create(
                                                             0,
                                                             0,
-                                                            Attributes.builder().build(),
-                                                            111.11)))),
-                            ImmutableMetricData.createDoubleHistogram(
+                                                            Attributes.empty(),
+                                                            160,
+                                                            true,
+                                                            5,
+                                                            true,
+                                                            30,
+                                                            List.of(10., 20.),
+                                                            List.of(2L, 6L, 2L)))))));
+        }
+        Assertions.assertTrue(
+                out.get(0)
+                        .contains(
+                                "\"AVG\": 16, \"P50\": 15, \"P90\": 25, \"P99\": 29.5,"
+                                        + " \"BUCKETS\": { \"values\": [7.5, 15, 25], \"counts\":"
+                                        + " [2, 6, 2] },"),
+                out.get(0));
+    }
+
+    @Test
+    public void test_exponential_histogram() {
+        var out = new ArrayList<String>();
+        var config = new ElasticsearchMetricExporterConfiguration.Builder().percentiles(50).build();
+        try (var exporter =
+                new ElasticsearchMetricExporter(
+                        URI.create("http://a/b/c"),
+                        config,
+                        json -> {
+                            out.add(json);
+                            return CompletableResultCode.ofSuccess();
+                        })) {
+            exporter.export(
+                    List.of(
+                            ImmutableMetricData.createExponentialHistogram(
                                     Resource.getDefault(),
                                     InstrumentationScopeInfo.create("scope"),
-                                    "hist1",
+                                    "expHistogram",
                                     "",
                                     "ms",
-                                    ImmutableHistogramData.create(
+                                    ImmutableExponentialHistogramData.create(
                                             AggregationTemporality.DELTA,
+                                            List.of(MetricFixtures.createExponentialPoint()))),
+                            ImmutableMetricData.createDoubleSummary(
+                                    Resource.getDefault(),
+                                    InstrumentationScopeInfo.create("scope"),
+                                    "summary",
+                                    "",
+                                    "ms",
+                                    ImmutableSummaryData.create(
                                             List.of(
-                                                    ImmutableHistogramPointData.create(
-                                                            1,
-                                                            2,
-                                                            Attributes.builder().build(),
-                                                            4,
-                                                            false,
-                                                            5,
-                                                            false,
-                                                            6,
-                                                            List.of(1., 5.),
-                                                            List.of(7L, 8L, 9L)),
-                                                    ImmutableHistogramPointData.create(
-                                                            3,
+                                                    ImmutableSummaryPointData.create(
+                                                            0,
+                                                            0,
+                                                            Attributes.empty(),
                                                             4,
-                                                            Attributes.builder().build(),
-                                                            5,
-                                                            false,
-                                                            6,
-                                                            false,
-                                                            7,
-                                                            List.of(1., 5.),
-                                                            List.of(17L, 18L, 19L)))))));
+                                                            10,
+                                                            List.of(
+                                                                    ImmutableValueAtQuantile.create(
+                                                                            0.3, 1),
+                                                                    ImmutableValueAtQuantile.create(
+                                                                            0.99, 4))))))));
         }
-        Assertions.assertEquals(1, out.size());
-        XAsserts.assertEquals(getClass(), "requests", out.toString());
+        Assertions.assertTrue(
+                out.get(0)
+                        .contains(
+                                "\"AVG\": 2, \"SCALE\": 0, \"ZERO_COUNT\": 1,"
+                                        + " \"POSITIVE\": { \"offset\": 0, \"counts\": [1, 2] },"
+                                        + " \"P50\": 2,"),
+                out.get(0));
+        Assertions.assertTrue(
+                out.get(0)
+                        .contains(
+                                "\"METRIC_TYPE\": \"summary\", \"COUNT\": 4, \"SUM\": 10,"
+                                        + " \"AVG\": 2.5, \"P30\": 1, \"P99\": 4,"),
+                out.get(0));
+    }
+
+    private record Request(Headers headers, byte[] body) {}
+
+    private record Response(int status, String body) {}
+
+    private HttpServer startServer(Function<String, Response> handler) throws IOException {
+        return startServer(0, handler);
+    }
+
+    private HttpServer startServer(int port, Function<String, Response> handler)
+            throws IOException {
+        return startRawServer(port, request -> handler.apply(new String(request.body())));
+    }
+
+    private HttpServer startRawServer(int port, Function<Request, Response> handler)
+            throws IOException {
+        var server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.createContext(
+                "/",
+                exchange -> {
+                    try (exchange) {
+                        var response =
+                                handler.apply(
+                                        new Request(
+                                                exchange.getRequestHeaders(),
+                                                exchange.getRequestBody().readAllBytes()));
+                        var bytes = response.body().getBytes();
+                        exchange.sendResponseHeaders(response.status(), bytes.length);
+                        exchange.getResponseBody().write(bytes);
+                    }
+                });
+        server.start();
+        return server;
+    }
+
+    private List<MetricData> createLongSum(int count) {
+        var points =
+                LongStream.range(0, count)
+                        .mapToObj(
+                                i ->
+                                        ImmutableLongPointData.create(
+                                                0, 0, Attributes.builder().build(), i))
+                        .toList();
+        return List.of(
+                ImmutableMetricData.createLongSum(
+                        Resource.getDefault(),
+                        InstrumentationScopeInfo.create("scope"),
+                        "longSum",
+                        "",
+                        "ms",
+                        ImmutableSumData.create(
+                                false, AggregationTemporality.DELTA, List.copyOf(points))));
     }
 }
@@ -0,0 +1,173 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters.tests;
+
+import id.opentelemetry.exporters.ElasticsearchMetricExporter;
+import id.opentelemetry.exporters.ElasticsearchMetricExporterConfiguration;
+import id.opentelemetry.exporters.tests.FakeElasticsearch.Fault;
+import id.xfunction.logging.XLogger;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableLongPointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableMetricData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableSumData;
+import io.opentelemetry.sdk.resources.Resource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+/**
+ * Drives {@link ElasticsearchMetricExporter} against {@link FakeElasticsearch} at a constant rate
+ * and checks that all points are delivered exactly once and in time.
+ *
+ * <p>Test depends on the speed of the machine and takes several seconds, so it runs only when
+ * "loadTest.enabled" system property is "true". Load can be changed with system properties:
+ *
+ * <ul>
+ *   <li>"loadTest.pointsPerSecond" - rate of exported points (default 20000)
+ *   <li>"loadTest.durationSeconds" - how long to drive the exporter (default 2)
+ *   <li>"loadTest.maxP99Millis" - max allowed 99th percentile of export latency (default 2000)
+ * </ul>
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+@EnabledIfSystemProperty(named = "loadTest.enabled", matches = "true")
+public class ElasticsearchLoadTest {
+    private static final XLogger LOGGER = XLogger.getLogger(ElasticsearchLoadTest.class.getName());
+    private static final int POINTS_PER_SECOND =
+            Integer.getInteger("loadTest.pointsPerSecond", 20_000);
+    private static final int DURATION_SECONDS = Integer.getInteger("loadTest.durationSeconds", 2);
+    private static final long MAX_P99_MILLIS = Long.getLong("loadTest.maxP99Millis", 2000);
+
+    /** One export every 50ms */
+    private static final int EXPORTS_PER_SECOND = 20;
+
+    @Test
+    public void test_throughput() throws Exception {
+        try (var elasticsearch = new FakeElasticsearch()) {
+            run(elasticsearch, new ElasticsearchMetricExporterConfiguration.Builder().build());
+        }
+    }
+
+    @Test
+    public void test_zero_loss_with_faults() throws Exception {
+        try (var elasticsearch =
+                new FakeElasticsearch()
+                        .latency(Duration.ofMillis(5))
+                        .inject(Fault.TOO_MANY_REQUESTS, 0.05)
+                        .inject(Fault.REJECT_ITEMS, 0.1)
+                        .inject(Fault.CONNECTION_RESET, 0.05)) {
+            run(
+                    elasticsearch,
+                    new ElasticsearchMetricExporterConfiguration.Builder()
+                            .maxBulkDocuments(200)
+                            .maxInFlightRequests(8)
+                            .compression(true)
+                            .maxRetries(20)
+                            .retryBackoff(Duration.ofMillis(1), Duration.ofMillis(50))
+                            .build());
+        }
+    }
+
+    private void run(
+            FakeElasticsearch elasticsearch, ElasticsearchMetricExporterConfiguration config) {
+        var exports = EXPORTS_PER_SECOND * DURATION_SECONDS;
+        var pointsPerExport = POINTS_PER_SECOND / EXPORTS_PER_SECOND;
+        var intervalNanos = TimeUnit.SECONDS.toNanos(1) / EXPORTS_PER_SECOND;
+        var latencies = new AtomicLongArray(exports);
+        var results = new ArrayList<CompletableResultCode>();
+        var exporter =
+                new ElasticsearchMetricExporter(
+                        elasticsearch.uri("metrics"), Optional.empty(), config);
+        var startNanos = System.nanoTime();
+        for (int i = 0; i < exports; i++) {
+            LockSupport.parkNanos(startNanos + i * intervalNanos - System.nanoTime());
+            var metrics = createMetrics(i, pointsPerExport);
+            var exportNanos = System.nanoTime();
+            var result = exporter.export(metrics);
+            var index = i;
+            result.whenComplete(() -> latencies.set(index, System.nanoTime() - exportNanos));
+            results.add(result);
+        }
+        var all = CompletableResultCode.ofAll(results).join(60, TimeUnit.SECONDS);
+        var elapsedNanos = System.nanoTime() - startNanos;
+        Assertions.assertTrue(exporter.shutdown().join(10, TimeUnit.SECONDS).isSuccess());
+        Assertions.assertTrue(all.isSuccess());
+
+        var points = exports * pointsPerExport;
+        var documents = elasticsearch.documents();
+        Assertions.assertEquals(points, documents.size());
+        Assertions.assertEquals(points, new HashSet<>(documents).size());
+
+        var sorted = IntStream.range(0, exports).mapToLong(latencies::get).sorted().toArray();
+        var p99Millis = TimeUnit.NANOSECONDS.toMillis(sorted[(int) (exports * 0.99)]);
+        var throughput = points * 1e9 / elapsedNanos;
+        LOGGER.info(
+                "points: {0}, requests: {1}, throughput: {2,number,#} points/s, latency p50: {3}ms,"
+                        + " p99: {4}ms, max: {5}ms",
+                points,
+                elasticsearch.requests(),
+                throughput,
+                TimeUnit.NANOSECONDS.toMillis(sorted[exports / 2]),
+                p99Millis,
+                TimeUnit.NANOSECONDS.toMillis(Arrays.stream(sorted).max().orElseThrow()));
+        Assertions.assertTrue(p99Millis <= MAX_P99_MILLIS, "p99 latency " + p99Millis + "ms");
+        // exporter keeps up with the rate if the last export is not delayed more than others
+        Assertions.assertTrue(
+                elapsedNanos
+                        <= TimeUnit.SECONDS.toNanos(DURATION_SECONDS)
+                                + TimeUnit.MILLISECONDS.toNanos(MAX_P99_MILLIS),
+                "throughput " + throughput + " points/s");
+    }
+
+    /** Each point is unique so that lost or duplicate documents can be detected */
+    private static List<MetricData> createMetrics(int export, int count) {
+        var points =
+                IntStream.range(0, count)
+                        .mapToObj(
+                                i ->
+                                        ImmutableLongPointData.create(
+                                                0,
+                                                0,
+                                                Attributes.builder().put("series", i).build(),
+                                                export))
+                        .toList();
+        return List.of(
+                ImmutableMetricData.createLongSum(
+                        Resource.getDefault(),
+                        InstrumentationScopeInfo.create("load"),
+                        "requests",
+                        "",
+                        "1",
+                        ImmutableSumData.create(
+                                true, AggregationTemporality.DELTA, List.copyOf(points))));
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters.tests;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * In-process stand-in for the Elasticsearch "_bulk" and "_index_template" endpoints.
+ *
+ * <p>Accepted documents are kept in memory. Faults can be injected into the next requests or into
+ * random requests with given probability. Rejected documents are never stored, so exporter which
+ * retries them properly ends up with each document stored exactly once.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class FakeElasticsearch implements AutoCloseable {
+
+    /** What to do with the request instead of accepting all its documents */
+    public enum Fault {
+        /** Reject whole request with HTTP 429 */
+        TOO_MANY_REQUESTS,
+        /** Reject every second document with 429 es_rejected_execution_exception */
+        REJECT_ITEMS,
+        /** Reject every second document with 400 mapper_parsing_exception */
+        REJECT_ITEMS_PERMANENTLY,
+        /** Close the connection without sending any response */
+        CONNECTION_RESET
+    }
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+    private final Queue<String> documents = new ConcurrentLinkedQueue<>();
+    private final Map<String, String> templates = new ConcurrentHashMap<>();
+    private final List<Fault> nextFaults = new ArrayList<>();
+    private final Map<Fault, Double> faultRates = new ConcurrentHashMap<>();
+    private final AtomicInteger requests = new AtomicInteger();
+    private volatile Duration latency = Duration.ZERO;
+    private volatile Duration readDelay = Duration.ZERO;
+    private volatile Duration templateLatency = Duration.ZERO;
+    private volatile Optional<String> authorization = Optional.empty();
+    private volatile String pathPrefix = "";
+
+    public FakeElasticsearch() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    /** URI of the index which can be passed to the exporter */
+    public URI uri(String index) {
+        return URI.create(
+                "http://localhost:" + server.getAddress().getPort() + pathPrefix + "/" + index);
+    }
+
+    /**
+     * Serve all endpoints under the given path (like "/es"), same as Elasticsearch behind the
+     * reverse proxy does
+     */
+    public FakeElasticsearch pathPrefix(String pathPrefix) {
+        this.pathPrefix = pathPrefix;
+        return this;
+    }
+
+    /** Require HTTP basic authentication */
+    public FakeElasticsearch credentials(String user, String password) {
+        authorization =
+                Optional.of(
+                        "Basic "
+                                + Base64.getEncoder()
+                                        .encodeToString(
+                                                (user + ":" + password)
+                                                        .getBytes(StandardCharsets.UTF_8)));
+        return this;
+    }
+
+    /** Delay before sending each response */
+    public FakeElasticsearch latency(Duration latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    /** Additional delay before responding to index template requests */
+    public FakeElasticsearch templateLatency(Duration templateLatency) {
+        this.templateLatency = templateLatency;
+        return this;
+    }
+
+    /** Delay before reading each 1KB of the request body */
+    public FakeElasticsearch readDelay(Duration readDelay) {
+        this.readDelay = readDelay;
+        return this;
+    }
+
+    /** Apply the fault to the next given number of requests */
+    public FakeElasticsearch inject(Fault fault, int requests) {
+        synchronized (nextFaults) {
+            for (int i = 0; i < requests; i++) nextFaults.add(fault);
+        }
+        return this;
+    }
+
+    /** Apply the fault to the requests randomly with given probability */
+    public FakeElasticsearch inject(Fault fault, double probability) {
+        faultRates.put(fault, probability);
+        return this;
+    }
+
+    /** Documents which were accepted, in the order they were received */
+    public List<String> documents() {
+        return List.copyOf(documents);
+    }
+
+    /** Index templates which were installed, by their names */
+    public Map<String, String> templates() {
+        return Map.copyOf(templates);
+    }
+
+    /** Number of received requests, including rejected ones */
+    public int requests() {
+        return requests.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private Optional<Fault> nextFault() {
+        synchronized (nextFaults) {
+            if (!nextFaults.isEmpty()) return Optional.of(nextFaults.remove(0));
+        }
+        for (var e : faultRates.entrySet())
+            if (ThreadLocalRandom.current().nextDouble() < e.getValue())
+                return Optional.of(e.getKey());
+        return Optional.empty();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            var body = read(exchange);
+            sleep(latency);
+            if (authorization.isPresent()
+                    && !authorization
+                            .get()
+                            .equals(exchange.getRequestHeaders().getFirst("Authorization"))) {
+                exchange.getResponseHeaders().add("WWW-Authenticate", "Basic realm=\"fake\"");
+                respond(exchange, 401, "{}");
+                return;
+            }
+            var path = exchange.getRequestURI().getPath();
+            if (!path.startsWith(pathPrefix + "/")) {
+                respond(exchange, 404, "{}");
+                return;
+            }
+            path = path.substring(pathPrefix.length());
+            if (path.startsWith("/_index_template/") && exchange.getRequestMethod().equals("PUT")) {
+                sleep(templateLatency);
+                templates.put(path.substring("/_index_template/".length()), body);
+                respond(exchange, 200, "{\"acknowledged\":true}");
+                return;
+            }
+            if (!path.endsWith("/_bulk")) {
+                respond(exchange, 404, "{}");
+                return;
+            }
+            var fault = nextFault();
+            if (fault.isPresent()) {
+                switch (fault.get()) {
+                    case CONNECTION_RESET -> {
+                        return;
+                    }
+                    case TOO_MANY_REQUESTS -> {
+                        respond(exchange, 429, "{}");
+                        return;
+                    }
+                    default -> {}
+                }
+            }
+            respond(exchange, 200, bulk(body, fault));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Stores accepted documents and returns the bulk response */
+    private String bulk(String body, Optional<Fault> fault) {
+        var lines = body.split("\n");
+        var items = new StringBuilder();
+        var hasErrors = false;
+        for (int i = 0; i + 1 < lines.length; i += 2) {
+            if (!items.isEmpty()) items.append(',');
+            var isRejected = fault.isPresent() && i / 2 % 2 == 1;
+            if (!isRejected) {
+                documents.add(lines[i + 1]);
+                items.append("{\"create\":{\"status\":201}}");
+                continue;
+            }
+            hasErrors = true;
+            if (fault.get() == Fault.REJECT_ITEMS)
+                items.append(
+                        "{\"create\":{\"status\":429,\"error\":"
+                                + "{\"type\":\"es_rejected_execution_exception\"}}}");
+            else
+                items.append(
+                        "{\"create\":{\"status\":400,\"error\":"
+                                + "{\"type\":\"mapper_parsing_exception\"}}}");
+        }
+        return "{\"took\":1,\"errors\":" + hasErrors + ",\"items\":[" + items + "]}";
+    }
+
+    /** Reads the body as it is sent over the network and decompresses it if needed */
+    private String read(HttpExchange exchange) throws IOException, InterruptedException {
+        var in = exchange.getRequestBody();
+        var out = new ByteArrayOutputStream();
+        var buf = new byte[1024];
+        while (true) {
+            sleep(readDelay);
+            var n = in.read(buf);
+            if (n < 0) break;
+            out.write(buf, 0, n);
+        }
+        var bytes = out.toByteArray();
+        if ("gzip".equals(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+            try (var gzip = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+                bytes = gzip.readAllBytes();
+            }
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body)
+            throws IOException {
+        var bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private static void sleep(Duration duration) throws InterruptedException {
+        if (!duration.isZero()) Thread.sleep(duration.toMillis());
+    }
+}
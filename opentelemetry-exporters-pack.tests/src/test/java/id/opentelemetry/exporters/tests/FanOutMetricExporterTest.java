@@ -0,0 +1,115 @@
+/*
+ * Copyright 2022 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters.tests;
+
+import id.opentelemetry.exporters.DroppedMetricsException;
+import id.opentelemetry.exporters.FanOutMetricExporter;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableGaugeData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableLongPointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableMetricData;
+import io.opentelemetry.sdk.resources.Resource;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class FanOutMetricExporterTest {
+
+    @Test
+    public void test() {
+        var fast = new ExporterMock();
+        var stalled =
+                new ExporterMock() {
+                    @Override
+                    public CompletableResultCode export(Collection<MetricData> metrics) {
+                        super.export(metrics);
+                        // never completes
+                        return new CompletableResultCode();
+                    }
+                };
+        var exporter =
+                new FanOutMetricExporter(
+                        List.of(stalled, fast),
+                        Duration.ofMillis(100),
+                        metric -> !metric.getName().equals("ignored"));
+        var result =
+                exporter.export(List.of(gauge("objects"), gauge("ignored")))
+                        .join(10, TimeUnit.SECONDS);
+        Assertions.assertFalse(result.isSuccess());
+        Assertions.assertInstanceOf(TimeoutException.class, result.getFailureThrowable());
+        for (var sink : List.of(fast, stalled)) {
+            Assertions.assertEquals(1, sink.exports.size());
+            Assertions.assertEquals(
+                    List.of("objects"),
+                    sink.exports.get(0).stream().map(MetricData::getName).toList());
+        }
+        Assertions.assertTrue(exporter.shutdown().join(10, TimeUnit.SECONDS).isSuccess());
+        Assertions.assertTrue(fast.isShutdown);
+        Assertions.assertTrue(stalled.isShutdown);
+        Assertions.assertFalse(
+                exporter.export(List.of(gauge("objects"))).join(10, TimeUnit.SECONDS).isSuccess());
+    }
+
+    @Test
+    public void test_stalled_sink() {
+        var fast = new ExporterMock();
+        var stalled =
+                new ExporterMock() {
+                    @Override
+                    public CompletableResultCode export(Collection<MetricData> metrics) {
+                        super.export(metrics);
+                        // accepted, but never completes
+                        return new CompletableResultCode();
+                    }
+                };
+        var exporter =
+                new FanOutMetricExporter(
+                        List.of(stalled, fast), Duration.ofMillis(100), metric -> true);
+        for (int i = 0; i < 4; i++) {
+            var result = exporter.export(List.of(gauge("objects"))).join(10, TimeUnit.SECONDS);
+            Assertions.assertInstanceOf(TimeoutException.class, result.getFailureThrowable());
+        }
+        // sink still has 4 exports which are not completed
+        var result = exporter.export(List.of(gauge("objects"))).join(10, TimeUnit.SECONDS);
+        Assertions.assertInstanceOf(DroppedMetricsException.class, result.getFailureThrowable());
+        Assertions.assertEquals(4, stalled.exports.size());
+        Assertions.assertEquals(5, fast.exports.size());
+        Assertions.assertTrue(exporter.shutdown().join(10, TimeUnit.SECONDS).isSuccess());
+    }
+
+    private static MetricData gauge(String name) {
+        return ImmutableMetricData.createLongGauge(
+                Resource.getDefault(),
+                InstrumentationScopeInfo.create("scope"),
+                name,
+                "",
+                "1",
+                ImmutableGaugeData.create(
+                        List.of(ImmutableLongPointData.create(0, 1, Attributes.empty(), 1))));
+    }
+}
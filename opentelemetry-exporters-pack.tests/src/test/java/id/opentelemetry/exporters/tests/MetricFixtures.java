@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters.tests;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.metrics.data.ExponentialHistogramPointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableExponentialHistogramBuckets;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableExponentialHistogramPointData;
+import java.util.List;
+
+/**
+ * Metric points shared by the exporter tests
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class MetricFixtures {
+
+    /** Zero bucket with 1 value, buckets (1, 2] and (2, 4] with 1 and 2 values */
+    public static ExponentialHistogramPointData createExponentialPoint() {
+        return ImmutableExponentialHistogramPointData.create(
+                0,
+                8,
+                1,
+                true,
+                0,
+                true,
+                4,
+                ImmutableExponentialHistogramBuckets.create(0, 0, List.of(1L, 2L)),
+                ImmutableExponentialHistogramBuckets.create(0, 0, List.of()),
+                0,
+                0,
+                Attributes.empty(),
+                List.of());
+    }
+}
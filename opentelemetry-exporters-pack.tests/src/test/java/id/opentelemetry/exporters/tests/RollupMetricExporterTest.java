@@ -0,0 +1,207 @@
+/*
+ * Copyright 2022 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters.tests;
+
+import id.opentelemetry.exporters.RollupMetricExporter;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.ExponentialHistogramPointData;
+import io.opentelemetry.sdk.metrics.data.HistogramPointData;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableExponentialHistogramBuckets;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableExponentialHistogramData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableExponentialHistogramPointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableGaugeData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableHistogramData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableHistogramPointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableLongPointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableMetricData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableSumData;
+import io.opentelemetry.sdk.resources.Resource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class RollupMetricExporterTest {
+    private static final long SECOND = 1_000_000_000L;
+    private static final Attributes A = Attributes.builder().put("a", 1).build();
+    private static final Attributes B = Attributes.builder().put("a", 2).build();
+
+    @Test
+    public void test() {
+        var mock = new ExporterMock();
+        var exporter = new RollupMetricExporter(mock, Duration.ofMinutes(1));
+        for (int i = 1; i <= 3; i++) {
+            var start = (i - 1) * 20 * SECOND;
+            var end = i * 20 * SECOND;
+            Assertions.assertTrue(
+                    exporter.export(
+                                    List.of(
+                                            counter(start, end, A, i),
+                                            counter(start, end, B, 10 * i),
+                                            gauge(end, i),
+                                            histogram(start, end, i)))
+                            .isSuccess());
+            // last export reaches the end of the window
+            Assertions.assertEquals(i < 3 ? 0 : 1, mock.exports.size());
+        }
+        var metrics = mock.exports.get(0);
+        Assertions.assertEquals(3, metrics.size());
+        var counter = new ArrayList<LongPointData>(metrics.get(0).getLongSumData().getPoints());
+        Assertions.assertEquals(2, counter.size());
+        Assertions.assertEquals(A, counter.get(0).getAttributes());
+        Assertions.assertEquals(6, counter.get(0).getValue());
+        Assertions.assertEquals(60, counter.get(1).getValue());
+        Assertions.assertEquals(0, counter.get(0).getStartEpochNanos());
+        Assertions.assertEquals(60 * SECOND, counter.get(0).getEpochNanos());
+        Assertions.assertEquals(
+                3, metrics.get(1).getLongGaugeData().getPoints().iterator().next().getValue());
+        HistogramPointData histogram =
+                metrics.get(2).getHistogramData().getPoints().iterator().next();
+        Assertions.assertEquals(List.of(3L, 6L, 0L), histogram.getCounts());
+        Assertions.assertEquals(24, histogram.getSum());
+        Assertions.assertEquals(1, histogram.getMin());
+        Assertions.assertEquals(3, histogram.getMax());
+
+        // next window is exported on shutdown
+        Assertions.assertTrue(
+                exporter.export(List.of(counter(60 * SECOND, 70 * SECOND, A, 5))).isSuccess());
+        Assertions.assertEquals(1, mock.exports.size());
+        Assertions.assertTrue(exporter.shutdown().isSuccess());
+        Assertions.assertTrue(mock.isShutdown);
+        Assertions.assertEquals(2, mock.exports.size());
+        Assertions.assertEquals(
+                5,
+                mock.exports
+                        .get(1)
+                        .get(0)
+                        .getLongSumData()
+                        .getPoints()
+                        .iterator()
+                        .next()
+                        .getValue());
+        Assertions.assertFalse(exporter.export(List.of(gauge(80 * SECOND, 1))).isSuccess());
+    }
+
+    @Test
+    public void test_exponential_histogram() {
+        var mock = new ExporterMock();
+        var exporter = new RollupMetricExporter(mock, Duration.ofMinutes(1));
+        // buckets (1, 2] and (2, 4]
+        exporter.export(List.of(exponentialHistogram(0, List.of(1L, 2L))));
+        // buckets (1, 1.41] and (1.41, 2]
+        exporter.export(List.of(exponentialHistogram(1, List.of(3L, 4L))));
+        exporter.flush();
+        Assertions.assertEquals(1, mock.exports.size());
+        ExponentialHistogramPointData point =
+                mock.exports
+                        .get(0)
+                        .get(0)
+                        .getExponentialHistogramData()
+                        .getPoints()
+                        .iterator()
+                        .next();
+        Assertions.assertEquals(0, point.getScale());
+        Assertions.assertEquals(0, point.getPositiveBuckets().getOffset());
+        Assertions.assertEquals(List.of(8L, 2L), point.getPositiveBuckets().getBucketCounts());
+        Assertions.assertEquals(12, point.getCount());
+        Assertions.assertEquals(2, point.getZeroCount());
+    }
+
+    private MetricData counter(long start, long end, Attributes attributes, long value) {
+        return ImmutableMetricData.createLongSum(
+                Resource.getDefault(),
+                InstrumentationScopeInfo.create("scope"),
+                "counter",
+                "",
+                "ms",
+                ImmutableSumData.create(
+                        true,
+                        AggregationTemporality.DELTA,
+                        List.of(ImmutableLongPointData.create(start, end, attributes, value))));
+    }
+
+    private MetricData gauge(long end, long value) {
+        return ImmutableMetricData.createLongGauge(
+                Resource.getDefault(),
+                InstrumentationScopeInfo.create("scope"),
+                "gauge",
+                "",
+                "ms",
+                ImmutableGaugeData.create(
+                        List.of(ImmutableLongPointData.create(0, end, Attributes.empty(), value))));
+    }
+
+    private MetricData histogram(long start, long end, int value) {
+        return ImmutableMetricData.createDoubleHistogram(
+                Resource.getDefault(),
+                InstrumentationScopeInfo.create("scope"),
+                "histogram",
+                "",
+                "ms",
+                ImmutableHistogramData.create(
+                        AggregationTemporality.DELTA,
+                        List.of(
+                                ImmutableHistogramPointData.create(
+                                        start,
+                                        end,
+                                        Attributes.empty(),
+                                        4 * value,
+                                        true,
+                                        value,
+                                        true,
+                                        value,
+                                        List.of(10., 20.),
+                                        List.of(1L, 2L, 0L)))));
+    }
+
+    private MetricData exponentialHistogram(int scale, List<Long> counts) {
+        return ImmutableMetricData.createExponentialHistogram(
+                Resource.getDefault(),
+                InstrumentationScopeInfo.create("scope"),
+                "expHistogram",
+                "",
+                "ms",
+                ImmutableExponentialHistogramData.create(
+                        AggregationTemporality.DELTA,
+                        List.of(
+                                ImmutableExponentialHistogramPointData.create(
+                                        scale,
+                                        10,
+                                        1,
+                                        false,
+                                        0,
+                                        false,
+                                        0,
+                                        ImmutableExponentialHistogramBuckets.create(
+                                                scale, 0, counts),
+                                        ImmutableExponentialHistogramBuckets.create(
+                                                scale, 0, List.of()),
+                                        0,
+                                        SECOND,
+                                        Attributes.empty(),
+                                        List.of()))));
+    }
+}
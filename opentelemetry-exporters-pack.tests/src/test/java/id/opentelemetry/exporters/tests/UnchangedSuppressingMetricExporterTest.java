@@ -0,0 +1,106 @@
+/*
+ * Copyright 2022 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters.tests;
+
+import id.opentelemetry.exporters.UnchangedSuppressingMetricExporter;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableGaugeData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableLongPointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableMetricData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableSumData;
+import io.opentelemetry.sdk.resources.Resource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+/**
+ * @author lambdaprime intid@protonmail.com
+ */
+public class UnchangedSuppressingMetricExporterTest {
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    public void test() {
+        var mock = new ExporterMock();
+        var exporter = new UnchangedSuppressingMetricExporter(mock, Duration.ofSeconds(3));
+        var counters = new long[] {0, 0, 0, 0, 5, 5};
+        var gauges = new long[] {7, 7, 8, 8, 8, 8};
+        var exported = new ArrayList<String>();
+        for (int i = 0; i < counters.length; i++) {
+            var time = (i + 1) * SECOND;
+            mock.exports.clear();
+            Assertions.assertTrue(
+                    exporter.export(
+                                    List.of(
+                                            counter(time - SECOND, time, counters[i]),
+                                            gauge(time, gauges[i])))
+                            .isSuccess());
+            exported.add(
+                    mock.exports.stream()
+                            .flatMap(List::stream)
+                            .map(MetricData::getName)
+                            .toList()
+                            .toString());
+        }
+        Assertions.assertEquals(
+                List.of(
+                        // first points of the series
+                        "[detected_objects_total, objects]",
+                        "[]",
+                        // gauge changed
+                        "[objects]",
+                        // heartbeat of the counter
+                        "[detected_objects_total]",
+                        // counter is not zero
+                        "[detected_objects_total]",
+                        // heartbeat of the gauge
+                        "[detected_objects_total, objects]"),
+                exported);
+    }
+
+    private static MetricData counter(long start, long end, long value) {
+        return ImmutableMetricData.createLongSum(
+                Resource.getDefault(),
+                InstrumentationScopeInfo.create("scope"),
+                "detected_objects_total",
+                "",
+                "1",
+                ImmutableSumData.create(
+                        true,
+                        AggregationTemporality.DELTA,
+                        List.of(
+                                ImmutableLongPointData.create(
+                                        start, end, Attributes.empty(), value))));
+    }
+
+    private static MetricData gauge(long end, long value) {
+        return ImmutableMetricData.createLongGauge(
+                Resource.getDefault(),
+                InstrumentationScopeInfo.create("scope"),
+                "objects",
+                "",
+                "1",
+                ImmutableGaugeData.create(
+                        List.of(ImmutableLongPointData.create(0, end, Attributes.empty(), value))));
+    }
+}
@@ -4,6 +4,7 @@
 open module id.opentelemetry.exporters.pack.tests {
     exports id.opentelemetry.exporters.tests;
 
+    requires java.management;
     requires java.net.http;
     requires org.junit.jupiter.api;
     requires io.opentelemetry.sdk.metrics;
@@ -11,4 +12,5 @@ open module id.opentelemetry.exporters.pack.tests {
     requires io.opentelemetry.sdk.common;
     requires io.opentelemetry.api;
     requires id.xfunctiontests;
+    requires id.xfunction;
 }
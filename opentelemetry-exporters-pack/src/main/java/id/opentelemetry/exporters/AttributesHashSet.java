@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import io.opentelemetry.api.common.Attributes;
+
+/**
+ * Set of 64-bit fingerprints of attribute sets.
+ *
+ * <p>Only fingerprints are stored (open addressing table of primitive longs), so set takes 8-16
+ * bytes per attribute set and does not keep any of the attributes alive. Different attribute sets
+ * may have same fingerprint, which is acceptable when set is used only to count them.
+ *
+ * <p>Not thread safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+class AttributesHashSet {
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Zero marks empty slot */
+    private long[] table = new long[INITIAL_CAPACITY];
+
+    private int size;
+
+    /**
+     * @return well mixed 64-bit hash of the attributes which is never 0
+     */
+    static long fingerprint(Attributes attributes) {
+        var hash = new long[] {attributes.size()};
+        attributes.forEach(
+                (key, value) ->
+                        hash[0] =
+                                hash[0] * 0x9e3779b97f4a7c15L
+                                        + ((long) key.hashCode() << 32)
+                                        + value.hashCode());
+        var fingerprint = mix(hash[0]);
+        return fingerprint == 0 ? 1 : fingerprint;
+    }
+
+    /** Finalization step of MurmurHash3 */
+    private static long mix(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    boolean contains(long fingerprint) {
+        var mask = table.length - 1;
+        for (int i = (int) fingerprint & mask; table[i] != 0; i = (i + 1) & mask) {
+            if (table[i] == fingerprint) return true;
+        }
+        return false;
+    }
+
+    /**
+     * @return false if fingerprint is already present
+     */
+    boolean add(long fingerprint) {
+        if (contains(fingerprint)) return false;
+        if ((size + 1) * 2 > table.length) resize();
+        insert(table, fingerprint);
+        size++;
+        return true;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private static void insert(long[] table, long fingerprint) {
+        var mask = table.length - 1;
+        var i = (int) fingerprint & mask;
+        while (table[i] != 0) i = (i + 1) & mask;
+        table[i] = fingerprint;
+    }
+
+    private void resize() {
+        var newTable = new long[table.length * 2];
+        for (var fingerprint : table) if (fingerprint != 0) insert(newTable, fingerprint);
+        table = newTable;
+    }
+}
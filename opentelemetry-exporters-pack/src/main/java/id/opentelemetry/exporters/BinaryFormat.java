@@ -0,0 +1,124 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import io.opentelemetry.sdk.metrics.data.MetricDataType;
+
+/**
+ * Format of the segment files of {@link BinaryMetricExporter}.
+ *
+ * <p>Segment starts with the header (magic, version) which is followed by the blocks. Each export
+ * is written as one block:
+ *
+ * <pre>
+ * int      length of the block payload
+ * int      CRC32 of the block payload
+ * payload:
+ *   long   min point time (epoch nanos)
+ *   long   max point time (epoch nanos)
+ *   varint number of new strings, followed by strings
+ *   varint number of new series, followed by series
+ *   varint number of points N
+ *   series column: N varints
+ *   start time column: N zigzag varints, delta from the previous point (first one from min time)
+ *   time column: N zigzag varints, delta from the previous point (first one from min time)
+ *   long column: varint number of values, followed by zigzag varints
+ *   double column: varint number of values, followed by doubles
+ * </pre>
+ *
+ * <p>Strings (metric names, scopes, attribute keys and string values) and series are dictionary
+ * encoded: each of them is written only once per segment, when it is used for the first time, and
+ * after that it is referenced by its index. Series is a combination of:
+ *
+ * <pre>
+ * byte     metric type
+ * varint   scope name string
+ * varint   scope version string + 1 (0 if none)
+ * varint   scope schema URL string + 1 (0 if none)
+ * varint   metric name string
+ * varint   number of attributes, followed by attributes (key string, type, value)
+ * </pre>
+ *
+ * <p>Values of the points are stored in long and double columns in the order of the points:
+ *
+ * <ul>
+ *   <li>{@link MetricDataType#LONG_GAUGE}, {@link MetricDataType#LONG_SUM} - value in long column
+ *   <li>{@link MetricDataType#DOUBLE_GAUGE}, {@link MetricDataType#DOUBLE_SUM} - value in double
+ *       column
+ *   <li>{@link MetricDataType#HISTOGRAM} - count in long column, sum, min, max in double column
+ *       (min and max are NaN if they are absent)
+ * </ul>
+ *
+ * <p>Block is written with single write. Blocks which were written only partially (length exceeds
+ * file size or checksum does not match) are ignored.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+interface BinaryFormat {
+    int MAGIC = 0x6f746d62;
+    byte VERSION = 1;
+    int SEGMENT_HEADER = 5;
+    int BLOCK_HEADER = 8;
+    String SEGMENT_PREFIX = "metrics-";
+    String SEGMENT_SUFFIX = ".bin";
+
+    byte LONG_GAUGE = 1;
+    byte DOUBLE_GAUGE = 2;
+    byte LONG_SUM = 3;
+    byte DOUBLE_SUM = 4;
+    byte HISTOGRAM = 5;
+
+    byte ATTR_STRING = 1;
+    byte ATTR_BOOLEAN = 2;
+    byte ATTR_LONG = 3;
+    byte ATTR_DOUBLE = 4;
+    byte ATTR_STRING_ARRAY = 5;
+    byte ATTR_BOOLEAN_ARRAY = 6;
+    byte ATTR_LONG_ARRAY = 7;
+    byte ATTR_DOUBLE_ARRAY = 8;
+
+    /**
+     * @return type code or 0 if type is not supported
+     */
+    static byte typeCode(MetricDataType type) {
+        return switch (type) {
+            case LONG_GAUGE -> LONG_GAUGE;
+            case DOUBLE_GAUGE -> DOUBLE_GAUGE;
+            case LONG_SUM -> LONG_SUM;
+            case DOUBLE_SUM -> DOUBLE_SUM;
+            case HISTOGRAM -> HISTOGRAM;
+            default -> 0;
+        };
+    }
+
+    static MetricDataType metricType(byte code) {
+        return switch (code) {
+            case LONG_GAUGE -> MetricDataType.LONG_GAUGE;
+            case DOUBLE_GAUGE -> MetricDataType.DOUBLE_GAUGE;
+            case LONG_SUM -> MetricDataType.LONG_SUM;
+            case DOUBLE_SUM -> MetricDataType.DOUBLE_SUM;
+            case HISTOGRAM -> MetricDataType.HISTOGRAM;
+            default -> throw new IllegalStateException("Unknown metric type " + code);
+        };
+    }
+
+    static String segmentName(long sequence) {
+        // zero padded so that segments are sorted by name
+        return String.format("%s%019d%s", SEGMENT_PREFIX, sequence, SEGMENT_SUFFIX);
+    }
+}
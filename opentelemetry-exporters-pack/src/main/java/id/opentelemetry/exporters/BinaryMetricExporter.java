@@ -0,0 +1,172 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import id.xfunction.logging.XLogger;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.MetricDataType;
+import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+
+/**
+ * Push Metric Exporter to compact binary files.
+ *
+ * <p>Compared to {@link CsvMetricExporter} it takes much less space on the disk and can be read
+ * back much faster with {@link BinaryMetricReader}:
+ *
+ * <ul>
+ *   <li>metric names, scopes and attributes are written only once per file and after that they are
+ *       referenced by index
+ *   <li>points are stored in columns, times are stored as deltas from the previous point and
+ *       integer values as varints
+ *   <li>each export is written as a block which holds its time range, so that reader can skip
+ *       blocks outside of the time range it reads
+ * </ul>
+ *
+ * <p>Metrics are written to append-only segment files ("metrics-0000000000000000001.bin"). New
+ * segment is started when current one reaches max size and each time exporter is created.
+ *
+ * <p>Currently supported metric types:
+ *
+ * <ul>
+ *   <li>{@link MetricDataType#LONG_GAUGE}
+ *   <li>{@link MetricDataType#DOUBLE_GAUGE}
+ *   <li>{@link MetricDataType#LONG_SUM}
+ *   <li>{@link MetricDataType#DOUBLE_SUM}
+ *   <li>{@link MetricDataType#HISTOGRAM} (count, sum, min, max)
+ * </ul>
+ *
+ * <h2>Usage</h2>
+ *
+ * <pre>{@code
+ * var metricReader = PeriodicMetricReader
+ *   .builder(new BinaryMetricExporter(Paths.get("/tmp/mymetrics")))
+ *   .setInterval(Duration.ofSeconds(3))
+ *   .build();
+ * }</pre>
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public final class BinaryMetricExporter implements MetricExporter {
+    private static final XLogger LOGGER = XLogger.getLogger(BinaryMetricExporter.class.getName());
+    public static final long DEFAULT_MAX_SEGMENT_SIZE_IN_BYTES = 64 * 1024 * 1024;
+    private final Path dir;
+    private final long maxSegmentSizeInBytes;
+    private MetricSegmentWriter writer;
+    private long nextSequence;
+    private boolean isShutdown;
+
+    /**
+     * @param dir path to folder where all segment files are located
+     */
+    public BinaryMetricExporter(Path dir) throws IOException {
+        this(dir, DEFAULT_MAX_SEGMENT_SIZE_IN_BYTES);
+    }
+
+    /**
+     * @param maxSegmentSizeInBytes new segment file is started once current one reaches this size
+     */
+    public BinaryMetricExporter(Path dir, long maxSegmentSizeInBytes) throws IOException {
+        if (maxSegmentSizeInBytes <= 0)
+            throw new IllegalArgumentException("Max segment size must be positive");
+        this.dir = dir;
+        this.maxSegmentSizeInBytes = maxSegmentSizeInBytes;
+        Files.createDirectories(dir);
+        try (var files = Files.list(dir)) {
+            for (var path : files.toList()) {
+                var name = path.getFileName().toString();
+                if (!name.startsWith(BinaryFormat.SEGMENT_PREFIX)
+                        || !name.endsWith(BinaryFormat.SEGMENT_SUFFIX)) continue;
+                try {
+                    var sequence =
+                            Long.parseLong(
+                                    name.substring(
+                                            BinaryFormat.SEGMENT_PREFIX.length(),
+                                            name.length() - BinaryFormat.SEGMENT_SUFFIX.length()));
+                    nextSequence = Math.max(nextSequence, sequence + 1);
+                } catch (NumberFormatException e) {
+                    LOGGER.warning("Ignoring {0}", path);
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<MetricData> metrics) {
+        LOGGER.fine("Received a collection of {0} metrics for export.", metrics.size());
+        if (isShutdown) {
+            LOGGER.warning("Exporter is shut down, ignoring {0} metrics", metrics.size());
+            return CompletableResultCode.ofFailure();
+        }
+        for (var metric : metrics) {
+            if (BinaryFormat.typeCode(metric.getType()) == 0)
+                LOGGER.info("metric {0} not supported, ignoring...", metric.getType());
+        }
+        try {
+            if (writer == null) {
+                var path = dir.resolve(BinaryFormat.segmentName(nextSequence++));
+                LOGGER.fine("Starting new segment {0}", path);
+                writer = new MetricSegmentWriter(path);
+            }
+            writer.write(metrics);
+            if (writer.size() >= maxSegmentSizeInBytes) closeWriter();
+        } catch (IOException e) {
+            LOGGER.severe(e);
+            // segment dictionaries may not match what was written, continue in the new segment
+            closeWriter();
+            return CompletableResultCode.ofExceptionalFailure(e);
+        }
+        return CompletableResultCode.ofSuccess();
+    }
+
+    private void closeWriter() {
+        if (writer == null) return;
+        try {
+            writer.close();
+        } catch (IOException e) {
+            LOGGER.severe(e);
+        }
+        writer = null;
+    }
+
+    /** Each export is written before it completes, so there is nothing to flush */
+    @Override
+    public CompletableResultCode flush() {
+        LOGGER.fine("flush");
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        LOGGER.fine("shutdown");
+        isShutdown = true;
+        closeWriter();
+        return CompletableResultCode.ofSuccess();
+    }
+
+    @Override
+    public AggregationTemporality getAggregationTemporality(InstrumentType instrumentType) {
+        return AggregationTemporality.DELTA;
+    }
+}
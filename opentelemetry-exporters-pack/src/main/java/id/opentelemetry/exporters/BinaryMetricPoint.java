@@ -0,0 +1,50 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.metrics.data.MetricDataType;
+
+/**
+ * Point read by {@link BinaryMetricReader}.
+ *
+ * <p>Which of the values are set depends on the metric type:
+ *
+ * <ul>
+ *   <li>{@link MetricDataType#LONG_GAUGE}, {@link MetricDataType#LONG_SUM} - longValue
+ *   <li>{@link MetricDataType#DOUBLE_GAUGE}, {@link MetricDataType#DOUBLE_SUM} - doubleValue
+ *   <li>{@link MetricDataType#HISTOGRAM} - count, sum, min, max (min and max are NaN if histogram
+ *       does not have them)
+ * </ul>
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public record BinaryMetricPoint(
+        InstrumentationScopeInfo scope,
+        String metricName,
+        MetricDataType type,
+        Attributes attributes,
+        long startEpochNanos,
+        long epochNanos,
+        long longValue,
+        double doubleValue,
+        long count,
+        double sum,
+        double min,
+        double max) {}
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import id.xfunction.logging.XLogger;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.common.AttributesBuilder;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.metrics.data.MetricDataType;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+/**
+ * Reads metrics written by {@link BinaryMetricExporter}.
+ *
+ * <p>Segment files are memory-mapped and read block by block. Each block holds the time range of
+ * its points, so blocks outside of the requested time range are skipped without reading their
+ * points. Only the dictionaries which blocks add are always read, since later blocks refer to them.
+ *
+ * <p>Segments can be read while exporter is writing to them: blocks which were not fully written
+ * yet are ignored.
+ *
+ * <pre>{@code
+ * new BinaryMetricReader(Paths.get("/tmp/mymetrics"))
+ *   .scan(from, to, point -> System.out.println(point));
+ * }</pre>
+ *
+ * <p>Not thread safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class BinaryMetricReader {
+    private static final XLogger LOGGER = XLogger.getLogger(BinaryMetricReader.class.getName());
+
+    private record Series(
+            MetricDataType type,
+            InstrumentationScopeInfo scope,
+            String name,
+            Attributes attributes) {}
+
+    private final Path dir;
+    private final CRC32 crc = new CRC32();
+    private int[] seriesColumn = new int[0];
+    private long[] startTimeColumn = new long[0];
+    private long[] timeColumn = new long[0];
+    private long[] longColumn = new long[0];
+
+    /**
+     * @param dir folder where {@link BinaryMetricExporter} writes metrics
+     */
+    public BinaryMetricReader(Path dir) {
+        this.dir = dir;
+    }
+
+    /**
+     * Reads all points which time ({@link BinaryMetricPoint#epochNanos()}) is in the given range.
+     * Points are read in the same order as they were exported.
+     *
+     * @param fromEpochNanos start of the range (inclusive)
+     * @param toEpochNanos end of the range (exclusive)
+     */
+    public void scan(long fromEpochNanos, long toEpochNanos, Consumer<BinaryMetricPoint> consumer)
+            throws IOException {
+        List<Path> segments;
+        try (var files = Files.list(dir)) {
+            segments =
+                    files.filter(
+                                    p -> {
+                                        var name = p.getFileName().toString();
+                                        return name.startsWith(BinaryFormat.SEGMENT_PREFIX)
+                                                && name.endsWith(BinaryFormat.SEGMENT_SUFFIX);
+                                    })
+                            .sorted()
+                            .toList();
+        }
+        for (var segment : segments) scan(segment, fromEpochNanos, toEpochNanos, consumer);
+    }
+
+    private void scan(
+            Path segment,
+            long fromEpochNanos,
+            long toEpochNanos,
+            Consumer<BinaryMetricPoint> consumer)
+            throws IOException {
+        ByteBuffer buf;
+        try (var channel = FileChannel.open(segment)) {
+            buf = channel.map(MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buf.limit() < BinaryFormat.SEGMENT_HEADER
+                || buf.getInt(0) != BinaryFormat.MAGIC
+                || buf.get(4) != BinaryFormat.VERSION) {
+            LOGGER.warning("Ignoring {0} which is not a metrics segment", segment);
+            return;
+        }
+        var strings = new ArrayList<String>();
+        var series = new ArrayList<Series>();
+        var position = BinaryFormat.SEGMENT_HEADER;
+        while (position + BinaryFormat.BLOCK_HEADER <= buf.limit()) {
+            var length = buf.getInt(position);
+            var checksum = buf.getInt(position + 4);
+            var start = position + BinaryFormat.BLOCK_HEADER;
+            if (length <= 0 || length > buf.limit() - start) break;
+            position = start + length;
+            var block = buf.slice(start, length);
+            var minTime = block.getLong();
+            var maxTime = block.getLong();
+            if (maxTime < fromEpochNanos || minTime >= toEpochNanos) {
+                // skipped blocks are not verified since their points are not read, but their
+                // dictionaries can still be corrupted
+                try {
+                    readDictionaries(block, strings, series);
+                } catch (RuntimeException e) {
+                    LOGGER.warning(
+                            "Corrupted block in {0}, ignoring rest of the segment: {1}",
+                            segment, e.toString());
+                    break;
+                }
+                continue;
+            }
+            crc.reset();
+            crc.update(buf.slice(start, length));
+            if ((int) crc.getValue() != checksum) {
+                LOGGER.warning("Corrupted block in {0}, ignoring rest of the segment", segment);
+                break;
+            }
+            readDictionaries(block, strings, series);
+            readPoints(block, series, fromEpochNanos, toEpochNanos, consumer, minTime);
+        }
+    }
+
+    private void readDictionaries(ByteBuffer block, List<String> strings, List<Series> series) {
+        var count = (int) ColumnBuffer.getVarint(block);
+        for (int i = 0; i < count; i++) strings.add(ColumnBuffer.getString(block));
+        count = (int) ColumnBuffer.getVarint(block);
+        for (int i = 0; i < count; i++) series.add(readSeries(block, strings));
+    }
+
+    private Series readSeries(ByteBuffer block, List<String> strings) {
+        var type = BinaryFormat.metricType(block.get());
+        var scope = InstrumentationScopeInfo.builder(string(block, strings));
+        var version = (int) ColumnBuffer.getVarint(block);
+        if (version != 0) scope.setVersion(strings.get(version - 1));
+        var schemaUrl = (int) ColumnBuffer.getVarint(block);
+        if (schemaUrl != 0) scope.setSchemaUrl(strings.get(schemaUrl - 1));
+        var name = string(block, strings);
+        var attributes = Attributes.builder();
+        var count = (int) ColumnBuffer.getVarint(block);
+        for (int i = 0; i < count; i++) readAttribute(block, strings, attributes);
+        return new Series(type, scope.build(), name, attributes.build());
+    }
+
+    private void readAttribute(ByteBuffer block, List<String> strings, AttributesBuilder out) {
+        var key = string(block, strings);
+        var type = block.get();
+        switch (type) {
+            case BinaryFormat.ATTR_STRING -> out.put(key, string(block, strings));
+            case BinaryFormat.ATTR_BOOLEAN -> out.put(key, block.get() != 0);
+            case BinaryFormat.ATTR_LONG -> out.put(key, ColumnBuffer.getZigzag(block));
+            case BinaryFormat.ATTR_DOUBLE -> out.put(key, block.getDouble());
+            case BinaryFormat.ATTR_STRING_ARRAY -> {
+                var values = new String[(int) ColumnBuffer.getVarint(block)];
+                for (int i = 0; i < values.length; i++) values[i] = string(block, strings);
+                out.put(key, values);
+            }
+            case BinaryFormat.ATTR_BOOLEAN_ARRAY -> {
+                var values = new boolean[(int) ColumnBuffer.getVarint(block)];
+                for (int i = 0; i < values.length; i++) values[i] = block.get() != 0;
+                out.put(key, values);
+            }
+            case BinaryFormat.ATTR_LONG_ARRAY -> {
+                var values = new long[(int) ColumnBuffer.getVarint(block)];
+                for (int i = 0; i < values.length; i++) values[i] = ColumnBuffer.getZigzag(block);
+                out.put(key, values);
+            }
+            case BinaryFormat.ATTR_DOUBLE_ARRAY -> {
+                var values = new double[(int) ColumnBuffer.getVarint(block)];
+                for (int i = 0; i < values.length; i++) values[i] = block.getDouble();
+                out.put(key, values);
+            }
+            default -> throw new IllegalStateException("Unknown attribute type " + type);
+        }
+    }
+
+    private void readPoints(
+            ByteBuffer block,
+            List<Series> series,
+            long fromEpochNanos,
+            long toEpochNanos,
+            Consumer<BinaryMetricPoint> consumer,
+            long minTime) {
+        var points = (int) ColumnBuffer.getVarint(block);
+        if (seriesColumn.length < points) {
+            seriesColumn = new int[points];
+            startTimeColumn = new long[points];
+            timeColumn = new long[points];
+        }
+        for (int i = 0; i < points; i++) seriesColumn[i] = (int) ColumnBuffer.getVarint(block);
+        var time = minTime;
+        for (int i = 0; i < points; i++) startTimeColumn[i] = time += ColumnBuffer.getZigzag(block);
+        time = minTime;
+        for (int i = 0; i < points; i++) timeColumn[i] = time += ColumnBuffer.getZigzag(block);
+        var longs = (int) ColumnBuffer.getVarint(block);
+        if (longColumn.length < longs) longColumn = new long[longs];
+        for (int i = 0; i < longs; i++) longColumn[i] = ColumnBuffer.getZigzag(block);
+        ColumnBuffer.getVarint(block);
+        // doubles are fixed size so they are read directly from the block
+        var doubles = block.slice();
+        var longIndex = 0;
+        for (int i = 0; i < points; i++) {
+            var s = series.get(seriesColumn[i]);
+            long longValue = 0, count = 0;
+            double doubleValue = 0, sum = 0, min = 0, max = 0;
+            switch (s.type()) {
+                case LONG_GAUGE, LONG_SUM -> longValue = longColumn[longIndex++];
+                case DOUBLE_GAUGE, DOUBLE_SUM -> doubleValue = doubles.getDouble();
+                case HISTOGRAM -> {
+                    count = longColumn[longIndex++];
+                    sum = doubles.getDouble();
+                    min = doubles.getDouble();
+                    max = doubles.getDouble();
+                }
+                default -> throw new IllegalStateException("Unsupported metric type " + s.type());
+            }
+            if (timeColumn[i] < fromEpochNanos || timeColumn[i] >= toEpochNanos) continue;
+            consumer.accept(
+                    new BinaryMetricPoint(
+                            s.scope(),
+                            s.name(),
+                            s.type(),
+                            s.attributes(),
+                            startTimeColumn[i],
+                            timeColumn[i],
+                            longValue,
+                            doubleValue,
+                            count,
+                            sum,
+                            min,
+                            max));
+        }
+    }
+
+    private static String string(ByteBuffer block, List<String> strings) {
+        return strings.get((int) ColumnBuffer.getVarint(block));
+    }
+}
@@ -0,0 +1,325 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.http.HttpRequest.BodyPublisher;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Body of <a
+ * href="https://www.elastic.co/guide/en/elasticsearch/reference/current/docs-bulk.html">Bulk
+ * API</a> request.
+ *
+ * <p>Documents are encoded directly into the chunks taken from {@link ByteBufferPool} so that no
+ * {@link String} copies of the whole payload are made. Once body is complete it needs to be {@link
+ * #seal() sealed} and after it was sent it should be {@link #release() released} so that its chunks
+ * are returned back to the pool.
+ *
+ * <p>When {@link Compression} is enabled the body is gzipped while it is being written. Until body
+ * reaches {@link Compression#minSizeInBytes()} it is kept uncompressed, once it gets bigger than
+ * that everything written so far is compressed and the rest of the documents are compressed as they
+ * arrive.
+ *
+ * <p>Not thread safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+class BulkBody extends OutputStream {
+    private static final byte[] GZIP_HEADER = {
+        0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, -1
+    };
+
+    /**
+     * @param level see {@link Deflater#setLevel(int)}
+     * @param minSizeInBytes bodies smaller than this are sent uncompressed
+     */
+    record Compression(int level, int minSizeInBytes) {}
+
+    private final ByteBufferPool pool;
+    private final Optional<Compression> compression;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private final byte[] singleByte = new byte[1];
+    private ByteBuffer current;
+    private Deflater deflater;
+    private CRC32 crc;
+    private boolean isCompressed;
+    private long size;
+    private long contentLength;
+    private int documents;
+    private boolean isSealed;
+
+    BulkBody(ByteBufferPool pool) {
+        this(pool, Optional.empty());
+    }
+
+    BulkBody(ByteBufferPool pool, Optional<Compression> compression) {
+        this.pool = pool;
+        this.compression = compression;
+    }
+
+    /**
+     * Creates sealed body from the content previously copied with {@link #copyTo(ByteBuffer)}
+     *
+     * @param content consumed by this method
+     */
+    static BulkBody restore(
+            ByteBufferPool pool, ByteBuffer content, boolean isCompressed, int documents) {
+        var body = new BulkBody(pool);
+        var length = content.remaining();
+        // gzip trailer ends with the size of uncompressed data
+        body.size =
+                isCompressed
+                        ? Integer.toUnsignedLong(
+                                content.order(ByteOrder.LITTLE_ENDIAN).getInt(content.limit() - 4))
+                        : length;
+        while (content.hasRemaining()) {
+            if (body.current == null || !body.current.hasRemaining()) body.nextChunk();
+            var n = Math.min(content.remaining(), body.current.remaining());
+            body.current.put(content.slice(content.position(), n));
+            content.position(content.position() + n);
+        }
+        body.contentLength = length;
+        body.isCompressed = isCompressed;
+        body.documents = documents;
+        return body.seal();
+    }
+
+    @Override
+    public void write(int b) {
+        singleByte[0] = (byte) b;
+        write(singleByte, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b) {
+        write(b, 0, b.length);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        if (isSealed) throw new IllegalStateException("Body is sealed");
+        size += len;
+        if (deflater != null) {
+            crc.update(b, off, len);
+            deflater.setInput(b, off, len);
+            deflate();
+            return;
+        }
+        store(b, off, len);
+        if (compression.isPresent() && size >= compression.get().minSizeInBytes())
+            startCompression();
+    }
+
+    /** Marks end of the document (action line with its source) */
+    void endDocument() {
+        documents++;
+    }
+
+    /** Number of uncompressed bytes written to the body */
+    long size() {
+        return size;
+    }
+
+    /** Number of bytes which will be sent */
+    long contentLength() {
+        return contentLength;
+    }
+
+    int documents() {
+        return documents;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** If true then body content is gzipped */
+    boolean isCompressed() {
+        return isCompressed;
+    }
+
+    /** Prepares body for reading. No writes are allowed after this call. */
+    BulkBody seal() {
+        if (isSealed) return this;
+        if (deflater != null) finishCompression();
+        isSealed = true;
+        if (current != null) current.flip();
+        current = null;
+        return this;
+    }
+
+    /**
+     * Publisher which can be subscribed multiple times (for example when {@link
+     * java.net.http.HttpClient} resends request during authentication)
+     */
+    BodyPublisher publisher() {
+        if (!isSealed) throw new IllegalStateException("Body is not sealed");
+        return new BulkBodyPublisher(chunks, contentLength);
+    }
+
+    /** Copies content of the sealed body as is (compressed or not) */
+    void copyTo(ByteBuffer dst) {
+        if (!isSealed) throw new IllegalStateException("Body is not sealed");
+        for (var chunk : chunks) dst.put(chunk.duplicate());
+    }
+
+    /** Stream of uncompressed content of the sealed body */
+    InputStream newInputStream() {
+        if (!isSealed) throw new IllegalStateException("Body is not sealed");
+        InputStream in = new ChunksInputStream(chunks);
+        if (!isCompressed) return in;
+        try {
+            return new GZIPInputStream(in, pool.chunkSize());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Returns all chunks back to the pool. Body should not be used after that. */
+    void release() {
+        chunks.forEach(pool::release);
+        chunks.clear();
+        current = null;
+        size = 0;
+        contentLength = 0;
+        documents = 0;
+        if (deflater != null) deflater.end();
+        deflater = null;
+    }
+
+    private void startCompression() {
+        var level = compression.orElseThrow().level();
+        var raw = new ArrayList<>(chunks);
+        if (current != null) current.flip();
+        chunks.clear();
+        current = null;
+        contentLength = 0;
+        isCompressed = true;
+        deflater = new Deflater(level, true);
+        crc = new CRC32();
+        store(GZIP_HEADER, 0, GZIP_HEADER.length);
+        for (var chunk : raw) {
+            crc.update(chunk.duplicate());
+            deflater.setInput(chunk);
+            deflate();
+            pool.release(chunk);
+        }
+    }
+
+    /** Compresses all input which is currently set to the deflater */
+    private void deflate() {
+        while (!deflater.needsInput()) {
+            if (current == null || !current.hasRemaining()) nextChunk();
+            contentLength += deflater.deflate(current);
+        }
+    }
+
+    private void finishCompression() {
+        deflater.finish();
+        while (!deflater.finished()) {
+            if (current == null || !current.hasRemaining()) nextChunk();
+            contentLength += deflater.deflate(current);
+        }
+        deflater.end();
+        deflater = null;
+        var trailer = new byte[8];
+        writeIntLE(trailer, 0, (int) crc.getValue());
+        writeIntLE(trailer, 4, (int) size);
+        store(trailer, 0, trailer.length);
+    }
+
+    private static void writeIntLE(byte[] buf, int off, int v) {
+        buf[off] = (byte) v;
+        buf[off + 1] = (byte) (v >> 8);
+        buf[off + 2] = (byte) (v >> 16);
+        buf[off + 3] = (byte) (v >> 24);
+    }
+
+    private void store(byte[] b, int off, int len) {
+        while (len > 0) {
+            if (current == null || !current.hasRemaining()) nextChunk();
+            var n = Math.min(len, current.remaining());
+            current.put(b, off, n);
+            off += n;
+            len -= n;
+            contentLength += n;
+        }
+    }
+
+    private void nextChunk() {
+        if (current != null) current.flip();
+        current = pool.acquire();
+        chunks.add(current);
+    }
+
+    /** Decodes body content, should be used only for debugging purposes. */
+    @Override
+    public String toString() {
+        if (!isSealed) return "BulkBody[size=" + size + ", documents=" + documents + "]";
+        try (var in = newInputStream()) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static class ChunksInputStream extends InputStream {
+        private final List<ByteBuffer> chunks;
+        private ByteBuffer buf;
+        private int next;
+
+        ChunksInputStream(List<ByteBuffer> chunks) {
+            this.chunks = chunks;
+        }
+
+        @Override
+        public int read() {
+            if (!nextBuffer()) return -1;
+            return buf.get() & 0xff;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) return 0;
+            if (!nextBuffer()) return -1;
+            var n = Math.min(len, buf.remaining());
+            buf.get(b, off, n);
+            return n;
+        }
+
+        private boolean nextBuffer() {
+            while (buf == null || !buf.hasRemaining()) {
+                if (next == chunks.size()) return false;
+                buf = chunks.get(next++).duplicate();
+            }
+            return true;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import java.net.http.HttpRequest.BodyPublisher;
+import java.nio.ByteBuffer;
+import java.util.List;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link BodyPublisher} which hands over already encoded chunks to the {@link
+ * java.net.http.HttpClient} without copying them.
+ *
+ * <p>Each subscriber receives read-only views of the chunks so the same publisher can be subscribed
+ * multiple times.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+class BulkBodyPublisher implements BodyPublisher {
+    private final List<ByteBuffer> chunks;
+    private final long contentLength;
+
+    BulkBodyPublisher(List<ByteBuffer> chunks, long contentLength) {
+        this.chunks = chunks;
+        this.contentLength = contentLength;
+    }
+
+    @Override
+    public long contentLength() {
+        return contentLength;
+    }
+
+    @Override
+    public void subscribe(Flow.Subscriber<? super ByteBuffer> subscriber) {
+        subscriber.onSubscribe(new ChunksSubscription(subscriber));
+    }
+
+    private class ChunksSubscription implements Flow.Subscription {
+        private final Flow.Subscriber<? super ByteBuffer> subscriber;
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger wip = new AtomicInteger();
+        private volatile boolean isCancelled;
+        private boolean isCompleted;
+        private int next;
+
+        ChunksSubscription(Flow.Subscriber<? super ByteBuffer> subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (isCancelled) return;
+            if (n <= 0) {
+                isCancelled = true;
+                subscriber.onError(new IllegalArgumentException("Non-positive request: " + n));
+                return;
+            }
+            demand.getAndAccumulate(n, (a, b) -> a + b < 0 ? Long.MAX_VALUE : a + b);
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            isCancelled = true;
+        }
+
+        /** Subscriber may request more from inside onNext so we make sure to not recurse */
+        private void drain() {
+            if (wip.getAndIncrement() != 0) return;
+            do {
+                while (!isCancelled && next < chunks.size() && demand.get() > 0) {
+                    demand.decrementAndGet();
+                    subscriber.onNext(chunks.get(next++).asReadOnlyBuffer());
+                }
+                if (!isCancelled && !isCompleted && next == chunks.size()) {
+                    isCompleted = true;
+                    subscriber.onComplete();
+                }
+            } while (wip.decrementAndGet() != 0);
+        }
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import id.xfunction.logging.XLogger;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.function.Function;
+
+/**
+ * Sends bulk bodies concurrently keeping number of in-flight requests below the limit. Bodies which
+ * cannot be sent immediately wait in the queue.
+ *
+ * <p>Thread safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+class BulkDispatcher {
+    private static final XLogger LOGGER = XLogger.getLogger(BulkDispatcher.class.getName());
+    private final Function<BulkBody, CompletableResultCode> send;
+    private final int maxInFlight;
+    private final Queue<Runnable> pending = new ArrayDeque<>();
+    private int inFlight;
+
+    BulkDispatcher(Function<BulkBody, CompletableResultCode> send, int maxInFlight) {
+        this.send = send;
+        this.maxInFlight = maxInFlight;
+    }
+
+    /** Starts new export. All bodies of the same export should be submitted through it. */
+    Export newExport() {
+        return new Export();
+    }
+
+    private void dispatch(Runnable request) {
+        synchronized (this) {
+            if (inFlight >= maxInFlight) {
+                pending.add(request);
+                return;
+            }
+            inFlight++;
+        }
+        request.run();
+    }
+
+    private void onRequestCompleted() {
+        Runnable next;
+        synchronized (this) {
+            next = pending.poll();
+            if (next == null) {
+                inFlight--;
+                return;
+            }
+        }
+        next.run();
+    }
+
+    /**
+     * Tracks all bulk requests which belong to the same export.
+     *
+     * @author lambdaprime intid@protonmail.com
+     */
+    class Export {
+        private final CompletableResultCode result = new CompletableResultCode();
+        private int submittedRequests;
+        private int completedRequests;
+        private int failedRequests;
+        private int totalDocuments;
+        private int failedDocuments;
+        private boolean isClosed;
+        private boolean isCompleted;
+
+        void submit(BulkBody body) {
+            var documents = body.documents();
+            synchronized (this) {
+                if (isClosed) throw new IllegalStateException("Export is already closed");
+                submittedRequests++;
+                totalDocuments += documents;
+            }
+            dispatch(() -> sendBody(body, documents));
+        }
+
+        /**
+         * No more bodies will be submitted.
+         *
+         * @return result which completes when all submitted bodies are sent
+         */
+        CompletableResultCode close() {
+            synchronized (this) {
+                isClosed = true;
+            }
+            tryComplete();
+            return result;
+        }
+
+        private void sendBody(BulkBody body, int documents) {
+            CompletableResultCode code;
+            try {
+                code = send.apply(body);
+            } catch (RuntimeException e) {
+                LOGGER.severe(e);
+                body.release();
+                code = CompletableResultCode.ofFailure();
+            }
+            var c = code;
+            code.whenComplete(
+                    () -> {
+                        synchronized (this) {
+                            completedRequests++;
+                            if (!c.isSuccess()) {
+                                failedRequests++;
+                                // some documents of the request could still be accepted
+                                failedDocuments +=
+                                        c.getFailureThrowable() instanceof BulkExportException e
+                                                ? e.getFailedDocuments()
+                                                : documents;
+                            }
+                        }
+                        tryComplete();
+                        onRequestCompleted();
+                    });
+        }
+
+        private void tryComplete() {
+            BulkExportException ex = null;
+            synchronized (this) {
+                if (!isClosed || completedRequests < submittedRequests || isCompleted) return;
+                isCompleted = true;
+                if (failedRequests != 0)
+                    ex =
+                            new BulkExportException(
+                                    failedRequests,
+                                    submittedRequests,
+                                    failedDocuments,
+                                    totalDocuments);
+            }
+            if (ex == null) {
+                result.succeed();
+                return;
+            }
+            if (submittedRequests > 1) LOGGER.severe(ex.getMessage());
+            result.failExceptionally(ex);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+/**
+ * Failure of one export which was split into multiple bulk requests. Available through {@link
+ * io.opentelemetry.sdk.common.CompletableResultCode#getFailureThrowable()}
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class BulkExportException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final int failedRequests;
+    private final int totalRequests;
+    private final int failedDocuments;
+    private final int totalDocuments;
+
+    public BulkExportException(
+            int failedRequests, int totalRequests, int failedDocuments, int totalDocuments) {
+        super(
+                String.format(
+                        "Failed to send %d of %d bulk requests (%d of %d documents)",
+                        failedRequests, totalRequests, failedDocuments, totalDocuments));
+        this.failedRequests = failedRequests;
+        this.totalRequests = totalRequests;
+        this.failedDocuments = failedDocuments;
+        this.totalDocuments = totalDocuments;
+    }
+
+    public int getFailedRequests() {
+        return failedRequests;
+    }
+
+    public int getTotalRequests() {
+        return totalRequests;
+    }
+
+    public int getFailedDocuments() {
+        return failedDocuments;
+    }
+
+    public int getTotalDocuments() {
+        return totalDocuments;
+    }
+
+    /** True when some of the documents were sent successfully */
+    public boolean isPartial() {
+        return failedDocuments < totalDocuments;
+    }
+}
@@ -0,0 +1,292 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodySubscriber;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Flow.Subscription;
+
+/**
+ * Incremental parser of <a
+ * href="https://www.elastic.co/guide/en/elasticsearch/reference/current/docs-bulk.html#bulk-api-response-body">Bulk
+ * API response</a>.
+ *
+ * <p>Response is parsed as it arrives without buffering it. Only "errors" flag and "status" of each
+ * of the "items" are extracted, everything else is skipped. When "errors" is false, rest of the
+ * response is not parsed at all.
+ *
+ * <p>Item statuses 429 (too many requests) and 5xx are considered transient and such items can be
+ * retried. All other failed items are rejected permanently (mapping errors etc).
+ *
+ * <p>Not thread safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+class BulkResponseParser {
+    private static final int MAX_PREVIEW = 1024;
+    private static final int MAX_KEY = 16;
+    private static final int MAX_ERROR_TYPE = 128;
+
+    /** Path to the item status: root / "items" / item / action / "status" */
+    private static final int ITEMS_DEPTH = 2;
+
+    private static final int ITEM_DEPTH = 3;
+    private static final int ACTION_DEPTH = 4;
+    private static final int ERROR_DEPTH = 5;
+
+    private enum Target {
+        NONE,
+        ERRORS,
+        STATUS,
+        ERROR_TYPE
+    }
+
+    private final byte[] preview = new byte[MAX_PREVIEW];
+    private int previewLength;
+    private final StringBuilder key = new StringBuilder();
+    private final StringBuilder errorType = new StringBuilder();
+    private boolean[] isObject = new boolean[16];
+    private int depth;
+    private boolean inString;
+    private boolean isEscape;
+    private boolean expectKey;
+    private boolean isKey;
+    private boolean inItems;
+    private boolean inError;
+    private boolean inLiteral;
+    private Target target = Target.NONE;
+    private Boolean errors;
+    private int items;
+    private int status;
+    private int failedItems;
+    private final BitSet retryableItems = new BitSet();
+    private String firstErrorType;
+
+    /** Handler which parses only successful (HTTP 200) responses */
+    static BodyHandler<BulkResponseParser> bodyHandler() {
+        return info -> new Subscriber(new BulkResponseParser(), info.statusCode() == 200);
+    }
+
+    void parse(ByteBuffer buf) {
+        while (buf.hasRemaining()) {
+            if (isSkipping()) {
+                buf.position(buf.limit());
+                return;
+            }
+            parse(buf.get());
+        }
+    }
+
+    /** True when "errors" is false and so there is nothing else to parse */
+    private boolean isSkipping() {
+        return errors == Boolean.FALSE;
+    }
+
+    private void parse(byte b) {
+        if (inString) {
+            if (isEscape) isEscape = false;
+            else if (b == '\\') isEscape = true;
+            else if (b == '"') onStringEnd();
+            else if (isKey) {
+                if (key.length() < MAX_KEY) key.append((char) b);
+            } else if (target == Target.ERROR_TYPE) {
+                if (errorType.length() < MAX_ERROR_TYPE) errorType.append((char) b);
+            }
+            return;
+        }
+        switch (b) {
+            case '{' -> {
+                push(true);
+                expectKey = true;
+                if (depth == ITEM_DEPTH && inItems) {
+                    items++;
+                    status = 0;
+                }
+                if (depth == ERROR_DEPTH && inItems && equalsKey("error")) inError = true;
+            }
+            case '[' -> {
+                push(false);
+                if (depth == ITEMS_DEPTH && equalsKey("items")) inItems = true;
+            }
+            case '}', ']' -> {
+                endValue();
+                if (depth == ITEM_DEPTH && inItems) onItemEnd();
+                if (depth == ITEMS_DEPTH) inItems = false;
+                if (depth == ERROR_DEPTH) inError = false;
+                depth--;
+                expectKey = false;
+            }
+            case '"' -> {
+                inString = true;
+                isKey = expectKey;
+                if (isKey) key.setLength(0);
+            }
+            case ':' -> {
+                expectKey = false;
+                if (depth == 1 && equalsKey("errors")) target = Target.ERRORS;
+                else if (depth == ACTION_DEPTH && inItems && equalsKey("status"))
+                    target = Target.STATUS;
+                else if (depth == ERROR_DEPTH && inError && equalsKey("type"))
+                    target = firstErrorType == null ? Target.ERROR_TYPE : Target.NONE;
+            }
+            case ',' -> {
+                endValue();
+                expectKey = isObject[depth];
+            }
+            case ' ', '\t', '\r', '\n' -> endValue();
+            default -> {
+                inLiteral = true;
+                switch (target) {
+                    case ERRORS -> {
+                        errors = b == 't';
+                        target = Target.NONE;
+                    }
+                    case STATUS -> {
+                        if (b >= '0' && b <= '9') status = status * 10 + (b - '0');
+                        else target = Target.NONE;
+                    }
+                    case ERROR_TYPE -> target = Target.NONE;
+                    default -> {}
+                }
+            }
+        }
+    }
+
+    private void push(boolean object) {
+        endValue();
+        depth++;
+        if (depth == isObject.length) isObject = Arrays.copyOf(isObject, depth * 2);
+        isObject[depth] = object;
+    }
+
+    private void onStringEnd() {
+        inString = false;
+        if (isKey) return;
+        if (target == Target.ERROR_TYPE) firstErrorType = errorType.toString();
+        target = Target.NONE;
+    }
+
+    /** Ends current literal value (number, boolean, null) */
+    private void endValue() {
+        if (!inLiteral) return;
+        inLiteral = false;
+        target = Target.NONE;
+    }
+
+    private void onItemEnd() {
+        if (status >= 200 && status < 300) return;
+        failedItems++;
+        if (isRetryable(status)) retryableItems.set(items - 1);
+    }
+
+    private boolean equalsKey(String name) {
+        return name.contentEquals(key);
+    }
+
+    static boolean isRetryable(int statusCode) {
+        return statusCode == 429 || statusCode >= 500;
+    }
+
+    /** True if at least one of the items failed */
+    boolean hasErrors() {
+        return errors != Boolean.FALSE && failedItems > 0;
+    }
+
+    /** Number of items found in the response */
+    int items() {
+        return items;
+    }
+
+    int failedItems() {
+        return failedItems;
+    }
+
+    /** Indexes of items which failed with transient errors */
+    BitSet retryableItems() {
+        return retryableItems;
+    }
+
+    /** Error type of the first failed item, if any */
+    String firstErrorType() {
+        return firstErrorType;
+    }
+
+    /** Beginning of the response, used for logging */
+    String preview() {
+        return new String(preview, 0, previewLength, StandardCharsets.UTF_8);
+    }
+
+    private void appendPreview(ByteBuffer buf) {
+        var n = Math.min(buf.remaining(), MAX_PREVIEW - previewLength);
+        buf.duplicate().get(preview, previewLength, n);
+        previewLength += n;
+    }
+
+    /**
+     * @author lambdaprime intid@protonmail.com
+     */
+    private static class Subscriber implements BodySubscriber<BulkResponseParser> {
+        private final CompletableFuture<BulkResponseParser> result = new CompletableFuture<>();
+        private final BulkResponseParser parser;
+        private final boolean isParsing;
+
+        Subscriber(BulkResponseParser parser, boolean isParsing) {
+            this.parser = parser;
+            this.isParsing = isParsing;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(List<ByteBuffer> item) {
+            try {
+                for (var buf : item) {
+                    parser.appendPreview(buf);
+                    if (isParsing) parser.parse(buf);
+                }
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            result.completeExceptionally(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            result.complete(parser);
+        }
+
+        @Override
+        public CompletionStage<BulkResponseParser> getBody() {
+            return result;
+        }
+    }
+}
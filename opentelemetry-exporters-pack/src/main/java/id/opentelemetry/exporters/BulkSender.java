@@ -0,0 +1,368 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import id.xfunction.logging.XLogger;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.http.HttpClient;
+import java.net.http.HttpConnectTimeoutException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.BitSet;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Sends bulk bodies to Elasticsearch and checks status of each document in the response.
+ *
+ * <p>Requests which failed due to connection problems or overloaded cluster, as well as documents
+ * which Elasticsearch rejected with transient errors, are resent after a backoff delay. Retries are
+ * scheduled on a separate thread so that caller thread is never blocked. Request which failed
+ * because its node is not reachable is first sent to the other nodes without any delay.
+ *
+ * <p>Thread safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+class BulkSender implements AutoCloseable {
+    private static final XLogger LOGGER = XLogger.getLogger(BulkSender.class.getName());
+    private final HttpClient client;
+    private final NodeSelector nodes;
+    private final ElasticsearchMetricExporterConfiguration config;
+    private final Supplier<BulkBody> bodyFactory;
+    private final Optional<BulkSpool> spool;
+    private final Optional<BulkSpoolDrainer> drainer;
+    private final ExporterStats stats;
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(
+                    r -> {
+                        var thread = new Thread(r, "elasticsearch-exporter-retry");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+
+    /**
+     * @param bodyFactory used to create bodies for the documents which need to be resent
+     * @param spool where to store bodies which could not be sent
+     * @param stats where to record requests, retried and dropped documents
+     */
+    BulkSender(
+            HttpClient client,
+            NodeSelector nodes,
+            ElasticsearchMetricExporterConfiguration config,
+            Supplier<BulkBody> bodyFactory,
+            Optional<BulkSpool> spool,
+            ExporterStats stats) {
+        this.client = client;
+        this.nodes = nodes;
+        this.config = config;
+        this.bodyFactory = bodyFactory;
+        this.spool = spool;
+        this.stats = stats;
+        drainer =
+                spool.map(
+                        s ->
+                                new BulkSpoolDrainer(
+                                        s,
+                                        this::replay,
+                                        config.retryInitialBackoff(),
+                                        config.retryMaxBackoff()));
+        drainer.ifPresent(BulkSpoolDrainer::start);
+    }
+
+    /**
+     * Sends the body and releases it once it is not needed anymore.
+     *
+     * @return result which fails with {@link BulkExportException} if any of the documents could not
+     *     be sent
+     */
+    CompletableResultCode send(BulkBody body) {
+        var request = new Request(body.documents(), false);
+        if (spool.isPresent() && !spool.get().isEmpty()) request.spoolOrDrop(body);
+        else request.send(body);
+        return request.result;
+    }
+
+    /**
+     * Sends the body from the spool once, without retries.
+     *
+     * @return result which fails without exception if body should be replayed again later
+     */
+    private CompletableResultCode replay(BulkBody body) {
+        var request = new Request(body.documents(), true);
+        request.send(body);
+        return request.result;
+    }
+
+    @Override
+    public void close() {
+        drainer.ifPresent(BulkSpoolDrainer::close);
+        // already scheduled retries are still executed
+        scheduler.shutdown();
+        spool.ifPresent(BulkSpool::close);
+    }
+
+    private static boolean isRetryableStatus(int statusCode) {
+        return statusCode == 429 || statusCode == 502 || statusCode == 503 || statusCode == 504;
+    }
+
+    private static Throwable unwrap(Throwable ex) {
+        return ex instanceof CompletionException e && e.getCause() != null ? e.getCause() : ex;
+    }
+
+    private static void logException(Throwable ex) {
+        if (ex instanceof ConnectException e) {
+            LOGGER.severe("Could not send metrics due to connection problems");
+        } else if (ex instanceof HttpConnectTimeoutException e) {
+            LOGGER.severe("HTTP connection timeout: {0}", e.getMessage());
+        } else if (ex instanceof InterruptedException e) {
+            LOGGER.severe("Interrupted: {0}", e.getMessage());
+        } else if (ex instanceof IOException e) {
+            LOGGER.severe(e);
+        } else {
+            LOGGER.severe("Sending metrics error: {0}", ex.getMessage());
+        }
+    }
+
+    /**
+     * Copies given documents to the new body
+     *
+     * @param documents indexes of documents to copy
+     */
+    private BulkBody copyDocuments(BulkBody body, BitSet documents) {
+        var copy = bodyFactory.get();
+        var buf = new byte[8192];
+        // each document consists of two lines: action and source
+        var line = 0;
+        try (var in = body.newInputStream()) {
+            int n;
+            while ((n = in.read(buf)) > 0) {
+                var start = 0;
+                for (int i = 0; i < n; i++) {
+                    if (buf[i] != '\n') continue;
+                    if (documents.get(line / 2)) {
+                        copy.write(buf, start, i + 1 - start);
+                        if (line % 2 == 1) copy.endDocument();
+                    }
+                    start = i + 1;
+                    line++;
+                }
+                if (start < n && documents.get(line / 2)) copy.write(buf, start, n - start);
+            }
+        } catch (IOException e) {
+            copy.release();
+            throw new UncheckedIOException(e);
+        }
+        return copy.seal();
+    }
+
+    /**
+     * State of one bulk request across all its retries
+     *
+     * @author lambdaprime intid@protonmail.com
+     */
+    private class Request {
+        private final CompletableResultCode result = new CompletableResultCode();
+        private final int totalDocuments;
+        private final boolean isReplay;
+        private int failedDocuments;
+        private int attempt;
+        private int failovers;
+
+        Request(int totalDocuments, boolean isReplay) {
+            this.totalDocuments = totalDocuments;
+            this.isReplay = isReplay;
+        }
+
+        void send(BulkBody body) {
+            var node = nodes.select();
+            var builder =
+                    HttpRequest.newBuilder(node.addBulkApi())
+                            .POST(body.publisher())
+                            .header("Content-Type", "application/json");
+            if (body.isCompressed()) builder.header("Content-Encoding", "gzip");
+            if (config.timeout() != Duration.ZERO) builder.timeout(config.timeout());
+            var documents = body.documents();
+            LOGGER.fine("Sending {0} documents to {1}", documents, node);
+            var startNanos = System.nanoTime();
+            client.sendAsync(builder.build(), BulkResponseParser.bodyHandler())
+                    .whenComplete(
+                            (response, ex) -> {
+                                if (ex == null) nodes.onSuccess(node);
+                                else nodes.onFailure(node, NodeSelector.isNodeFailure(unwrap(ex)));
+                                stats.recordRequest(
+                                        response == null ? 0 : response.statusCode(),
+                                        System.nanoTime() - startNanos);
+                                LOGGER.fine("{0} documents sent", documents);
+                                try {
+                                    onResponse(body, response, ex);
+                                } catch (RuntimeException e) {
+                                    LOGGER.severe(e);
+                                    body.release();
+                                    complete(Math.min(documents, totalDocuments - failedDocuments));
+                                }
+                            });
+        }
+
+        private void onResponse(
+                BulkBody body, HttpResponse<BulkResponseParser> response, Throwable ex) {
+            if (ex != null) {
+                ex = unwrap(ex);
+                logException(ex);
+                if (NodeSelector.isNodeFailure(ex) && failovers < nodes.size() - 1) {
+                    // try another node right away, without using up the retries
+                    failovers++;
+                    send(body);
+                    return;
+                }
+                retryRequest(body);
+                return;
+            }
+            var parser = response.body();
+            var statusCode = response.statusCode();
+            if (statusCode != 200) {
+                LOGGER.severe(
+                        "Failed to send metrics to ElasticSearch, response code {0}: {1}",
+                        statusCode, parser.preview());
+                if (isRetryableStatus(statusCode)) retryRequest(body);
+                else drop(body);
+                return;
+            }
+            if (!parser.hasErrors()) {
+                body.release();
+                complete(0);
+                return;
+            }
+            if (parser.items() != body.documents()) {
+                LOGGER.severe(
+                        "Expected {0} items in bulk response but received {1}",
+                        body.documents(), parser.items());
+                drop(body);
+                return;
+            }
+            var retryable = parser.retryableItems();
+            var rejected = parser.failedItems() - retryable.cardinality();
+            LOGGER.severe(
+                    "ElasticSearch rejected {0} of {1} documents ({2} of them can be retried),"
+                            + " first error: {3}",
+                    parser.failedItems(),
+                    parser.items(),
+                    retryable.cardinality(),
+                    parser.firstErrorType());
+            failedDocuments += rejected;
+            if (retryable.isEmpty()) {
+                body.release();
+                complete(0);
+                return;
+            }
+            BulkBody retryBody;
+            try {
+                retryBody = copyDocuments(body, retryable);
+            } catch (RuntimeException e) {
+                LOGGER.severe(e);
+                body.release();
+                complete(retryable.cardinality());
+                return;
+            }
+            body.release();
+            if (isReplay) spoolOrDrop(retryBody);
+            else retry(retryBody);
+        }
+
+        /** Whole request failed due to transient error */
+        private void retryRequest(BulkBody body) {
+            if (!isReplay) {
+                retry(body);
+                return;
+            }
+            // keep it in the spool
+            body.release();
+            result.fail();
+        }
+
+        /** Resends the body after backoff delay or gives up on it */
+        private void retry(BulkBody body) {
+            if (attempt >= config.maxRetries()) {
+                if (config.maxRetries() > 0)
+                    LOGGER.severe("No retries left for {0} documents", body.documents());
+                spoolOrDrop(body);
+                return;
+            }
+            var delay = backoffMillis(attempt++);
+            failovers = 0;
+            var documents = body.documents();
+            LOGGER.fine("Retrying {0} documents in {1}ms", documents, delay);
+            try {
+                scheduler.schedule(() -> send(body), delay, TimeUnit.MILLISECONDS);
+                stats.recordRetriedDocuments(documents);
+            } catch (RejectedExecutionException e) {
+                LOGGER.severe(
+                        "Exporter is shut down, cannot retry {0} documents", body.documents());
+                spoolOrDrop(body);
+            }
+        }
+
+        private long backoffMillis(int attempt) {
+            var max = config.retryMaxBackoff().toMillis();
+            var delay =
+                    Math.min(max, config.retryInitialBackoff().toMillis() << Math.min(attempt, 30));
+            if (delay <= 0) return 0;
+            return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+        }
+
+        /** Stores the body to the spool so that it is sent later, if possible */
+        private void spoolOrDrop(BulkBody body) {
+            if (spool.isEmpty() || !spool.get().append(body)) {
+                drop(body);
+                return;
+            }
+            LOGGER.fine("{0} documents were stored to the spool", body.documents());
+            body.release();
+            complete(0);
+        }
+
+        /** Releases the body and completes the request with all its documents lost */
+        private void drop(BulkBody body) {
+            var documents = body.documents();
+            body.release();
+            complete(documents);
+        }
+
+        /** Completes the request with given number of lost documents */
+        private void complete(int lostDocuments) {
+            failedDocuments += lostDocuments;
+            if (failedDocuments == 0) {
+                result.succeed();
+                return;
+            }
+            stats.recordDroppedDocuments(failedDocuments);
+            result.failExceptionally(
+                    new BulkExportException(1, 1, failedDocuments, totalDocuments));
+        }
+    }
+}
@@ -0,0 +1,357 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import id.xfunction.logging.XLogger;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Optional;
+
+/**
+ * Append-only log of bulk bodies stored in memory-mapped segment files.
+ *
+ * <p>Spool directory contains fixed size segment files "N.segment" and "offsets" file. Each segment
+ * starts with a header which holds its sequence number, so segments are replayed in the order of
+ * their sequence numbers and not file names. Segments which were fully drained are reused for new
+ * records instead of being deleted. When spool reaches its maximum size the oldest segment is
+ * dropped.
+ *
+ * <p>Record consists of the header (length, number of documents, flags) followed by the body
+ * content as it was sent (gzipped or not). Record is committed by writing its length last, after
+ * its content and the terminator (zero length) which follows it. This way after a crash the segment
+ * is always read up to the last fully written record. Position of the next record to replay is kept
+ * in the "offsets" file and it is updated each time a record is {@link #commit(Entry) committed}.
+ *
+ * <p>Nothing is forced to the disk on append, so spool survives crashes of the process but not of
+ * the OS.
+ *
+ * <p>Thread safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+class BulkSpool implements AutoCloseable {
+    private static final XLogger LOGGER = XLogger.getLogger(BulkSpool.class.getName());
+    private static final int MAGIC = 0x0b5b0001;
+    private static final String SEGMENT_SUFFIX = ".segment";
+
+    /** Segment header: magic, sequence number */
+    private static final int SEGMENT_HEADER = 12;
+
+    /** Record header: length, documents, flags */
+    private static final int RECORD_HEADER = 9;
+
+    private static final int TERMINATOR = 4;
+    private static final byte FLAG_COMPRESSED = 1;
+
+    /** Offsets file: sequence number, position, checksum */
+    private static final int OFFSETS_SIZE = 16;
+
+    /**
+     * Record read from the spool
+     *
+     * @param body copy of the record content which is owned by the caller
+     */
+    record Entry(long sequence, int position, int next, BulkBody body) {}
+
+    private final Path dir;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final ByteBufferPool pool;
+
+    /** Segments with records, ordered by sequence number */
+    private final Deque<Segment> segments = new ArrayDeque<>();
+
+    private final Deque<Segment> free = new ArrayDeque<>();
+    private final MappedByteBuffer offsets;
+    private int files;
+    private int nextSlot;
+    private long nextSequence;
+
+    /** Position of the next record to read in the first segment */
+    private int readPosition;
+
+    private boolean isClosed;
+
+    BulkSpool(Path dir, long maxSizeInBytes, int segmentSizeInBytes, ByteBufferPool pool) {
+        this.dir = dir;
+        this.segmentSize = segmentSizeInBytes;
+        this.maxSegments = (int) Math.max(2, maxSizeInBytes / segmentSizeInBytes);
+        this.pool = pool;
+        try {
+            Files.createDirectories(dir);
+            offsets = map(dir.resolve("offsets"), OFFSETS_SIZE);
+            recover();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open spool " + dir, e);
+        }
+    }
+
+    /**
+     * @return false if body could not be stored
+     */
+    synchronized boolean append(BulkBody body) {
+        if (isClosed) return false;
+        var length = (int) body.contentLength();
+        var recordSize = RECORD_HEADER + length + TERMINATOR;
+        if (recordSize > segmentSize - SEGMENT_HEADER) {
+            LOGGER.severe(
+                    "Bulk body of {0} bytes does not fit into spool segment, dropping it", length);
+            return false;
+        }
+        var segment = segments.peekLast();
+        try {
+            if (segment == null || segment.writePosition + recordSize > segmentSize)
+                segment = nextSegment();
+        } catch (IOException e) {
+            LOGGER.severe(e);
+            return false;
+        }
+        var buf = segment.buf;
+        var position = segment.writePosition;
+        body.copyTo(buf.slice(position + RECORD_HEADER, length));
+        buf.putInt(position + 4, body.documents());
+        buf.put(position + 8, body.isCompressed() ? FLAG_COMPRESSED : 0);
+        buf.putInt(position + RECORD_HEADER + length, 0);
+        buf.putInt(position, length);
+        segment.writePosition = position + RECORD_HEADER + length;
+        notifyAll();
+        return true;
+    }
+
+    synchronized boolean isEmpty() {
+        skipDrained();
+        var first = segments.peekFirst();
+        return first == null || readPosition == first.writePosition;
+    }
+
+    /**
+     * Waits until spool has a record and returns a copy of it. Record stays in the spool until it
+     * is {@link #commit(Entry) committed}.
+     */
+    synchronized Optional<Entry> peek(long timeoutMillis) throws InterruptedException {
+        if (isEmpty() && !isClosed) wait(timeoutMillis);
+        if (isEmpty() || isClosed) return Optional.empty();
+        var segment = segments.peekFirst();
+        var buf = segment.buf;
+        var length = buf.getInt(readPosition);
+        var documents = buf.getInt(readPosition + 4);
+        var isCompressed = (buf.get(readPosition + 8) & FLAG_COMPRESSED) != 0;
+        var body =
+                BulkBody.restore(
+                        pool,
+                        buf.slice(readPosition + RECORD_HEADER, length),
+                        isCompressed,
+                        documents);
+        return Optional.of(
+                new Entry(
+                        segment.sequence,
+                        readPosition,
+                        readPosition + RECORD_HEADER + length,
+                        body));
+    }
+
+    /** Removes the record from the spool. Ignored if record was already dropped. */
+    synchronized void commit(Entry entry) {
+        var first = segments.peekFirst();
+        if (first == null || first.sequence != entry.sequence() || readPosition != entry.position())
+            return;
+        readPosition = entry.next();
+        skipDrained();
+        saveOffsets();
+    }
+
+    @Override
+    public synchronized void close() {
+        if (isClosed) return;
+        isClosed = true;
+        segments.forEach(s -> s.buf.force());
+        offsets.force();
+        notifyAll();
+    }
+
+    /** Moves drained segments to the free list */
+    private void skipDrained() {
+        while (segments.size() > 1 && readPosition == segments.peekFirst().writePosition) {
+            free.add(segments.pollFirst());
+            readPosition = SEGMENT_HEADER;
+        }
+    }
+
+    private Segment nextSegment() throws IOException {
+        var segment = free.poll();
+        if (segment == null && files < maxSegments) {
+            segment = new Segment(nextSlot, map(segmentPath(nextSlot), segmentSize));
+            nextSlot++;
+            files++;
+        }
+        if (segment == null) {
+            segment = segments.pollFirst();
+            LOGGER.warning(
+                    "Spool is full, dropping {0} documents", segment.documents(readPosition));
+            readPosition = SEGMENT_HEADER;
+            saveOffsets();
+        }
+        segment.init(nextSequence++);
+        segments.addLast(segment);
+        if (segments.size() == 1) readPosition = SEGMENT_HEADER;
+        return segment;
+    }
+
+    private void recover() throws IOException {
+        var found = new ArrayList<Segment>();
+        try (var stream = Files.list(dir)) {
+            for (var path : stream.toList()) {
+                var name = path.getFileName().toString();
+                if (!name.endsWith(SEGMENT_SUFFIX)) continue;
+                int slot;
+                try {
+                    slot =
+                            Integer.parseInt(
+                                    name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+                } catch (NumberFormatException e) {
+                    continue;
+                }
+                if (Files.size(path) != segmentSize) {
+                    LOGGER.warning("Ignoring segment {0} of different size", path);
+                    continue;
+                }
+                found.add(new Segment(slot, map(path, segmentSize)));
+                nextSlot = Math.max(nextSlot, slot + 1);
+                files++;
+            }
+        }
+        found.sort(Comparator.comparingLong(s -> s.sequence));
+        for (var segment : found) {
+            if (!segment.isValid()) {
+                free.add(segment);
+                continue;
+            }
+            nextSequence = Math.max(nextSequence, segment.sequence + 1);
+            if (segment.recover() > SEGMENT_HEADER) segments.add(segment);
+            else free.add(segment);
+        }
+        readPosition = SEGMENT_HEADER;
+        var sequence = offsets.getLong(0);
+        var position = offsets.getInt(8);
+        if (offsets.getInt(12) != checksum(sequence, position)) return;
+        while (!segments.isEmpty() && segments.peekFirst().sequence < sequence)
+            free.add(segments.pollFirst());
+        var first = segments.peekFirst();
+        if (first != null && first.sequence == sequence && position <= first.writePosition)
+            readPosition = position;
+        skipDrained();
+        if (!isEmpty()) LOGGER.info("Recovered spool {0}", dir);
+    }
+
+    private void saveOffsets() {
+        var first = segments.peekFirst();
+        var sequence = first == null ? 0 : first.sequence;
+        offsets.putLong(0, sequence);
+        offsets.putInt(8, readPosition);
+        offsets.putInt(12, checksum(sequence, readPosition));
+    }
+
+    private static int checksum(long sequence, int position) {
+        return Long.hashCode(sequence * 31 + position) ^ MAGIC;
+    }
+
+    private Path segmentPath(int slot) {
+        return dir.resolve(slot + SEGMENT_SUFFIX);
+    }
+
+    private static MappedByteBuffer map(Path path, int size) throws IOException {
+        try (var channel =
+                FileChannel.open(
+                        path,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.READ,
+                        StandardOpenOption.WRITE)) {
+            return channel.map(MapMode.READ_WRITE, 0, size);
+        }
+    }
+
+    /**
+     * @author lambdaprime intid@protonmail.com
+     */
+    private static class Segment {
+        final int slot;
+        final MappedByteBuffer buf;
+        long sequence;
+        int writePosition;
+
+        Segment(int slot, MappedByteBuffer buf) {
+            this.slot = slot;
+            this.buf = buf;
+            sequence = buf.getLong(4);
+        }
+
+        boolean isValid() {
+            return buf.getInt(0) == MAGIC;
+        }
+
+        /** Starts new segment, all previous records are discarded */
+        void init(long sequence) {
+            this.sequence = sequence;
+            buf.putInt(SEGMENT_HEADER, 0);
+            buf.putLong(4, sequence);
+            buf.putInt(0, MAGIC);
+            writePosition = SEGMENT_HEADER;
+        }
+
+        /**
+         * Finds the end of the last committed record
+         *
+         * @return write position
+         */
+        int recover() {
+            writePosition = SEGMENT_HEADER;
+            while (true) {
+                var length = buf.getInt(writePosition);
+                var next = writePosition + RECORD_HEADER + length;
+                if (length <= 0 || next + TERMINATOR > buf.capacity()) break;
+                writePosition = next;
+            }
+            return writePosition;
+        }
+
+        /** Number of documents in records starting from the given position */
+        int documents(int position) {
+            var documents = 0;
+            while (position < writePosition) {
+                documents += buf.getInt(position + 4);
+                position += RECORD_HEADER + buf.getInt(position);
+            }
+            return documents;
+        }
+
+        @Override
+        public String toString() {
+            return "Segment[slot=" + slot + ", sequence=" + sequence + "]";
+        }
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import id.xfunction.logging.XLogger;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Background thread which replays records of {@link BulkSpool} in order.
+ *
+ * <p>Record is removed from the spool only after Elasticsearch received it. If Elasticsearch is
+ * still unavailable the drainer waits with exponential backoff before trying the same record again.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+class BulkSpoolDrainer implements AutoCloseable {
+    private static final XLogger LOGGER = XLogger.getLogger(BulkSpoolDrainer.class.getName());
+    private static final long POLL_INTERVAL_MILLIS = 1000;
+    private static final long CLOSE_TIMEOUT_MILLIS = 5000;
+    private final BulkSpool spool;
+    private final Function<BulkBody, CompletableResultCode> replay;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final Thread thread;
+    private volatile boolean isClosed;
+    private boolean isReplaying;
+
+    /**
+     * @param replay sends the body once and fails without exception if it should be replayed again
+     */
+    BulkSpoolDrainer(
+            BulkSpool spool,
+            Function<BulkBody, CompletableResultCode> replay,
+            Duration initialBackoff,
+            Duration maxBackoff) {
+        this.spool = spool;
+        this.replay = replay;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        thread = new Thread(this::run, "elasticsearch-exporter-spool-drainer");
+        thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    private void run() {
+        var backoff = initialBackoff.toMillis();
+        try {
+            while (!isClosed) {
+                var entry = spool.peek(POLL_INTERVAL_MILLIS);
+                if (entry.isEmpty()) continue;
+                synchronized (this) {
+                    if (isClosed) {
+                        entry.get().body().release();
+                        break;
+                    }
+                    isReplaying = true;
+                }
+                CompletableResultCode result;
+                try {
+                    result = replay.apply(entry.get().body());
+                } catch (RuntimeException e) {
+                    LOGGER.severe(e);
+                    entry.get().body().release();
+                    result = CompletableResultCode.ofFailure();
+                }
+                result.join(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+                synchronized (this) {
+                    isReplaying = false;
+                }
+                if (result.isSuccess() || result.getFailureThrowable() != null) {
+                    // sent or rejected by Elasticsearch, in both cases there is no need to keep it
+                    spool.commit(entry.get());
+                    backoff = initialBackoff.toMillis();
+                    continue;
+                }
+                LOGGER.fine("Elasticsearch is still unavailable, next replay in {0}ms", backoff);
+                Thread.sleep(backoff);
+                backoff = Math.min(maxBackoff.toMillis(), Math.max(1, backoff * 2));
+            }
+        } catch (InterruptedException e) {
+            LOGGER.fine("Interrupted");
+        }
+    }
+
+    /**
+     * Stops the drainer. Replay which is in progress is given some time to complete, so that it is
+     * not replayed again next time.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            isClosed = true;
+            if (!isReplaying) thread.interrupt();
+        }
+        try {
+            thread.join(CLOSE_TIMEOUT_MILLIS);
+            thread.interrupt();
+        } catch (InterruptedException e) {
+            LOGGER.severe("Interrupted while waiting for the drainer to stop");
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Writes documents encoded by {@link NdjsonEncoder} into {@link BulkBody}.
+ *
+ * <p>Once current body reaches one of the configured limits it is passed to the consumer and new
+ * body is started. Document is never split between two bodies.
+ *
+ * <p>Not thread safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+class BulkWriter {
+    static final byte[] CREATE_JSON = "{ \"create\": { } }\n".getBytes(StandardCharsets.UTF_8);
+
+    private final NdjsonEncoder encoder;
+    private final Supplier<BulkBody> bodyFactory;
+    private final long maxBytes;
+    private final int maxDocuments;
+    private final Consumer<BulkBody> consumer;
+    private BulkBody body;
+    private int documents;
+    private long bytes;
+
+    /**
+     * @param consumer receives sealed bodies
+     */
+    BulkWriter(
+            NdjsonEncoder encoder,
+            Supplier<BulkBody> bodyFactory,
+            long maxBytes,
+            int maxDocuments,
+            Consumer<BulkBody> consumer) {
+        this.encoder = encoder;
+        this.bodyFactory = bodyFactory;
+        this.maxBytes = maxBytes;
+        this.maxDocuments = maxDocuments;
+        this.consumer = consumer;
+    }
+
+    NdjsonEncoder encoder() {
+        return encoder;
+    }
+
+    /** Number of documents written so far */
+    int documents() {
+        return documents;
+    }
+
+    /** Uncompressed size of all documents written so far, including their action lines */
+    long bytes() {
+        return bytes;
+    }
+
+    /** Writes action line followed by the document which is currently in the encoder */
+    void writeDocument(byte[] actionLine) {
+        // limits are checked against uncompressed size
+        var docSize = actionLine.length + encoder.size();
+        if (body != null
+                && !body.isEmpty()
+                && (body.size() + docSize > maxBytes || body.documents() >= maxDocuments)) {
+            consumer.accept(body.seal());
+            body = null;
+        }
+        if (body == null) body = bodyFactory.get();
+        body.write(actionLine);
+        encoder.writeTo(body);
+        body.endDocument();
+        documents++;
+        bytes += docSize;
+    }
+
+    /** Passes last body to the consumer (if any) */
+    void flush() {
+        if (body == null) return;
+        if (body.isEmpty()) body.release();
+        else consumer.accept(body.seal());
+        body = null;
+    }
+
+    /** Releases last body without passing it to the consumer */
+    void discard() {
+        if (body != null) body.release();
+        body = null;
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pool of direct {@link ByteBuffer} chunks of the same size.
+ *
+ * <p>Buffers which are released back to the pool are reused by the next exports. Buffers released
+ * when pool already keeps {@link #maxPooled} of them are left for GC.
+ *
+ * <p>Thread safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+class ByteBufferPool {
+    static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+    static final int DEFAULT_MAX_POOLED = 128;
+
+    private final ConcurrentLinkedQueue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pooled = new AtomicInteger();
+    private final int chunkSize;
+    private final int maxPooled;
+
+    ByteBufferPool() {
+        this(DEFAULT_CHUNK_SIZE, DEFAULT_MAX_POOLED);
+    }
+
+    ByteBufferPool(int chunkSize, int maxPooled) {
+        if (chunkSize <= 0) throw new IllegalArgumentException("Chunk size must be positive");
+        this.chunkSize = chunkSize;
+        this.maxPooled = maxPooled;
+    }
+
+    /** Returns empty buffer ready for writing */
+    ByteBuffer acquire() {
+        var buf = free.poll();
+        if (buf == null) return ByteBuffer.allocateDirect(chunkSize);
+        pooled.decrementAndGet();
+        return buf.clear();
+    }
+
+    void release(ByteBuffer buf) {
+        if (buf.capacity() != chunkSize || !buf.isDirect()) return;
+        if (pooled.incrementAndGet() > maxPooled) {
+            pooled.decrementAndGet();
+            return;
+        }
+        free.offer(buf);
+    }
+
+    int chunkSize() {
+        return chunkSize;
+    }
+}
@@ -0,0 +1,221 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import id.xfunction.logging.XLogger;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.PointData;
+import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import io.opentelemetry.sdk.resources.Resource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Metric Exporter decorator which limits number of series (distinct attribute sets) of each metric.
+ *
+ * <p>It protects exporters and the storage behind them from attributes with unbounded number of
+ * values (like request IDs), which otherwise produce new series on each export.
+ *
+ * <p>Exporter remembers fingerprints of attribute sets which it has seen for each metric (8-16
+ * bytes per series). Once metric reaches the limit, points of all new series are merged into single
+ * overflow series with {@link #OVERFLOW_ATTRIBUTES} (sums and histograms are merged, for gauges the
+ * last point is kept) and a warning is reported once for such metric. Series which were seen before
+ * the limit was reached continue to be exported as usual. Limit applies for the lifetime of the
+ * exporter.
+ *
+ * <p>Optionally, actual number of series of each metric can be estimated using HyperLogLog (1KB of
+ * memory per metric). Estimates for metrics which reached the limit are reported on {@link
+ * #shutdown()}.
+ *
+ * <h2>Usage</h2>
+ *
+ * <pre>{@code
+ * var metricReader = PeriodicMetricReader
+ *   .builder(new CardinalityLimitingMetricExporter(elasticsearchExporter, 1000, false))
+ *   .setInterval(Duration.ofSeconds(3))
+ *   .build();
+ * }</pre>
+ *
+ * <p>Thread safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public final class CardinalityLimitingMetricExporter implements MetricExporter {
+    private static final XLogger LOGGER =
+            XLogger.getLogger(CardinalityLimitingMetricExporter.class.getName());
+
+    /** Same as default cardinality limit of OpenTelemetry SDK */
+    public static final int DEFAULT_MAX_SERIES_PER_METRIC = 2000;
+
+    /** Attributes of the overflow series, same as used by OpenTelemetry SDK */
+    public static final Attributes OVERFLOW_ATTRIBUTES =
+            Attributes.of(AttributeKey.booleanKey("otel.metric.overflow"), true);
+
+    private record MetricKey(Resource resource, InstrumentationScopeInfo scope, String name) {}
+
+    /**
+     * @author lambdaprime intid@protonmail.com
+     */
+    private static class MetricState {
+        final AttributesHashSet series = new AttributesHashSet();
+
+        /** Null when estimation is disabled */
+        final HyperLogLog cardinality;
+
+        boolean isOverflown;
+
+        MetricState(boolean estimateCardinality) {
+            cardinality = estimateCardinality ? new HyperLogLog() : null;
+        }
+    }
+
+    private final MetricExporter delegate;
+    private final int maxSeriesPerMetric;
+    private final boolean estimateCardinality;
+    private final Map<MetricKey, MetricState> metrics = new HashMap<>();
+
+    /**
+     * Creates exporter with {@link #DEFAULT_MAX_SERIES_PER_METRIC} limit
+     *
+     * @param delegate exporter which receives limited metrics
+     */
+    public CardinalityLimitingMetricExporter(MetricExporter delegate) {
+        this(delegate, DEFAULT_MAX_SERIES_PER_METRIC, false);
+    }
+
+    /**
+     * @param delegate exporter which receives limited metrics
+     * @param maxSeriesPerMetric max number of series of each metric, not including the overflow
+     *     series
+     * @param estimateCardinality estimate actual number of series of each metric
+     */
+    public CardinalityLimitingMetricExporter(
+            MetricExporter delegate, int maxSeriesPerMetric, boolean estimateCardinality) {
+        if (maxSeriesPerMetric <= 0)
+            throw new IllegalArgumentException("Max series per metric must be positive");
+        this.delegate = delegate;
+        this.maxSeriesPerMetric = maxSeriesPerMetric;
+        this.estimateCardinality = estimateCardinality;
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<MetricData> metrics) {
+        var result = new ArrayList<MetricData>(metrics.size());
+        for (var metric : metrics) result.add(limit(metric));
+        return delegate.export(result);
+    }
+
+    /**
+     * @return same metric if it does not have new series above the limit
+     */
+    private MetricData limit(MetricData metric) {
+        var state = state(metric);
+        var points = metric.getData().getPoints();
+        List<PointData> limited = null;
+        RollupAccumulator overflow = null;
+        var index = 0;
+        for (var point : points) {
+            var attributes = point.getAttributes();
+            var fingerprint = AttributesHashSet.fingerprint(attributes);
+            if (state.cardinality != null) state.cardinality.add(fingerprint);
+            var isOverflow =
+                    attributes.equals(OVERFLOW_ATTRIBUTES)
+                            || !state.series.contains(fingerprint)
+                                    && (state.series.size() >= maxSeriesPerMetric
+                                            || !state.series.add(fingerprint));
+            if (!isOverflow) {
+                if (limited != null) limited.add(point);
+                index++;
+                continue;
+            }
+            if (limited == null) limited = head(points, index);
+            if (overflow == null)
+                overflow = RollupAccumulator.createOverflow(metric, point, OVERFLOW_ATTRIBUTES);
+            else overflow.add(point);
+            if (!state.isOverflown && !attributes.equals(OVERFLOW_ATTRIBUTES)) {
+                state.isOverflown = true;
+                LOGGER.warning(
+                        "Metric {0} exceeded the limit of {1} series, new series are exported as"
+                                + " overflow series",
+                        metric.getName(), maxSeriesPerMetric);
+            }
+        }
+        if (overflow == null) return metric;
+        limited.add(overflow.toPoint());
+        return MetricDataFactory.create(metric, limited);
+    }
+
+    /**
+     * @return first n points
+     */
+    private static List<PointData> head(Collection<? extends PointData> points, int n) {
+        var head = new ArrayList<PointData>(points.size());
+        for (var point : points) {
+            if (head.size() == n) break;
+            head.add(point);
+        }
+        return head;
+    }
+
+    private MetricState state(MetricData metric) {
+        var key =
+                new MetricKey(
+                        metric.getResource(),
+                        metric.getInstrumentationScopeInfo(),
+                        metric.getName());
+        var state = metrics.get(key);
+        if (state == null) {
+            state = new MetricState(estimateCardinality);
+            metrics.put(key, state);
+        }
+        return state;
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return delegate.flush();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        synchronized (this) {
+            for (var entry : metrics.entrySet()) {
+                var state = entry.getValue();
+                if (!state.isOverflown || state.cardinality == null) continue;
+                LOGGER.warning(
+                        "Metric {0} has about {1} series, {2} of them were exported separately",
+                        entry.getKey().name(), state.cardinality.estimate(), state.series.size());
+            }
+        }
+        return delegate.shutdown();
+    }
+
+    @Override
+    public AggregationTemporality getAggregationTemporality(InstrumentType instrumentType) {
+        return delegate.getAggregationTemporality(instrumentType);
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer for the columns of {@link BinaryMetricExporter} blocks. Also has methods to
+ * read values back from {@link ByteBuffer}.
+ *
+ * <p>Integers are written as <a
+ * href="https://protobuf.dev/programming-guides/encoding/">varints</a> (signed ones with zigzag
+ * encoding), so that small values and small deltas take single byte. Fixed size values are written
+ * in big-endian order.
+ *
+ * <p>Not thread safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+class ColumnBuffer {
+    private byte[] buf = new byte[256];
+    private int len;
+
+    int size() {
+        return len;
+    }
+
+    byte[] array() {
+        return buf;
+    }
+
+    void clear() {
+        len = 0;
+    }
+
+    void putByte(int value) {
+        ensureCapacity(1);
+        buf[len++] = (byte) value;
+    }
+
+    void putInt(int value) {
+        ensureCapacity(4);
+        for (int shift = 24; shift >= 0; shift -= 8) buf[len++] = (byte) (value >>> shift);
+    }
+
+    void putLong(long value) {
+        ensureCapacity(8);
+        for (int shift = 56; shift >= 0; shift -= 8) buf[len++] = (byte) (value >>> shift);
+    }
+
+    void putDouble(double value) {
+        putLong(Double.doubleToRawLongBits(value));
+    }
+
+    /** Writes unsigned varint */
+    void putVarint(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7fL) != 0) {
+            buf[len++] = (byte) ((value & 0x7f) | 0x80);
+            value >>>= 7;
+        }
+        buf[len++] = (byte) value;
+    }
+
+    /** Writes signed varint */
+    void putZigzag(long value) {
+        putVarint((value << 1) ^ (value >> 63));
+    }
+
+    /** Writes UTF-8 string prefixed with its length in bytes */
+    void putString(String value) {
+        var bytes = value.getBytes(StandardCharsets.UTF_8);
+        putVarint(bytes.length);
+        put(bytes, 0, bytes.length);
+    }
+
+    void put(ColumnBuffer other) {
+        put(other.buf, 0, other.len);
+    }
+
+    void put(byte[] bytes, int offset, int length) {
+        ensureCapacity(length);
+        System.arraycopy(bytes, offset, buf, len, length);
+        len += length;
+    }
+
+    /** Overwrites int at the given position */
+    void setInt(int position, int value) {
+        for (int shift = 24; shift >= 0; shift -= 8) buf[position++] = (byte) (value >>> shift);
+    }
+
+    static long getVarint(ByteBuffer in) {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            var b = in.get();
+            value |= (long) (b & 0x7f) << shift;
+            if (b >= 0) return value;
+            if (shift >= 63) throw new IllegalStateException("Malformed varint");
+        }
+    }
+
+    static long getZigzag(ByteBuffer in) {
+        var value = getVarint(in);
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static String getString(ByteBuffer in) {
+        var length = (int) getVarint(in);
+        var bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void ensureCapacity(int n) {
+        if (len + n <= buf.length) return;
+        buf = Arrays.copyOf(buf, Math.max(buf.length * 2, len + n));
+    }
+}
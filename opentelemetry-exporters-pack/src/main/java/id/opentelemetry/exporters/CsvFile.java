@@ -0,0 +1,278 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.List;
+
+/**
+ * CSV file which stays open for the whole lifetime of the exporter.
+ *
+ * <p>Rows are encoded as UTF-8 into the internal buffer which is reused between the exports. They
+ * are written to the file only when {@link #commit()} is called, so that each export results in a
+ * single write.
+ *
+ * <p>File can be {@link #rollTo(Path) rolled} to another path, in that case new empty file is
+ * started in its place.
+ *
+ * <p>Not thread safe, except {@link #force()} which can be called concurrently with other methods.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+class CsvFile implements AutoCloseable {
+    private static final byte DELIMITER = '\t';
+    private static final byte[] LIST_DELIMITER = {','};
+    private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes();
+
+    private final Path path;
+    private final byte[] header;
+    private volatile FileChannel channel;
+    private ByteBuffer buf = ByteBuffer.allocateDirect(8192);
+    private boolean hasValues;
+    private int uncommittedRows;
+    private long size;
+    private long createdMillis;
+
+    /** Some of the committed rows may not be forced to the disk yet */
+    private volatile boolean isDirty;
+
+    /**
+     * Opens the file for appending and writes the header if file is empty
+     *
+     * @param columns names of the columns
+     */
+    CsvFile(Path path, String... columns) throws IOException {
+        this.path = path;
+        for (var column : columns) value(column);
+        endRow();
+        header = new byte[buf.flip().remaining()];
+        buf.get(header);
+        discard();
+        open();
+    }
+
+    Path path() {
+        return path;
+    }
+
+    /** Size of the file in bytes, including the header */
+    long size() {
+        return size;
+    }
+
+    /** Time when file was created (in milliseconds since epoch) */
+    long createdMillis() {
+        return createdMillis;
+    }
+
+    /** Number of rows which were encoded since the last commit */
+    int uncommittedRows() {
+        return uncommittedRows;
+    }
+
+    /** Size in bytes of the rows which were encoded since the last commit */
+    int uncommittedBytes() {
+        return buf.position();
+    }
+
+    /** True if file has any rows besides the header */
+    boolean hasRows() {
+        return size > header.length;
+    }
+
+    /**
+     * Moves the file with all its committed rows to the target path and starts new empty file in
+     * its place
+     */
+    void rollTo(Path target) throws IOException {
+        channel.close();
+        try {
+            Files.move(path, target);
+        } finally {
+            open();
+        }
+    }
+
+    void value(String value) {
+        delimiter();
+        // most of the values are ASCII
+        ensureCapacity(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            if (c >= 0x80) {
+                buf.position(buf.position() - i);
+                write(value.getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+            buf.put((byte) c);
+        }
+    }
+
+    void value(long value) {
+        delimiter();
+        digits(value);
+    }
+
+    /** Writes list of numbers as single comma separated value */
+    void values(List<Long> values) {
+        delimiter();
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) write(LIST_DELIMITER);
+            digits(values.get(i));
+        }
+    }
+
+    private void digits(long value) {
+        if (value == Long.MIN_VALUE) {
+            write(MIN_LONG);
+            return;
+        }
+        ensureCapacity(20);
+        if (value < 0) {
+            buf.put((byte) '-');
+            value = -value;
+        }
+        var start = buf.position();
+        do {
+            buf.put((byte) ('0' + value % 10));
+            value /= 10;
+        } while (value != 0);
+        for (int i = start, j = buf.position() - 1; i < j; i++, j--) {
+            var tmp = buf.get(i);
+            buf.put(i, buf.get(j));
+            buf.put(j, tmp);
+        }
+    }
+
+    /** Writes double in the same format as {@link Double#toString(double)} */
+    void value(double value) {
+        value(Double.toString(value));
+    }
+
+    /**
+     * @param bytes US-ASCII or UTF-8 encoded value
+     */
+    void value(byte[] bytes) {
+        delimiter();
+        write(bytes);
+    }
+
+    void endRow() {
+        ensureCapacity(1);
+        buf.put((byte) '\n');
+        hasValues = false;
+        uncommittedRows++;
+    }
+
+    /**
+     * Writes all rows which were encoded since the last commit. If write fails, rows are discarded.
+     */
+    void commit() throws IOException {
+        if (buf.position() == 0) return;
+        if (!channel.isOpen()) {
+            // channel is closed when thread which uses it is interrupted
+            open();
+        }
+        buf.flip();
+        try {
+            while (buf.hasRemaining()) size += channel.write(buf);
+            isDirty = true;
+        } finally {
+            discard();
+        }
+    }
+
+    /** Discards all rows which were encoded since the last commit */
+    void discard() {
+        buf.clear();
+        hasValues = false;
+        uncommittedRows = 0;
+    }
+
+    /** Forces all committed rows to the disk */
+    void force() throws IOException {
+        if (!isDirty) return;
+        isDirty = false;
+        try {
+            channel.force(false);
+        } catch (ClosedChannelException e) {
+            // file was rolled or closed, nothing to force
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /** Opens the file for appending and writes the header if file is empty */
+    private void open() throws IOException {
+        var channel =
+                FileChannel.open(
+                        path,
+                        StandardOpenOption.CREATE,
+                        StandardOpenOption.WRITE,
+                        StandardOpenOption.APPEND);
+        try {
+            size = channel.size();
+            if (size == 0) {
+                var headerBuf = ByteBuffer.wrap(header);
+                while (headerBuf.hasRemaining()) size += channel.write(headerBuf);
+                createdMillis = System.currentTimeMillis();
+            } else {
+                createdMillis =
+                        Files.readAttributes(path, BasicFileAttributes.class)
+                                .creationTime()
+                                .toMillis();
+            }
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        this.channel = channel;
+    }
+
+    private void delimiter() {
+        if (hasValues) {
+            ensureCapacity(1);
+            buf.put(DELIMITER);
+        }
+        hasValues = true;
+    }
+
+    private void write(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        buf.put(bytes);
+    }
+
+    private void ensureCapacity(int n) {
+        if (buf.remaining() >= n) return;
+        var newBuf = ByteBuffer.allocateDirect(Math.max(buf.capacity() * 2, buf.position() + n));
+        buf.flip();
+        newBuf.put(buf);
+        buf = newBuf;
+    }
+}
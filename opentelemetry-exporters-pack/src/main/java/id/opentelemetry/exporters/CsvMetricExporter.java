@@ -17,26 +17,31 @@
  */
 package id.opentelemetry.exporters;
 
+import id.opentelemetry.exporters.CsvMetricExporterConfiguration.Durability;
+import id.xfunction.logging.XLogger;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.metrics.InstrumentType;
 import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.Data;
+import io.opentelemetry.sdk.metrics.data.DoublePointData;
+import io.opentelemetry.sdk.metrics.data.ExponentialHistogramData;
 import io.opentelemetry.sdk.metrics.data.HistogramData;
 import io.opentelemetry.sdk.metrics.data.LongPointData;
 import io.opentelemetry.sdk.metrics.data.MetricData;
 import io.opentelemetry.sdk.metrics.data.MetricDataType;
-import io.opentelemetry.sdk.metrics.data.SumData;
+import io.opentelemetry.sdk.metrics.data.SummaryData;
 import io.opentelemetry.sdk.metrics.export.MetricExporter;
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.time.Instant;
-import java.time.ZoneOffset;
-import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.logging.Logger;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Push Metric Exporter to CSV file.
@@ -53,7 +58,12 @@ import java.util.logging.Logger;
  *
  * <ul>
  *   <li>{@link MetricDataType#LONG_SUM}
+ *   <li>{@link MetricDataType#DOUBLE_SUM}
+ *   <li>{@link MetricDataType#LONG_GAUGE}
+ *   <li>{@link MetricDataType#DOUBLE_GAUGE}
  *   <li>{@link MetricDataType#HISTOGRAM}
+ *   <li>{@link MetricDataType#EXPONENTIAL_HISTOGRAM}
+ *   <li>{@link MetricDataType#SUMMARY}
  * </ul>
  *
  * <p>For each of supported {@link MetricDataType} it produces a separate CSV file like:
@@ -67,6 +77,19 @@ import java.util.logging.Logger;
  * detected_objects_total  2023-02-12T00:53:51.662Z    2023-02-12T00:53:54.662Z    0
  * }</pre>
  *
+ * <p>Each CSV file is kept open until the exporter is shut down. All rows of one export are written
+ * to the file at once. When they are forced to the disk is defined by {@link
+ * CsvMetricExporterConfiguration.Durability}. If rows cannot be written the export fails with the
+ * {@link IOException}. Files are written independently, so such export can still be partially
+ * written: message of the exception lists the files which were written.
+ *
+ * <p>Files can be rotated by size and time (see {@link
+ * CsvMetricExporterConfiguration.Builder#maxFileSizeInBytes(long)}). Rotated files are compressed
+ * and deleted on the background thread, so that it does not slow down the export.
+ *
+ * <p>Exporter records its own telemetry (serialization and write time, number of rows and bytes)
+ * which is available through {@link #stats()} and JMX (see {@link ExporterStatsMXBean}).
+ *
  * <h2>Usage</h2>
  *
  * <pre>{@code
@@ -84,117 +107,397 @@ import java.util.logging.Logger;
  * @author lambdaprime intid@protonmail.com
  */
 public final class CsvMetricExporter implements MetricExporter {
-    private static final Logger logger = Logger.getLogger(CsvMetricExporter.class.getName());
-    private final String delimiter = "\t";
-    private File counterCsvFile;
-    private File histogramCsvFile;
+    private static final XLogger LOGGER = XLogger.getLogger(CsvMetricExporter.class.getName());
+    private final CsvMetricExporterConfiguration config;
+    private final List<CsvFile> files = new ArrayList<>();
+    private final CsvFile counterCsvFile;
+    private final CsvFile gaugeCsvFile;
+    private final CsvFile histogramCsvFile;
+    private final CsvFile exponentialHistogramCsvFile;
+    private final CsvFile summaryCsvFile;
+    private final Optional<ScheduledExecutorService> forceScheduler;
+    private final Optional<CsvRotation> rotation;
+    private final double[] percentiles;
+    private final ExporterStats stats = new ExporterStats("csv", () -> 0);
+    private boolean isShutdown;
 
     /**
      * @param metricsFolder path to folder where all CSV files are located
      */
     public CsvMetricExporter(Path metricsFolder) throws IOException {
+        this(metricsFolder, TimestampFormat.ISO_8601);
+    }
+
+    /**
+     * @param timestampFormat format of {@link ExportSchema#START_TIME} and {@link
+     *     ExportSchema#END_TIME}
+     */
+    public CsvMetricExporter(Path metricsFolder, TimestampFormat timestampFormat)
+            throws IOException {
+        this(
+                metricsFolder,
+                new CsvMetricExporterConfiguration.Builder()
+                        .timestampFormat(timestampFormat)
+                        .build());
+    }
+
+    /**
+     * @param config exporter configuration
+     */
+    public CsvMetricExporter(Path metricsFolder, CsvMetricExporterConfiguration config)
+            throws IOException {
+        this.config = config;
+        percentiles = config.percentiles();
         Files.createDirectories(metricsFolder);
-        counterCsvFile = metricsFolder.resolve("counter.csv").toFile();
-        if (!counterCsvFile.isFile())
-            Files.writeString(
-                    counterCsvFile.toPath(),
-                    String.join(
-                                    delimiter,
-                                    ExportSchema.METRIC_NAME,
-                                    ExportSchema.START_TIME,
-                                    ExportSchema.END_TIME,
-                                    ExportSchema.VALUE)
-                            + "\n");
-        histogramCsvFile = metricsFolder.resolve("histogram.csv").toFile();
-        if (!histogramCsvFile.isFile())
-            Files.writeString(
-                    histogramCsvFile.toPath(),
-                    String.join(
-                                    delimiter,
-                                    ExportSchema.METRIC_NAME,
-                                    ExportSchema.START_TIME,
-                                    ExportSchema.END_TIME,
-                                    ExportSchema.COUNT,
-                                    ExportSchema.SUM,
-                                    ExportSchema.MIN,
-                                    ExportSchema.MAX,
-                                    ExportSchema.AVG)
-                            + "\n");
+        var percentileColumns = HistogramPercentiles.fieldNames(percentiles);
+        try {
+            counterCsvFile =
+                    open(
+                            metricsFolder.resolve("counter.csv"),
+                            ExportSchema.METRIC_NAME,
+                            ExportSchema.START_TIME,
+                            ExportSchema.END_TIME,
+                            ExportSchema.VALUE);
+            gaugeCsvFile =
+                    open(
+                            metricsFolder.resolve("gauge.csv"),
+                            ExportSchema.METRIC_NAME,
+                            ExportSchema.START_TIME,
+                            ExportSchema.END_TIME,
+                            ExportSchema.VALUE);
+            histogramCsvFile =
+                    open(
+                            metricsFolder.resolve("histogram.csv"),
+                            concat(
+                                    new String[] {
+                                        ExportSchema.METRIC_NAME,
+                                        ExportSchema.START_TIME,
+                                        ExportSchema.END_TIME,
+                                        ExportSchema.COUNT,
+                                        ExportSchema.SUM,
+                                        ExportSchema.MIN,
+                                        ExportSchema.MAX,
+                                        ExportSchema.AVG
+                                    },
+                                    percentileColumns));
+            exponentialHistogramCsvFile =
+                    open(
+                            metricsFolder.resolve("exponential_histogram.csv"),
+                            concat(
+                                    new String[] {
+                                        ExportSchema.METRIC_NAME,
+                                        ExportSchema.START_TIME,
+                                        ExportSchema.END_TIME,
+                                        ExportSchema.COUNT,
+                                        ExportSchema.SUM,
+                                        ExportSchema.MIN,
+                                        ExportSchema.MAX,
+                                        ExportSchema.AVG,
+                                        ExportSchema.SCALE,
+                                        ExportSchema.ZERO_COUNT,
+                                        ExportSchema.POSITIVE + "_OFFSET",
+                                        ExportSchema.POSITIVE + "_COUNTS",
+                                        ExportSchema.NEGATIVE + "_OFFSET",
+                                        ExportSchema.NEGATIVE + "_COUNTS"
+                                    },
+                                    percentileColumns));
+            summaryCsvFile =
+                    open(
+                            metricsFolder.resolve("summary.csv"),
+                            ExportSchema.METRIC_NAME,
+                            ExportSchema.START_TIME,
+                            ExportSchema.END_TIME,
+                            ExportSchema.COUNT,
+                            ExportSchema.SUM,
+                            ExportSchema.AVG,
+                            ExportSchema.QUANTILES);
+        } catch (IOException e) {
+            for (var file : files) file.close();
+            throw e;
+        }
+        rotation =
+                config.isRotationEnabled()
+                        ? Optional.of(new CsvRotation(config))
+                        : Optional.empty();
+        rotation.ifPresent(r -> files.forEach(r::recover));
+        forceScheduler =
+                config.durability() == Durability.PERIODIC
+                        ? Optional.of(startForceScheduler())
+                        : Optional.empty();
+        if (config.jmx()) stats.registerMBean(getClass());
+        config.meter().ifPresent(stats::registerInstruments);
+    }
+
+    private CsvFile open(Path path, String... columns) throws IOException {
+        var file = new CsvFile(path, columns);
+        files.add(file);
+        return file;
+    }
+
+    private static String[] concat(String[] a, String[] b) {
+        var result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+
+    private ScheduledExecutorService startForceScheduler() {
+        var scheduler =
+                Executors.newSingleThreadScheduledExecutor(
+                        r -> {
+                            var thread = new Thread(r, "csv-exporter-force");
+                            thread.setDaemon(true);
+                            return thread;
+                        });
+        var interval = config.forceInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(
+                () -> {
+                    try {
+                        force();
+                    } catch (IOException e) {
+                        LOGGER.severe(e);
+                    }
+                },
+                interval,
+                interval,
+                TimeUnit.MILLISECONDS);
+        return scheduler;
     }
 
     @Override
-    public CompletableResultCode export(Collection<MetricData> metrics) {
-        logger.fine("Received a collection of " + metrics.size() + " metrics for export.");
+    public synchronized CompletableResultCode export(Collection<MetricData> metrics) {
+        LOGGER.fine("Received a collection of {0} metrics for export.", metrics.size());
+        if (isShutdown) {
+            LOGGER.warning("Exporter is shut down, ignoring {0} metrics", metrics.size());
+            return CompletableResultCode.ofFailure();
+        }
+        var startNanos = System.nanoTime();
         for (MetricData metricData : metrics) {
-            logger.fine("metric: " + metricData);
+            LOGGER.fine("metric: {0}", metricData);
             switch (metricData.getType()) {
-                case LONG_SUM -> appendLongSum(metricData.getName(), metricData.getLongSumData());
+                case LONG_SUM ->
+                        appendLongPoints(
+                                counterCsvFile, metricData.getName(), metricData.getLongSumData());
+                case DOUBLE_SUM ->
+                        appendDoublePoints(
+                                counterCsvFile,
+                                metricData.getName(),
+                                metricData.getDoubleSumData());
+                case LONG_GAUGE ->
+                        appendLongPoints(
+                                gaugeCsvFile, metricData.getName(), metricData.getLongGaugeData());
+                case DOUBLE_GAUGE ->
+                        appendDoublePoints(
+                                gaugeCsvFile,
+                                metricData.getName(),
+                                metricData.getDoubleGaugeData());
                 case HISTOGRAM ->
                         appendHistogram(metricData.getName(), metricData.getHistogramData());
+                case EXPONENTIAL_HISTOGRAM ->
+                        appendExponentialHistogram(
+                                metricData.getName(), metricData.getExponentialHistogramData());
+                case SUMMARY -> appendSummary(metricData.getName(), metricData.getSummaryData());
                 default ->
-                        logger.info(
-                                "metric " + metricData.getType() + " not supported, ignoring...");
+                        LOGGER.info("metric {0} not supported, ignoring...", metricData.getType());
+            }
+        }
+        var rows = 0;
+        var bytes = 0L;
+        for (var file : files) {
+            rows += file.uncommittedRows();
+            bytes += file.uncommittedBytes();
+        }
+        var writeNanos = System.nanoTime();
+        stats.recordSerialization(writeNanos - startNanos, rows, bytes);
+        // files are written independently, failure of one of them does not stop the others
+        var written = new ArrayList<Path>();
+        IOException failure = null;
+        var now = System.currentTimeMillis();
+        for (var file : files) {
+            var hasRows = file.uncommittedRows() > 0;
+            try {
+                if (rotation.isPresent()) rotation.get().rotateIfDue(file, now);
+                commit(file);
+                if (hasRows) written.add(file.path().getFileName());
+            } catch (IOException e) {
+                // rows which were not written are dropped, they are not written by later exports
+                file.discard();
+                if (failure == null) failure = e;
+                else failure.addSuppressed(e);
+            }
+        }
+        if (failure == null && config.durability() == Durability.FORCE_ON_EXPORT) {
+            try {
+                force();
+            } catch (IOException e) {
+                failure = e;
             }
         }
+        if (failure != null) {
+            var e =
+                    new IOException(
+                            "Export was not written completely, written files: " + written,
+                            failure);
+            LOGGER.severe(e);
+            stats.recordExport(false);
+            return CompletableResultCode.ofExceptionalFailure(e);
+        }
+        stats.recordSend(System.nanoTime() - writeNanos);
+        stats.recordExport(true);
         return CompletableResultCode.ofSuccess();
     }
 
     private void appendHistogram(String name, HistogramData data) {
-        if (data.getPoints().isEmpty()) return;
-        try (var out = new BufferedWriter(new FileWriter(histogramCsvFile, true))) {
-            for (var p : data.getPoints()) {
-                var entry =
-                        String.join(
-                                        delimiter,
-                                        name,
-                                        asTimeString(p.getStartEpochNanos()),
-                                        asTimeString(p.getEpochNanos()),
-                                        "" + p.getCount(),
-                                        "" + p.getSum(),
-                                        "" + p.getMin(),
-                                        "" + p.getMax())
-                                + "\n";
-                out.append(entry);
+        for (var p : data.getPoints()) {
+            var out = histogramCsvFile;
+            out.value(name);
+            appendTime(out, p.getStartEpochNanos());
+            appendTime(out, p.getEpochNanos());
+            out.value(p.getCount());
+            out.value(p.getSum());
+            out.value(p.getMin());
+            out.value(p.getMax());
+            out.value(p.getSum() / p.getCount());
+            for (var percentile : percentiles)
+                out.value(HistogramPercentiles.percentile(p, percentile));
+            out.endRow();
+        }
+    }
+
+    /** Buckets are written as offset and comma separated counts of all buckets */
+    private void appendExponentialHistogram(String name, ExponentialHistogramData data) {
+        for (var p : data.getPoints()) {
+            var out = exponentialHistogramCsvFile;
+            out.value(name);
+            appendTime(out, p.getStartEpochNanos());
+            appendTime(out, p.getEpochNanos());
+            out.value(p.getCount());
+            out.value(p.getSum());
+            out.value(p.getMin());
+            out.value(p.getMax());
+            out.value(p.getSum() / p.getCount());
+            out.value(p.getScale());
+            out.value(p.getZeroCount());
+            for (var buckets : List.of(p.getPositiveBuckets(), p.getNegativeBuckets())) {
+                out.value(buckets.getOffset());
+                out.values(buckets.getBucketCounts());
             }
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
-    }
-
-    private void appendLongSum(String name, SumData<LongPointData> data) {
-        if (data.getPoints().isEmpty()) return;
-        try (var out = new BufferedWriter(new FileWriter(counterCsvFile, true))) {
-            for (var p : data.getPoints()) {
-                var entry =
-                        String.join(
-                                        delimiter,
-                                        name,
-                                        asTimeString(p.getStartEpochNanos()),
-                                        asTimeString(p.getEpochNanos()),
-                                        "" + p.getValue())
-                                + "\n";
-                out.append(entry);
+            for (var percentile : percentiles)
+                out.value(HistogramPercentiles.percentile(p, percentile));
+            out.endRow();
+        }
+    }
+
+    /** Quantiles are written as comma separated "quantile=value" pairs */
+    private void appendSummary(String name, SummaryData data) {
+        for (var p : data.getPoints()) {
+            var out = summaryCsvFile;
+            out.value(name);
+            appendTime(out, p.getStartEpochNanos());
+            appendTime(out, p.getEpochNanos());
+            out.value(p.getCount());
+            out.value(p.getSum());
+            out.value(p.getSum() / p.getCount());
+            var quantiles = new StringBuilder();
+            for (var v : p.getValues()) {
+                if (!quantiles.isEmpty()) quantiles.append(',');
+                quantiles.append(v.getQuantile()).append('=').append(v.getValue());
             }
+            out.value(quantiles.toString());
+            out.endRow();
+        }
+    }
+
+    private void appendLongPoints(CsvFile out, String name, Data<LongPointData> data) {
+        for (var p : data.getPoints()) {
+            out.value(name);
+            appendTime(out, p.getStartEpochNanos());
+            appendTime(out, p.getEpochNanos());
+            out.value(p.getValue());
+            out.endRow();
+        }
+    }
+
+    private void appendDoublePoints(CsvFile out, String name, Data<DoublePointData> data) {
+        for (var p : data.getPoints()) {
+            out.value(name);
+            appendTime(out, p.getStartEpochNanos());
+            appendTime(out, p.getEpochNanos());
+            out.value(p.getValue());
+            out.endRow();
+        }
+    }
+
+    private void appendTime(CsvFile out, long epochNanos) {
+        switch (config.timestampFormat()) {
+            case EPOCH_MILLIS -> out.value(TimestampFormatter.toEpochMillis(epochNanos));
+            default -> out.value(TimestampFormatter.SHARED.formatBytes(epochNanos));
+        }
+    }
+
+    /** Writes all rows of the current export, discarding them if write fails */
+    private void commit(CsvFile file) throws IOException {
+        try {
+            file.commit();
         } catch (IOException e) {
-            e.printStackTrace();
+            throw new IOException("Could not write metrics to " + file.path(), e);
         }
     }
 
-    private String asTimeString(long epochNanos) {
-        return ZonedDateTime.ofInstant(Instant.ofEpochMilli(epochNanos / 1000000), ZoneOffset.UTC)
-                .toString();
+    private void force() throws IOException {
+        for (var file : files) file.force();
+    }
+
+    /** Telemetry of this exporter */
+    public ExporterStatsMXBean stats() {
+        return stats;
     }
 
+    /** All exports are written to the files before they complete, so only forces them if needed */
     @Override
     public CompletableResultCode flush() {
-        logger.fine("flush");
+        LOGGER.fine("flush");
+        if (config.durability() == Durability.NONE) return CompletableResultCode.ofSuccess();
+        try {
+            force();
+        } catch (IOException e) {
+            LOGGER.severe(e);
+            return CompletableResultCode.ofExceptionalFailure(e);
+        }
         return CompletableResultCode.ofSuccess();
     }
 
+    /**
+     * Forces all metrics to the disk (unless durability is {@link Durability#NONE}) and closes
+     * files
+     */
     @Override
-    public CompletableResultCode shutdown() {
-        logger.fine("shutdown");
-        return CompletableResultCode.ofSuccess();
+    public synchronized CompletableResultCode shutdown() {
+        LOGGER.fine("shutdown");
+        if (isShutdown) return CompletableResultCode.ofSuccess();
+        isShutdown = true;
+        forceScheduler.ifPresent(this::stop);
+        rotation.ifPresent(CsvRotation::close);
+        stats.close();
+        var result = flush();
+        for (var file : files) {
+            try {
+                file.close();
+            } catch (IOException e) {
+                LOGGER.severe(e);
+                if (result.isSuccess()) result = CompletableResultCode.ofExceptionalFailure(e);
+            }
+        }
+        return result;
+    }
+
+    /** Waits for the force which is in progress, interrupting it would close the files */
+    private void stop(ScheduledExecutorService scheduler) {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(config.forceInterval().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
     }
 
     @Override
@@ -0,0 +1,255 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import io.opentelemetry.api.metrics.Meter;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Configuration for {@link CsvMetricExporter}
+ *
+ * <pre>{@code
+ * var config = new CsvMetricExporterConfiguration.Builder()
+ *   .durability(Durability.PERIODIC)
+ *   .forceInterval(Duration.ofSeconds(10))
+ *   .build();
+ * }</pre>
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class CsvMetricExporterConfiguration implements Cloneable {
+    /** When exported metrics are forced from the OS page cache to the disk */
+    public enum Durability {
+        /** Leave it to the OS. Metrics survive crash of the process but not of the OS. */
+        NONE,
+        /**
+         * Before {@link CsvMetricExporter#export} completes. Safest but slowest option, since each
+         * export waits for the disk.
+         */
+        FORCE_ON_EXPORT,
+        /**
+         * Periodically on the background thread. On OS crash metrics of at most one {@link
+         * Builder#forceInterval(Duration)} are lost.
+         */
+        PERIODIC
+    }
+
+    public static final Duration DEFAULT_FORCE_INTERVAL = Duration.ofSeconds(5);
+
+    private Durability durability = Durability.NONE;
+    private Duration forceInterval = DEFAULT_FORCE_INTERVAL;
+    private long maxFileSizeInBytes;
+    private Duration rotationPeriod = Duration.ZERO;
+    private boolean compressRotatedFiles = true;
+    private int maxRotatedFiles;
+    private TimestampFormat timestampFormat = TimestampFormat.ISO_8601;
+    private double[] percentiles = {};
+    private boolean jmx;
+    private Optional<Meter> meter = Optional.empty();
+
+    /**
+     * @see Builder#durability(Durability)
+     */
+    public Durability durability() {
+        return durability;
+    }
+
+    /**
+     * @see Builder#forceInterval(Duration)
+     */
+    public Duration forceInterval() {
+        return forceInterval;
+    }
+
+    /**
+     * @see Builder#maxFileSizeInBytes(long)
+     */
+    public long maxFileSizeInBytes() {
+        return maxFileSizeInBytes;
+    }
+
+    /**
+     * @see Builder#rotationPeriod(Duration)
+     */
+    public Duration rotationPeriod() {
+        return rotationPeriod;
+    }
+
+    /**
+     * @see Builder#compressRotatedFiles(boolean)
+     */
+    public boolean compressRotatedFiles() {
+        return compressRotatedFiles;
+    }
+
+    /**
+     * @see Builder#maxRotatedFiles(int)
+     */
+    public int maxRotatedFiles() {
+        return maxRotatedFiles;
+    }
+
+    /** True if CSV files are rotated */
+    boolean isRotationEnabled() {
+        return maxFileSizeInBytes > 0 || !rotationPeriod.isZero();
+    }
+
+    /**
+     * @see Builder#timestampFormat(TimestampFormat)
+     */
+    public TimestampFormat timestampFormat() {
+        return timestampFormat;
+    }
+
+    /**
+     * @see Builder#percentiles(double...)
+     */
+    public double[] percentiles() {
+        return percentiles.clone();
+    }
+
+    /**
+     * @see Builder#jmx(boolean)
+     */
+    public boolean jmx() {
+        return jmx;
+    }
+
+    /**
+     * @see Builder#meter(Meter)
+     */
+    public Optional<Meter> meter() {
+        return meter;
+    }
+
+    /**
+     * @author lambdaprime intid@protonmail.com
+     */
+    public static class Builder {
+        private CsvMetricExporterConfiguration config = new CsvMetricExporterConfiguration();
+
+        /** Default is {@link Durability#NONE} */
+        public Builder durability(Durability durability) {
+            config.durability = durability;
+            return this;
+        }
+
+        /**
+         * How often metrics are forced to the disk when durability is {@link Durability#PERIODIC}.
+         * Default is {@link CsvMetricExporterConfiguration#DEFAULT_FORCE_INTERVAL}
+         */
+        public Builder forceInterval(Duration forceInterval) {
+            if (forceInterval.isNegative() || forceInterval.isZero())
+                throw new IllegalArgumentException("Force interval must be positive");
+            config.forceInterval = forceInterval;
+            return this;
+        }
+
+        /**
+         * Rotate CSV file once it reaches given size. Current file ("counter.csv") is renamed to
+         * the segment named after the time when it was started ("counter-2026-10-16T10-00-00.csv")
+         * and new file with the header is started in its place. Each file is rotated at the start
+         * of the next export, so it can be slightly bigger than that. By default 0, which means
+         * files are not rotated by size.
+         */
+        public Builder maxFileSizeInBytes(long maxFileSizeInBytes) {
+            if (maxFileSizeInBytes < 0)
+                throw new IllegalArgumentException("Max file size cannot be negative");
+            config.maxFileSizeInBytes = maxFileSizeInBytes;
+            return this;
+        }
+
+        /**
+         * Rotate CSV file each period of wall-clock time (see {@link #maxFileSizeInBytes(long)}).
+         * Periods are aligned to UTC, for example with {@link Duration#ofDays(long) one day} period
+         * files are rotated at UTC midnight. By default {@link Duration#ZERO}, which means files
+         * are not rotated by time.
+         */
+        public Builder rotationPeriod(Duration rotationPeriod) {
+            if (rotationPeriod.isNegative())
+                throw new IllegalArgumentException("Rotation period cannot be negative");
+            config.rotationPeriod = rotationPeriod;
+            return this;
+        }
+
+        /**
+         * Compress rotated files with gzip on the background thread. By default compression is
+         * enabled.
+         */
+        public Builder compressRotatedFiles(boolean compressRotatedFiles) {
+            config.compressRotatedFiles = compressRotatedFiles;
+            return this;
+        }
+
+        /**
+         * How many rotated files to keep for each CSV file, the oldest ones are deleted. By default
+         * 0, which means all of them are kept.
+         */
+        public Builder maxRotatedFiles(int maxRotatedFiles) {
+            if (maxRotatedFiles < 0)
+                throw new IllegalArgumentException("Max rotated files cannot be negative");
+            config.maxRotatedFiles = maxRotatedFiles;
+            return this;
+        }
+
+        /** Format of the point timestamps. Default is {@link TimestampFormat#ISO_8601} */
+        public Builder timestampFormat(TimestampFormat timestampFormat) {
+            config.timestampFormat = timestampFormat;
+            return this;
+        }
+
+        /**
+         * Percentiles (from 0 to 100) which are added to "histogram.csv" as separate columns
+         * ("P50", "P99", "P99_9"). They are linearly interpolated from the histogram buckets.
+         * Columns are defined by the header of the file, so when percentiles are changed new file
+         * should be started. By default none.
+         */
+        public Builder percentiles(double... percentiles) {
+            config.percentiles = HistogramPercentiles.check(percentiles);
+            return this;
+        }
+
+        /**
+         * Register {@link ExporterStatsMXBean} of the exporter in the platform MBean server. It is
+         * unregistered on shutdown, so exporters which are never shut down stay registered. By
+         * default disabled.
+         */
+        public Builder jmx(boolean jmx) {
+            config.jmx = jmx;
+            return this;
+        }
+
+        /**
+         * Report {@link ExporterStatsMXBean} of the exporter as "exporter.*" instruments of the
+         * given meter. By default none.
+         */
+        public Builder meter(Meter meter) {
+            config.meter = Optional.of(meter);
+            return this;
+        }
+
+        public CsvMetricExporterConfiguration build() {
+            try {
+                return (CsvMetricExporterConfiguration) config.clone();
+            } catch (CloneNotSupportedException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
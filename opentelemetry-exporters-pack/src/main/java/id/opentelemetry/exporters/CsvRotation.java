@@ -0,0 +1,199 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import id.xfunction.logging.XLogger;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Rotation of {@link CsvFile} by size and wall-clock period.
+ *
+ * <p>Current file keeps its name ("counter.csv"). When it is rotated it is renamed to the segment
+ * named after the time when it was started ("counter-2026-10-16T10-00-00.csv") and new file with
+ * the header is started in its place. Renaming is the only thing which is done on the exporting
+ * thread. Compression of the rotated segments ("counter-2026-10-16T10-00-00.csv.gz") and deletion
+ * of the oldest of them happen on the background thread.
+ *
+ * <p>Segments which were rotated but not compressed before the application stopped are compressed
+ * on the next start.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+class CsvRotation implements AutoCloseable {
+    private static final XLogger LOGGER = XLogger.getLogger(CsvRotation.class.getName());
+    private static final String CSV = ".csv";
+    private static final String GZ = ".gz";
+    private static final String TMP = ".tmp";
+    private static final long CLOSE_TIMEOUT_MILLIS = 10_000;
+    private static final DateTimeFormatter SEGMENT_TIME =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH-mm-ss").withZone(ZoneOffset.UTC);
+
+    private final CsvMetricExporterConfiguration config;
+    private final ExecutorService executor =
+            Executors.newSingleThreadExecutor(
+                    r -> {
+                        var thread = new Thread(r, "csv-exporter-rotation");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+
+    CsvRotation(CsvMetricExporterConfiguration config) {
+        this.config = config;
+    }
+
+    /** Schedules compression and retention of the segments left from the previous run */
+    void recover(CsvFile file) {
+        submit(file);
+    }
+
+    /**
+     * Rotates the file if it reached the max size or if it was started in the previous period.
+     * Periods are aligned to UTC epoch, so that daily files are rotated at UTC midnight. Files
+     * without rows are never rotated.
+     */
+    void rotateIfDue(CsvFile file, long nowMillis) throws IOException {
+        if (!file.hasRows() || !isDue(file, nowMillis)) return;
+        var target = segmentPath(file);
+        LOGGER.fine("Rotating {0} to {1}", file.path(), target);
+        file.rollTo(target);
+        submit(file);
+    }
+
+    private boolean isDue(CsvFile file, long nowMillis) {
+        var maxSize = config.maxFileSizeInBytes();
+        if (maxSize > 0 && file.size() >= maxSize) return true;
+        var period = config.rotationPeriod().toMillis();
+        return period > 0
+                && Math.floorDiv(nowMillis, period) != Math.floorDiv(file.createdMillis(), period);
+    }
+
+    private Path segmentPath(CsvFile file) {
+        var name =
+                baseName(file)
+                        + "-"
+                        + SEGMENT_TIME.format(Instant.ofEpochMilli(file.createdMillis()));
+        var dir = file.path().getParent();
+        var path = dir.resolve(name + CSV);
+        // file can be rotated more than once a second
+        for (int i = 1;
+                Files.exists(path) || Files.exists(dir.resolve(path.getFileName() + GZ));
+                i++) path = dir.resolve(name + "." + i + CSV);
+        return path;
+    }
+
+    private void submit(CsvFile file) {
+        var dir = file.path().getParent();
+        var prefix = baseName(file) + "-";
+        try {
+            executor.execute(() -> compressAndClean(dir, prefix));
+        } catch (RejectedExecutionException e) {
+            LOGGER.warning(
+                    "Exporter is shut down, rotated segments of {0} are left as is", file.path());
+        }
+    }
+
+    private void compressAndClean(Path dir, String prefix) {
+        try {
+            if (config.compressRotatedFiles())
+                for (var segment : list(dir, prefix)) {
+                    if (segment.getFileName().toString().endsWith(CSV)) compress(segment);
+                }
+            if (config.maxRotatedFiles() == 0) return;
+            var segments = list(dir, prefix);
+            for (int i = 0; i < segments.size() - config.maxRotatedFiles(); i++) {
+                LOGGER.fine("Deleting {0}", segments.get(i));
+                Files.deleteIfExists(segments.get(i));
+            }
+        } catch (IOException e) {
+            LOGGER.severe(e);
+        }
+    }
+
+    private void compress(Path segment) throws IOException {
+        var tmp = segment.resolveSibling(segment.getFileName() + GZ + TMP);
+        try (var out = new GZIPOutputStream(Files.newOutputStream(tmp), 64 * 1024)) {
+            Files.copy(segment, out);
+        }
+        Files.setLastModifiedTime(tmp, Files.getLastModifiedTime(segment));
+        Files.move(
+                tmp,
+                segment.resolveSibling(segment.getFileName() + GZ),
+                StandardCopyOption.ATOMIC_MOVE);
+        Files.delete(segment);
+    }
+
+    /**
+     * @return rotated segments ordered from the oldest to the newest
+     */
+    private static List<Path> list(Path dir, String prefix) throws IOException {
+        try (var stream = Files.list(dir)) {
+            return stream.filter(
+                            p -> {
+                                var name = p.getFileName().toString();
+                                return name.startsWith(prefix)
+                                        && (name.endsWith(CSV) || name.endsWith(CSV + GZ));
+                            })
+                    .sorted(
+                            Comparator.comparing(CsvRotation::lastModified)
+                                    // "counter-T.csv" goes before "counter-T.1.csv"
+                                    .thenComparing(p -> p.toString().length())
+                                    .thenComparing(p -> p))
+                    .toList();
+        }
+    }
+
+    private static long lastModified(Path path) {
+        try {
+            return Files.getLastModifiedTime(path).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static String baseName(CsvFile file) {
+        var name = file.path().getFileName().toString();
+        return name.substring(0, name.length() - CSV.length());
+    }
+
+    /**
+     * Waits for the pending compressions for a limited time, segments which are left uncompressed
+     * are compressed on the next start
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            executor.awaitTermination(CLOSE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
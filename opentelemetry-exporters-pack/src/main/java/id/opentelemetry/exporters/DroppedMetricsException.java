@@ -0,0 +1,48 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+/**
+ * Exports which were dropped by the exporter without being sent (export queue was full or exporter
+ * was shut down). Available through {@link
+ * io.opentelemetry.sdk.common.CompletableResultCode#getFailureThrowable()} of the dropped export as
+ * well as of the following {@link ElasticsearchMetricExporter#flush()} or {@link
+ * ElasticsearchMetricExporter#shutdown()}.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class DroppedMetricsException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final int droppedExports;
+    private final int droppedMetrics;
+
+    public DroppedMetricsException(int droppedExports, int droppedMetrics) {
+        super(String.format("Dropped %d exports (%d metrics)", droppedExports, droppedMetrics));
+        this.droppedExports = droppedExports;
+        this.droppedMetrics = droppedMetrics;
+    }
+
+    public int getDroppedExports() {
+        return droppedExports;
+    }
+
+    public int getDroppedMetrics() {
+        return droppedMetrics;
+    }
+}
@@ -17,39 +17,45 @@
  */
 package id.opentelemetry.exporters;
 
-import id.xfunction.XJsonStringBuilder;
 import id.xfunction.logging.XLogger;
 import id.xfunction.net.HttpClientBuilder;
 import io.opentelemetry.sdk.common.CompletableResultCode;
 import io.opentelemetry.sdk.metrics.InstrumentType;
 import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
 import io.opentelemetry.sdk.metrics.data.DoublePointData;
-import io.opentelemetry.sdk.metrics.data.GaugeData;
-import io.opentelemetry.sdk.metrics.data.HistogramData;
+import io.opentelemetry.sdk.metrics.data.ExponentialHistogramBuckets;
+import io.opentelemetry.sdk.metrics.data.ExponentialHistogramPointData;
+import io.opentelemetry.sdk.metrics.data.HistogramPointData;
 import io.opentelemetry.sdk.metrics.data.LongPointData;
 import io.opentelemetry.sdk.metrics.data.MetricData;
 import io.opentelemetry.sdk.metrics.data.MetricDataType;
 import io.opentelemetry.sdk.metrics.data.PointData;
-import io.opentelemetry.sdk.metrics.data.SumData;
+import io.opentelemetry.sdk.metrics.data.SummaryPointData;
 import io.opentelemetry.sdk.metrics.export.MetricExporter;
-import java.io.IOException;
 import java.net.Authenticator;
-import java.net.ConnectException;
 import java.net.PasswordAuthentication;
 import java.net.URI;
 import java.net.http.HttpClient;
-import java.net.http.HttpConnectTimeoutException;
-import java.net.http.HttpRequest;
-import java.net.http.HttpRequest.BodyPublishers;
-import java.net.http.HttpResponse.BodyHandlers;
+import java.nio.file.Path;
 import java.time.Duration;
-import java.time.Instant;
-import java.time.ZoneOffset;
-import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.Supplier;
 
 /**
  * Push Metric Exporter to <a href="https://www.elastic.co/elasticsearch/">ElasticSearch</a>. All
@@ -66,9 +72,49 @@ import java.util.function.Function;
  *   <li>{@link MetricDataType#HISTOGRAM}
  *   <li>{@link MetricDataType#DOUBLE_GAUGE}
  *   <li>{@link MetricDataType#LONG_GAUGE}
+ *   <li>{@link MetricDataType#DOUBLE_SUM}
+ *   <li>{@link MetricDataType#EXPONENTIAL_HISTOGRAM} - buckets are written compactly as scale, zero
+ *       count and offset with counts of positive and negative buckets
+ *   <li>{@link MetricDataType#SUMMARY} - quantiles are written as percentile fields ("P50")
  * </ul>
  *
- * <p>Export schema is based on field names given in {@link ExportSchema}.
+ * <p>Export schema is based on field names given in {@link ExportSchema}. Histogram documents can
+ * also include percentiles and buckets (see {@link
+ * ElasticsearchMetricExporterConfiguration.Builder#percentiles(double...)}).
+ *
+ * <p>Metrics of each export are split into multiple bulk requests of limited size which are sent
+ * concurrently (see {@link ElasticsearchMetricExporterConfiguration}). If some of them fail, the
+ * export result fails with {@link BulkExportException}. Optionally bulk requests can be gzipped.
+ *
+ * <p>Elasticsearch reports status of each document separately, so the response of every bulk
+ * request is checked for rejected documents. Requests which failed due to connection problems or
+ * overloaded cluster, as well as documents which were rejected with transient errors (like 429
+ * es_rejected_execution_exception), are resent with exponential backoff (see {@link
+ * ElasticsearchMetricExporterConfiguration.Builder#maxRetries(int)}). Requests which still could
+ * not be sent can be stored on the disk and replayed once Elasticsearch is available again (see
+ * {@link ElasticsearchMetricExporterConfiguration.Builder#spoolDirectory(Path)}).
+ *
+ * <p>Bulk requests can be distributed between several nodes of the cluster (see {@link
+ * ElasticsearchMetricExporterConfiguration.Builder#nodes(URI...)}). Nodes which cannot be connected
+ * to are skipped until they are resurrected after the backoff delay.
+ *
+ * <p>Documents can be written to daily or hourly indices or to the data stream (see {@link
+ * ElasticsearchMetricExporterConfiguration.IndexRouting}).
+ *
+ * <p>Optionally, when it is created, the exporter installs index template with explicit mappings of
+ * all the fields, so that Elasticsearch does not need to guess them (see {@link
+ * ElasticsearchMetricExporterConfiguration.Builder#indexTemplate(boolean)}).
+ *
+ * <p>Optionally metrics can be serialized and sent on the separate worker thread (see {@link
+ * ElasticsearchMetricExporterConfiguration.Builder#exportQueue(int,
+ * ElasticsearchMetricExporterConfiguration.QueuePolicy)}). In any case {@link #flush()} and {@link
+ * #shutdown()} wait for all exports to complete. Exports with many points can be serialized on
+ * several threads (see {@link
+ * ElasticsearchMetricExporterConfiguration.Builder#parallelSerialization(int, int)}).
+ *
+ * <p>Exporter records its own telemetry (serialization time, payload size, HTTP round trip, status
+ * codes, retried and dropped documents) which is available through {@link #stats()}, JMX and
+ * optionally {@link ElasticsearchMetricExporterConfiguration#meter() Meter}.
  *
  * <p>If ElasticSearch has self-signed SSL certificates by default Java will not allow to connect to
  * it. Use {@link #ElasticsearchMetricExporter(URI, Optional, Duration, boolean)} with insecure set
@@ -97,10 +143,6 @@ import java.util.function.Function;
 public final class ElasticsearchMetricExporter implements MetricExporter {
     private static final XLogger LOGGER =
             XLogger.getLogger(ElasticsearchMetricExporter.class.getName());
-    private static final Object CREATE_JSON =
-            """
-                    { "create": { } }
-                    """.trim();
 
     public record Credentials(String user, String password) {
         public static Optional<Credentials> fromUri(URI uri) {
@@ -111,10 +153,29 @@ public final class ElasticsearchMetricExporter implements MetricExporter {
         }
     }
 
+    private record Slice(MetricData metric, int fromPoint, int toPoint) {}
+
     private HttpClient client;
     private URI addBulkApi;
-    private Duration timeout = Duration.ZERO;
-    private Function<String, CompletableResultCode> sendMetrics = this::sendMetrics;
+    private ElasticsearchMetricExporterConfiguration config;
+    private final ByteBufferPool bufferPool = new ByteBufferPool();
+    private final Queue<NdjsonEncoder> encoders = new ConcurrentLinkedQueue<>();
+    private BulkDispatcher dispatcher;
+    private Optional<BulkSender> sender = Optional.empty();
+    private Optional<ExportQueue> queue = Optional.empty();
+
+    /** Results of all exports which are not completed yet */
+    private final Set<CompletableResultCode> pending = ConcurrentHashMap.newKeySet();
+
+    private final ExporterStats stats = new ExporterStats("elasticsearch", pending::size);
+
+    private final AtomicInteger droppedExports = new AtomicInteger();
+    private final AtomicInteger droppedMetrics = new AtomicInteger();
+    private final AtomicBoolean isShutdown = new AtomicBoolean();
+    private double[] percentiles;
+    private String[] percentileFields;
+    private IndexRouter router;
+    private Optional<IndexTemplate> template = Optional.empty();
 
     /**
      * @param elasticSearch URI to the ElasticSearch index where metrics will be exported.
@@ -141,12 +202,46 @@ public final class ElasticsearchMetricExporter implements MetricExporter {
             Optional<Credentials> credentials,
             Duration timeout,
             boolean insecure) {
-        this.timeout = timeout;
+        this(
+                elasticSearch,
+                credentials,
+                new ElasticsearchMetricExporterConfiguration.Builder()
+                        .timeout(timeout)
+                        .insecure(insecure)
+                        .build());
+    }
+
+    /**
+     * @param config exporter configuration
+     */
+    public ElasticsearchMetricExporter(
+            URI elasticSearch,
+            Optional<Credentials> credentials,
+            ElasticsearchMetricExporterConfiguration config) {
+        this.config = config;
+        var timeout = config.timeout();
+        var insecure = config.insecure();
         if (insecure) {
             LOGGER.warning("Insecure connetions to ElasticSearch are enabled");
         }
         this.addBulkApi = URI.create(elasticSearch.toASCIIString() + "/_bulk");
-        var builder = HttpClient.newBuilder();
+        var nodes = new ArrayList<URI>();
+        nodes.add(addBulkApi);
+        for (var node : config.nodes())
+            nodes.add(
+                    URI.create(
+                            node.getScheme()
+                                    + "://"
+                                    + node.getRawAuthority()
+                                    + elasticSearch.getRawPath()
+                                    + "/_bulk"));
+        var builder =
+                HttpClient.newBuilder()
+                        .version(
+                                config.http2()
+                                        ? HttpClient.Version.HTTP_2
+                                        : HttpClient.Version.HTTP_1_1);
+        config.executor().ifPresent(builder::executor);
         if (credentials.isEmpty() && elasticSearch.getUserInfo() != null) {
             credentials = Credentials.fromUri(elasticSearch);
         }
@@ -165,6 +260,34 @@ public final class ElasticsearchMetricExporter implements MetricExporter {
         if (insecure) builder = new HttpClientBuilder(builder).insecure().get();
         if (timeout != Duration.ZERO) builder.connectTimeout(timeout);
         client = builder.build();
+        var spool =
+                config.spoolDirectory()
+                        .map(
+                                dir ->
+                                        new BulkSpool(
+                                                dir,
+                                                config.maxSpoolSizeInBytes(),
+                                                config.spoolSegmentSizeInBytes(),
+                                                bufferPool));
+        var selector =
+                new NodeSelector(
+                        nodes,
+                        config.loadBalancing(),
+                        config.deadNodeInitialBackoff(),
+                        config.deadNodeMaxBackoff());
+        if (config.indexTemplate())
+            template =
+                    Optional.of(
+                            new IndexTemplate(
+                                    client,
+                                    selector,
+                                    config,
+                                    IndexRouter.indexName(addBulkApi.getPath())));
+        template.ifPresent(IndexTemplate::install);
+        var sender = new BulkSender(client, selector, config, this::newBulkBody, spool, stats);
+        this.sender = Optional.of(sender);
+        dispatcher = new BulkDispatcher(sender::send, config.maxInFlightRequests());
+        init();
     }
 
     /**
@@ -173,202 +296,512 @@ public final class ElasticsearchMetricExporter implements MetricExporter {
     @SuppressWarnings("exports")
     public ElasticsearchMetricExporter(
             URI addBulkApi, Function<String, CompletableResultCode> sendMetrics) {
+        this(
+                addBulkApi,
+                new ElasticsearchMetricExporterConfiguration.Builder().build(),
+                sendMetrics);
+    }
+
+    /**
+     * @hidden for tests
+     */
+    @SuppressWarnings("exports")
+    public ElasticsearchMetricExporter(
+            URI addBulkApi,
+            ElasticsearchMetricExporterConfiguration config,
+            Function<String, CompletableResultCode> sendMetrics) {
+        this(
+                addBulkApi,
+                config,
+                new BulkDispatcher(
+                        body -> {
+                            try {
+                                return sendMetrics.apply(body.toString());
+                            } finally {
+                                body.release();
+                            }
+                        },
+                        config.maxInFlightRequests()));
+    }
+
+    /**
+     * Unlike the String hook it does not decode bulk bodies, they are released right away and only
+     * their sizes are passed to the sendBody
+     *
+     * @hidden for benchmarks
+     */
+    @SuppressWarnings("exports")
+    public static ElasticsearchMetricExporter withBodySizes(
+            URI addBulkApi,
+            ElasticsearchMetricExporterConfiguration config,
+            LongFunction<CompletableResultCode> sendBody) {
+        return new ElasticsearchMetricExporter(
+                addBulkApi,
+                config,
+                new BulkDispatcher(
+                        body -> {
+                            try {
+                                return sendBody.apply(body.contentLength());
+                            } finally {
+                                body.release();
+                            }
+                        },
+                        config.maxInFlightRequests()));
+    }
+
+    private ElasticsearchMetricExporter(
+            URI addBulkApi,
+            ElasticsearchMetricExporterConfiguration config,
+            BulkDispatcher dispatcher) {
         this.addBulkApi = addBulkApi;
-        this.sendMetrics = sendMetrics;
+        this.config = config;
+        this.dispatcher = dispatcher;
+        init();
+    }
+
+    private void init() {
+        percentiles = config.percentiles();
+        percentileFields = HistogramPercentiles.fieldNames(percentiles);
+        router =
+                new IndexRouter(IndexRouter.indexName(addBulkApi.getPath()), config.indexRouting());
+        if (config.jmx()) stats.registerMBean(getClass());
+        config.meter().ifPresent(stats::registerInstruments);
+        if (config.exportQueueSize() != 0)
+            queue =
+                    Optional.of(
+                            new ExportQueue(
+                                    config.exportQueueSize(),
+                                    config.exportQueuePolicy(),
+                                    this::exportNow));
     }
 
     @SuppressWarnings("exports")
     @Override
     public CompletableResultCode export(Collection<MetricData> metrics) {
         LOGGER.fine("Received a collection of {0} metrics for export.", metrics.size());
-        var json = new StringBuilder();
-        for (MetricData metricData : metrics) {
-            LOGGER.fine("metric: {0}", metricData);
-            var jsonDataBuilder = new XJsonStringBuilder();
-            jsonDataBuilder.append(
-                    ExportSchema.SCOPE_NAME, metricData.getInstrumentationScopeInfo().getName());
-            jsonDataBuilder.append(
-                    ExportSchema.SCOPE_VERSION,
-                    metricData.getInstrumentationScopeInfo().getVersion());
-            jsonDataBuilder.append(
-                    ExportSchema.SCOPE_SCHEMA,
-                    metricData.getInstrumentationScopeInfo().getSchemaUrl());
-            switch (metricData.getType()) {
-                case LONG_SUM ->
-                        appendLongSumJson(
-                                metricData.getName(),
-                                jsonDataBuilder,
-                                metricData.getLongSumData(),
-                                json);
-                case HISTOGRAM ->
-                        appendHistogramJson(
-                                metricData.getName(),
-                                jsonDataBuilder,
-                                metricData.getHistogramData(),
-                                json);
-                case DOUBLE_GAUGE ->
-                        appendDoubleGaugeJson(
-                                metricData.getName(),
-                                jsonDataBuilder,
-                                metricData.getDoubleGaugeData(),
-                                json);
-                case LONG_GAUGE ->
-                        appendLongGaugeJson(
-                                metricData.getName(),
-                                jsonDataBuilder,
-                                metricData.getLongGaugeData(),
-                                json);
-                default -> {
-                    LOGGER.warning("metric {0} not supported, ignoring...", metricData.getType());
+        if (isShutdown.get()) {
+            LOGGER.warning("Exporter is shut down, ignoring {0} metrics", metrics.size());
+            return CompletableResultCode.ofFailure();
+        }
+        var result = queue.map(q -> q.submit(metrics)).orElseGet(() -> exportNow(metrics));
+        pending.add(result);
+        result.whenComplete(
+                () -> {
+                    pending.remove(result);
+                    stats.recordExport(result.isSuccess());
+                    if (result.getFailureThrowable() instanceof DroppedMetricsException e) {
+                        droppedExports.addAndGet(e.getDroppedExports());
+                        droppedMetrics.addAndGet(e.getDroppedMetrics());
+                        stats.recordDroppedMetrics(e.getDroppedMetrics());
+                    }
+                });
+        return result;
+    }
+
+    /** Serializes metrics and passes them to the dispatcher */
+    private CompletableResultCode exportNow(Collection<MetricData> metrics) {
+        template.ifPresent(IndexTemplate::install);
+        var export = dispatcher.newExport();
+        var startNanos = System.nanoTime();
+        var points = 0;
+        if (config.parallelSerializationMinPoints() != 0)
+            for (var metric : metrics) points += pointCount(metric);
+        List<BulkWriter> writers;
+        try {
+            if (config.parallelSerializationMinPoints() == 0
+                    || points < config.parallelSerializationMinPoints())
+                writers =
+                        List.of(
+                                serialize(
+                                        export,
+                                        writer -> {
+                                            for (var metric : metrics)
+                                                append(metric, 0, pointCount(metric), writer);
+                                        }));
+            else writers = serializeInParallel(export, split(metrics, points));
+        } catch (RuntimeException e) {
+            LOGGER.severe(e);
+            // bodies which were already submitted are still sent, export fails once they are
+            var result = new CompletableResultCode();
+            export.close().whenComplete(() -> result.failExceptionally(e));
+            return result;
+        }
+        stats.recordSerialization(
+                System.nanoTime() - startNanos,
+                writers.stream().mapToInt(BulkWriter::documents).sum(),
+                writers.stream().mapToLong(BulkWriter::bytes).sum());
+        return export.close();
+    }
+
+    /**
+     * Serializes each range into its own bulk bodies. First range is serialized on the current
+     * thread.
+     *
+     * @return writers of all ranges
+     */
+    private List<BulkWriter> serializeInParallel(
+            BulkDispatcher.Export export, List<List<Slice>> ranges) {
+        var futures = new ArrayList<CompletableFuture<BulkWriter>>();
+        for (var range : ranges.subList(1, ranges.size())) {
+            Supplier<BulkWriter> task = () -> serialize(export, range);
+            CompletableFuture<BulkWriter> future;
+            try {
+                future = CompletableFuture.supplyAsync(task, config.serializationExecutor());
+            } catch (RejectedExecutionException e) {
+                future = CompletableFuture.supplyAsync(task, Runnable::run);
+            }
+            futures.add(future);
+        }
+        var writers = new ArrayList<BulkWriter>();
+        RuntimeException ex = null;
+        try {
+            writers.add(serialize(export, ranges.get(0)));
+        } catch (RuntimeException e) {
+            ex = e;
+        }
+        // all ranges should complete before the export is closed
+        for (var future : futures) {
+            try {
+                writers.add(future.join());
+            } catch (CompletionException e) {
+                if (ex == null) ex = e.getCause() instanceof RuntimeException c ? c : e;
+            }
+        }
+        if (ex != null) throw ex;
+        return writers;
+    }
+
+    private BulkWriter serialize(BulkDispatcher.Export export, List<Slice> range) {
+        return serialize(
+                export,
+                writer -> {
+                    for (var slice : range)
+                        append(slice.metric(), slice.fromPoint(), slice.toPoint(), writer);
+                });
+    }
+
+    /**
+     * Writes documents into new bulk bodies which are submitted to the export. If writing fails,
+     * the body which was not submitted yet is released.
+     *
+     * @return writer which was used
+     */
+    private BulkWriter serialize(BulkDispatcher.Export export, Consumer<BulkWriter> documents) {
+        var encoder =
+                Optional.ofNullable(encoders.poll())
+                        .orElseGet(() -> new NdjsonEncoder(config.timestampFormat()));
+        var writer =
+                new BulkWriter(
+                        encoder,
+                        this::newBulkBody,
+                        config.maxBulkSizeInBytes(),
+                        config.maxBulkDocuments(),
+                        export::submit);
+        try {
+            documents.accept(writer);
+            writer.flush();
+        } catch (RuntimeException e) {
+            writer.discard();
+            throw e;
+        } finally {
+            encoders.offer(encoder);
+        }
+        return writer;
+    }
+
+    /**
+     * Splits points of all metrics into ranges of equal size. Metrics with many points can be split
+     * between several ranges.
+     */
+    private List<List<Slice>> split(Collection<MetricData> metrics, int points) {
+        var parallelism = config.serializationParallelism();
+        var rangeSize = (points + parallelism - 1) / parallelism;
+        var ranges = new ArrayList<List<Slice>>();
+        var range = new ArrayList<Slice>();
+        var rangePoints = 0;
+        for (var metric : metrics) {
+            var count = pointCount(metric);
+            var from = 0;
+            while (from < count) {
+                var to = Math.min(count, from + rangeSize - rangePoints);
+                range.add(new Slice(metric, from, to));
+                rangePoints += to - from;
+                from = to;
+                if (rangePoints == rangeSize) {
+                    ranges.add(range);
+                    range = new ArrayList<>();
+                    rangePoints = 0;
                 }
             }
         }
-        return sendMetrics.apply(json.toString());
+        if (!range.isEmpty()) ranges.add(range);
+        return ranges;
+    }
+
+    private static int pointCount(MetricData metric) {
+        return metric.getData().getPoints().size();
+    }
+
+    /** Writes documents for the points from fromPoint (inclusive) to toPoint (exclusive) */
+    private void append(MetricData metricData, int fromPoint, int toPoint, BulkWriter writer) {
+        LOGGER.fine("metric: {0}", metricData);
+        switch (metricData.getType()) {
+            case LONG_SUM ->
+                    appendLongSumJson(
+                            metricData,
+                            slice(metricData.getLongSumData().getPoints(), fromPoint, toPoint),
+                            writer);
+            case HISTOGRAM ->
+                    appendHistogramJson(
+                            metricData,
+                            slice(metricData.getHistogramData().getPoints(), fromPoint, toPoint),
+                            writer);
+            case DOUBLE_GAUGE ->
+                    appendDoubleGaugeJson(
+                            metricData,
+                            slice(metricData.getDoubleGaugeData().getPoints(), fromPoint, toPoint),
+                            writer);
+            case LONG_GAUGE ->
+                    appendLongGaugeJson(
+                            metricData,
+                            slice(metricData.getLongGaugeData().getPoints(), fromPoint, toPoint),
+                            writer);
+            case DOUBLE_SUM ->
+                    appendDoubleSumJson(
+                            metricData,
+                            slice(metricData.getDoubleSumData().getPoints(), fromPoint, toPoint),
+                            writer);
+            case EXPONENTIAL_HISTOGRAM ->
+                    appendExponentialHistogramJson(
+                            metricData,
+                            slice(
+                                    metricData.getExponentialHistogramData().getPoints(),
+                                    fromPoint,
+                                    toPoint),
+                            writer);
+            case SUMMARY ->
+                    appendSummaryJson(
+                            metricData,
+                            slice(metricData.getSummaryData().getPoints(), fromPoint, toPoint),
+                            writer);
+            default -> {
+                LOGGER.warning("metric {0} not supported, ignoring...", metricData.getType());
+            }
+        }
+    }
+
+    private static <T> Collection<T> slice(Collection<T> points, int fromPoint, int toPoint) {
+        if (fromPoint == 0 && toPoint == points.size()) return points;
+        if (points instanceof List<T> list) return list.subList(fromPoint, toPoint);
+        return points.stream().skip(fromPoint).limit(toPoint - fromPoint).toList();
+    }
+
+    private BulkBody newBulkBody() {
+        if (!config.compression()) return new BulkBody(bufferPool);
+        return new BulkBody(
+                bufferPool,
+                Optional.of(
+                        new BulkBody.Compression(
+                                config.compressionLevel(), config.compressionMinSizeInBytes())));
     }
 
     private void appendLongGaugeJson(
-            String name,
-            XJsonStringBuilder jsonDataBuilder,
-            GaugeData<LongPointData> data,
-            StringBuilder json) {
-        if (data.getPoints().isEmpty()) return;
-        for (var p : data.getPoints()) {
-            jsonDataBuilder.append(ExportSchema.METRIC_NAME, name);
-            jsonDataBuilder.append(ExportSchema.METRIC_TYPE, "longGauge");
-            jsonDataBuilder.append(ExportSchema.VALUE, p.getValue());
-            appendPointData(jsonDataBuilder, p);
-            var entry = jsonDataBuilder.build();
-            json.append(CREATE_JSON).append("\n").append(entry).append("\n");
+            MetricData metric, Collection<LongPointData> points, BulkWriter writer) {
+        for (var p : points) {
+            beginDocument(writer.encoder(), metric, "longGauge");
+            writer.encoder().field(ExportSchema.VALUE, p.getValue());
+            endDocument(writer, p);
         }
     }
 
     private void appendDoubleGaugeJson(
-            String name,
-            XJsonStringBuilder jsonDataBuilder,
-            GaugeData<DoublePointData> data,
-            StringBuilder json) {
-        if (data.getPoints().isEmpty()) return;
-        for (var p : data.getPoints()) {
-            jsonDataBuilder.append(ExportSchema.METRIC_NAME, name);
-            jsonDataBuilder.append(ExportSchema.METRIC_TYPE, "doubleGauge");
-            jsonDataBuilder.append(ExportSchema.VALUE, p.getValue());
-            appendPointData(jsonDataBuilder, p);
-            var entry = jsonDataBuilder.build();
-            json.append(CREATE_JSON).append("\n").append(entry).append("\n");
+            MetricData metric, Collection<DoublePointData> points, BulkWriter writer) {
+        for (var p : points) {
+            beginDocument(writer.encoder(), metric, "doubleGauge");
+            writer.encoder().field(ExportSchema.VALUE, p.getValue());
+            endDocument(writer, p);
         }
     }
 
     private void appendHistogramJson(
-            String name,
-            XJsonStringBuilder jsonDataBuilder,
-            HistogramData data,
-            StringBuilder json) {
-        if (data.getPoints().isEmpty()) return;
-        for (var p : data.getPoints()) {
-            jsonDataBuilder.append(ExportSchema.METRIC_NAME, name);
-            jsonDataBuilder.append(ExportSchema.METRIC_TYPE, "histogram");
-            jsonDataBuilder.append(ExportSchema.COUNT, p.getCount());
-            jsonDataBuilder.append(ExportSchema.SUM, p.getSum());
-            jsonDataBuilder.append(ExportSchema.MIN, p.getMin());
-            jsonDataBuilder.append(ExportSchema.MAX, p.getMax());
-            jsonDataBuilder.append(ExportSchema.AVG, p.getSum() / p.getCount());
-            appendPointData(jsonDataBuilder, p);
-            var entry = jsonDataBuilder.build();
-            json.append(CREATE_JSON).append("\n").append(entry).append("\n");
+            MetricData metric, Collection<HistogramPointData> points, BulkWriter writer) {
+        var encoder = writer.encoder();
+        for (var p : points) {
+            beginDocument(encoder, metric, "histogram");
+            encoder.field(ExportSchema.COUNT, p.getCount());
+            encoder.field(ExportSchema.SUM, p.getSum());
+            encoder.field(ExportSchema.MIN, p.getMin());
+            encoder.field(ExportSchema.MAX, p.getMax());
+            encoder.field(ExportSchema.AVG, p.getSum() / p.getCount());
+            for (int i = 0; i < percentiles.length; i++)
+                encoder.field(
+                        percentileFields[i], HistogramPercentiles.percentile(p, percentiles[i]));
+            if (config.histogramBuckets()) appendBuckets(encoder, p);
+            endDocument(writer, p);
+        }
+    }
+
+    /** Writes non-empty buckets in the format of Elasticsearch histogram field */
+    private void appendBuckets(NdjsonEncoder encoder, HistogramPointData p) {
+        var counts = p.getCounts();
+        encoder.beginObject(ExportSchema.BUCKETS);
+        encoder.beginArray("values");
+        for (int i = 0; i < counts.size(); i++)
+            if (counts.get(i) != 0) encoder.arrayValue(HistogramPercentiles.midpoint(p, i));
+        encoder.endArray();
+        encoder.beginArray("counts");
+        for (int i = 0; i < counts.size(); i++)
+            if (counts.get(i) != 0) encoder.arrayValue(counts.get(i).longValue());
+        encoder.endArray();
+        encoder.endObject();
+    }
+
+    /**
+     * Buckets are written as is, without expanding them: offset of the first bucket and counts of
+     * all buckets starting from it
+     */
+    private void appendExponentialHistogramJson(
+            MetricData metric,
+            Collection<ExponentialHistogramPointData> points,
+            BulkWriter writer) {
+        var encoder = writer.encoder();
+        for (var p : points) {
+            beginDocument(encoder, metric, "exponentialHistogram");
+            encoder.field(ExportSchema.COUNT, p.getCount());
+            encoder.field(ExportSchema.SUM, p.getSum());
+            encoder.field(ExportSchema.MIN, p.getMin());
+            encoder.field(ExportSchema.MAX, p.getMax());
+            encoder.field(ExportSchema.AVG, p.getSum() / p.getCount());
+            encoder.field(ExportSchema.SCALE, p.getScale());
+            encoder.field(ExportSchema.ZERO_COUNT, p.getZeroCount());
+            appendBuckets(encoder, ExportSchema.POSITIVE, p.getPositiveBuckets());
+            appendBuckets(encoder, ExportSchema.NEGATIVE, p.getNegativeBuckets());
+            for (int i = 0; i < percentiles.length; i++)
+                encoder.field(
+                        percentileFields[i], HistogramPercentiles.percentile(p, percentiles[i]));
+            endDocument(writer, p);
+        }
+    }
+
+    private void appendBuckets(
+            NdjsonEncoder encoder, String name, ExponentialHistogramBuckets buckets) {
+        var counts = buckets.getBucketCounts();
+        if (counts.isEmpty()) return;
+        encoder.beginObject(name);
+        encoder.field("offset", buckets.getOffset());
+        encoder.beginArray("counts");
+        for (int i = 0; i < counts.size(); i++) encoder.arrayValue(counts.get(i).longValue());
+        encoder.endArray();
+        encoder.endObject();
+    }
+
+    /** Quantiles are written as percentile fields ("P50", "P99") */
+    private void appendSummaryJson(
+            MetricData metric, Collection<SummaryPointData> points, BulkWriter writer) {
+        var encoder = writer.encoder();
+        for (var p : points) {
+            beginDocument(encoder, metric, "summary");
+            encoder.field(ExportSchema.COUNT, p.getCount());
+            encoder.field(ExportSchema.SUM, p.getSum());
+            encoder.field(ExportSchema.AVG, p.getSum() / p.getCount());
+            for (var v : p.getValues())
+                encoder.field(HistogramPercentiles.fieldName(v.getQuantile() * 100), v.getValue());
+            endDocument(writer, p);
+        }
+    }
+
+    private void appendDoubleSumJson(
+            MetricData metric, Collection<DoublePointData> points, BulkWriter writer) {
+        for (var p : points) {
+            beginDocument(writer.encoder(), metric, "doubleCounter");
+            writer.encoder().field(ExportSchema.VALUE, p.getValue());
+            endDocument(writer, p);
         }
     }
 
     private void appendLongSumJson(
-            String name,
-            XJsonStringBuilder jsonDataBuilder,
-            SumData<LongPointData> data,
-            StringBuilder json) {
-        if (data.getPoints().isEmpty()) return;
-        for (var p : data.getPoints()) {
-            jsonDataBuilder.append(ExportSchema.METRIC_NAME, name);
-            jsonDataBuilder.append(ExportSchema.METRIC_TYPE, "counter");
-            jsonDataBuilder.append(ExportSchema.VALUE, p.getValue());
-            appendPointData(jsonDataBuilder, p);
-            var entry = jsonDataBuilder.build();
-            json.append(CREATE_JSON).append("\n").append(entry).append("\n");
+            MetricData metric, Collection<LongPointData> points, BulkWriter writer) {
+        for (var p : points) {
+            beginDocument(writer.encoder(), metric, "counter");
+            writer.encoder().field(ExportSchema.VALUE, p.getValue());
+            endDocument(writer, p);
         }
     }
 
-    private void appendPointData(XJsonStringBuilder jsonDataBuilder, PointData p) {
-        jsonDataBuilder.append(ExportSchema.START_TIME, asTimeString(p.getStartEpochNanos()));
-        jsonDataBuilder.append(ExportSchema.END_TIME, asTimeString(p.getEpochNanos()));
-        p.getAttributes().asMap().entrySet().stream()
-                .forEach(
-                        e ->
-                                jsonDataBuilder.append(
-                                        ExportSchema.ATTR_PREFIX + e.getKey(), e.getValue()));
+    /** Each document starts with scope and metric fields */
+    private void beginDocument(NdjsonEncoder encoder, MetricData metric, String metricType) {
+        encoder.beginDocument();
+        encoder.scope(metric.getInstrumentationScopeInfo());
+        encoder.field(ExportSchema.METRIC_NAME, metric.getName());
+        encoder.field(ExportSchema.METRIC_TYPE, metricType);
     }
 
-    private CompletableResultCode sendMetrics(String metricsJson) {
-        var builder =
-                HttpRequest.newBuilder(addBulkApi)
-                        .POST(BodyPublishers.ofString(metricsJson.toString()))
-                        .header("Content-Type", "application/json");
-        if (timeout != Duration.ZERO) builder.timeout(timeout);
-        var request = builder.build();
-        var code = new CompletableResultCode();
-        LOGGER.info("Sending metrics");
-        client.sendAsync(request, BodyHandlers.ofString())
-                .whenComplete(
-                        (response, ex) -> {
-                            LOGGER.info("Metrics sent");
-                            if (ex instanceof CompletionException e) {
-                                handleException(e.getCause());
-                                code.fail();
-                            } else if (handleException(ex)) {
-                                code.fail();
-                            } else if (response.statusCode() != 200) {
-                                LOGGER.severe(
-                                        "Failed to send metrics to ElasticSearch, response code"
-                                                + " {0}: {1}",
-                                        response.statusCode(), response.body());
-                                code.fail();
-                                return;
-                            }
-                            code.succeed();
-                        });
-        return code;
-    }
-
-    private boolean handleException(Throwable ex) {
-        if (ex instanceof ConnectException e) {
-            LOGGER.severe("Could not send metrics due to connection problems");
-            return true;
-        } else if (ex instanceof HttpConnectTimeoutException e) {
-            LOGGER.severe("HTTP connection timeout: {0}", e.getMessage());
-            return true;
-        } else if (ex instanceof InterruptedException e) {
-            LOGGER.severe("Interrupted: {0}", e.getMessage());
-            return true;
-        } else if (ex instanceof IOException e) {
-            LOGGER.severe(e);
-            return true;
-        } else if (ex != null) {
-            LOGGER.severe("Sending metrics error: {0}", ex.getMessage());
-            return true;
-        } else return false;
+    /** Each document ends with point times and attributes */
+    private void endDocument(BulkWriter writer, PointData p) {
+        var encoder = writer.encoder();
+        encoder.timestamp(ExportSchema.START_TIME, p.getStartEpochNanos());
+        encoder.timestamp(ExportSchema.END_TIME, p.getEpochNanos());
+        if (router.isDataStream()) encoder.timestamp(ExportSchema.TIMESTAMP, p.getEpochNanos());
+        encoder.attributes(p.getAttributes());
+        encoder.endDocument();
+        writer.writeDocument(router.actionLine(p.getEpochNanos()));
     }
 
-    private String asTimeString(long epochNanos) {
-        return ZonedDateTime.ofInstant(Instant.ofEpochMilli(epochNanos / 1000000), ZoneOffset.UTC)
-                .toString();
+    /** Telemetry of this exporter */
+    public ExporterStatsMXBean stats() {
+        return stats;
     }
 
+    /**
+     * Completes when all exports which were made so far are sent (including the ones which are
+     * waiting in the export queue). Fails with {@link DroppedMetricsException} if any exports were
+     * dropped since the last flush.
+     */
     @Override
     public CompletableResultCode flush() {
         LOGGER.fine("flush");
-        return CompletableResultCode.ofSuccess();
+        var all = CompletableResultCode.ofAll(List.copyOf(pending));
+        var result = new CompletableResultCode();
+        all.whenComplete(() -> complete(result, all.isSuccess()));
+        return result;
     }
 
+    /**
+     * Stops accepting new exports and waits until all queued and in-flight exports are completed,
+     * but not longer than {@link ElasticsearchMetricExporterConfiguration#shutdownTimeout()}. Fails
+     * with {@link DroppedMetricsException} if any exports were dropped since the last flush.
+     */
     @Override
     public CompletableResultCode shutdown() {
         LOGGER.fine("shutdown");
-        return CompletableResultCode.ofSuccess();
+        if (!isShutdown.compareAndSet(false, true)) return CompletableResultCode.ofSuccess();
+        var timeout = config.shutdownTimeout();
+        var deadline = System.nanoTime() + timeout.toNanos();
+        queue.ifPresent(q -> q.close(timeout));
+        var all = CompletableResultCode.ofAll(List.copyOf(pending));
+        all.join(
+                Math.max(0, TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime())),
+                TimeUnit.MILLISECONDS);
+        if (!all.isDone())
+            LOGGER.severe(
+                    "{0} exports did not complete within shutdown timeout {1}",
+                    pending.size(), timeout);
+        sender.ifPresent(BulkSender::close);
+        stats.close();
+        var result = new CompletableResultCode();
+        complete(result, all.isDone() && all.isSuccess());
+        return result;
+    }
+
+    private void complete(CompletableResultCode result, boolean isSuccess) {
+        var exports = droppedExports.getAndSet(0);
+        var metrics = droppedMetrics.getAndSet(0);
+        if (exports != 0) {
+            var ex = new DroppedMetricsException(exports, metrics);
+            LOGGER.warning(ex.getMessage());
+            result.failExceptionally(ex);
+        } else if (isSuccess) result.succeed();
+        else result.fail();
     }
 
     @Override
@@ -0,0 +1,761 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import io.opentelemetry.api.metrics.Meter;
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.Deflater;
+
+/**
+ * Configuration for {@link ElasticsearchMetricExporter}
+ *
+ * <pre>{@code
+ * var config = new ElasticsearchMetricExporterConfiguration.Builder()
+ *   .maxBulkSizeInBytes(5_000_000)
+ *   .maxInFlightRequests(2)
+ *   .build();
+ * }</pre>
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public class ElasticsearchMetricExporterConfiguration implements Cloneable {
+    /** What to do with new export when export queue is full */
+    public enum QueuePolicy {
+        /** Block {@link ElasticsearchMetricExporter#export} until queue has space */
+        BLOCK,
+        /** Drop the oldest export in the queue */
+        DROP_OLDEST,
+        /** Drop the new export */
+        DROP_NEWEST
+    }
+
+    /** How bulk requests are distributed between Elasticsearch nodes */
+    public enum LoadBalancing {
+        /** Nodes are used one after another */
+        ROUND_ROBIN,
+        /** Node with the least number of in-flight requests is used */
+        LEAST_OUTSTANDING_REQUESTS
+    }
+
+    /**
+     * Which index each document is written to. Time based indices are derived from the {@link
+     * ExportSchema#END_TIME} of the point (in UTC) and are named after the index of the exporter
+     * URI: "metrics-2026.10.16", "metrics-2026.10.16.13".
+     */
+    public enum IndexRouting {
+        /** Index of the exporter URI */
+        NONE,
+        DAILY,
+        HOURLY,
+        /**
+         * Exporter URI names the <a
+         * href="https://www.elastic.co/guide/en/elasticsearch/reference/current/data-streams.html">data
+         * stream</a> and each document gets {@link ExportSchema#TIMESTAMP} field which data streams
+         * require
+         */
+        DATA_STREAM
+    }
+
+    /**
+     * How index template stores the original documents (see <a
+     * href="https://www.elastic.co/guide/en/elasticsearch/reference/current/mapping-source-field.html">_source
+     * field</a>)
+     */
+    public enum SourceMode {
+        /** Documents are stored as they were sent (Elasticsearch default) */
+        STORED,
+        /** Documents are reconstructed from the indexed fields, which takes less space */
+        SYNTHETIC,
+        /** Documents are not stored, only aggregations and searches are possible */
+        DISABLED
+    }
+
+    /** Elasticsearch recommends to keep bulk requests in the range of 5-15MB */
+    public static final int DEFAULT_MAX_BULK_SIZE_IN_BYTES = 10 * 1024 * 1024;
+
+    public static final int DEFAULT_MAX_BULK_DOCUMENTS = Integer.MAX_VALUE;
+    public static final int DEFAULT_MAX_IN_FLIGHT_REQUESTS = 4;
+
+    /** Metrics documents are very repetitive so even the fastest level compresses them well */
+    public static final int DEFAULT_COMPRESSION_LEVEL = Deflater.BEST_SPEED;
+
+    public static final int DEFAULT_COMPRESSION_MIN_SIZE_IN_BYTES = 4 * 1024;
+    public static final int DEFAULT_MAX_RETRIES = 3;
+    public static final Duration DEFAULT_RETRY_INITIAL_BACKOFF = Duration.ofMillis(100);
+    public static final Duration DEFAULT_RETRY_MAX_BACKOFF = Duration.ofSeconds(5);
+    public static final long DEFAULT_MAX_SPOOL_SIZE_IN_BYTES = 1024L * 1024 * 1024;
+    public static final int DEFAULT_SPOOL_SEGMENT_SIZE_IN_BYTES = 64 * 1024 * 1024;
+    public static final Duration DEFAULT_SHUTDOWN_TIMEOUT = Duration.ofSeconds(10);
+    public static final Duration DEFAULT_DEAD_NODE_INITIAL_BACKOFF = Duration.ofSeconds(1);
+    public static final Duration DEFAULT_DEAD_NODE_MAX_BACKOFF = Duration.ofMinutes(1);
+    public static final Duration DEFAULT_INDEX_TEMPLATE_TIMEOUT = Duration.ofSeconds(10);
+
+    private Duration timeout = Duration.ZERO;
+    private boolean insecure;
+    private int maxBulkSizeInBytes = DEFAULT_MAX_BULK_SIZE_IN_BYTES;
+    private int maxBulkDocuments = DEFAULT_MAX_BULK_DOCUMENTS;
+    private int maxInFlightRequests = DEFAULT_MAX_IN_FLIGHT_REQUESTS;
+    private boolean compression;
+    private int compressionLevel = DEFAULT_COMPRESSION_LEVEL;
+    private int compressionMinSizeInBytes = DEFAULT_COMPRESSION_MIN_SIZE_IN_BYTES;
+    private int maxRetries = DEFAULT_MAX_RETRIES;
+    private Duration retryInitialBackoff = DEFAULT_RETRY_INITIAL_BACKOFF;
+    private Duration retryMaxBackoff = DEFAULT_RETRY_MAX_BACKOFF;
+    private Optional<Path> spoolDirectory = Optional.empty();
+    private long maxSpoolSizeInBytes = DEFAULT_MAX_SPOOL_SIZE_IN_BYTES;
+    private int spoolSegmentSizeInBytes = DEFAULT_SPOOL_SEGMENT_SIZE_IN_BYTES;
+    private int exportQueueSize;
+    private QueuePolicy exportQueuePolicy = QueuePolicy.BLOCK;
+    private Duration shutdownTimeout = DEFAULT_SHUTDOWN_TIMEOUT;
+    private TimestampFormat timestampFormat = TimestampFormat.ISO_8601;
+    private double[] percentiles = {};
+    private boolean histogramBuckets;
+    private boolean jmx;
+    private Optional<Meter> meter = Optional.empty();
+    private List<URI> nodes = List.of();
+    private LoadBalancing loadBalancing = LoadBalancing.ROUND_ROBIN;
+    private Duration deadNodeInitialBackoff = DEFAULT_DEAD_NODE_INITIAL_BACKOFF;
+    private Duration deadNodeMaxBackoff = DEFAULT_DEAD_NODE_MAX_BACKOFF;
+    private boolean http2;
+    private Optional<Executor> executor = Optional.empty();
+    private IndexRouting indexRouting = IndexRouting.NONE;
+    private boolean indexTemplate;
+    private Duration indexTemplateTimeout = DEFAULT_INDEX_TEMPLATE_TIMEOUT;
+    private SourceMode sourceMode = SourceMode.STORED;
+    private int parallelSerializationMinPoints;
+    private int serializationParallelism = 1;
+    private Executor serializationExecutor = ForkJoinPool.commonPool();
+
+    /**
+     * @see Builder#timeout(Duration)
+     */
+    public Duration timeout() {
+        return timeout;
+    }
+
+    /**
+     * @see Builder#insecure(boolean)
+     */
+    public boolean insecure() {
+        return insecure;
+    }
+
+    /**
+     * @see Builder#maxBulkSizeInBytes(int)
+     */
+    public int maxBulkSizeInBytes() {
+        return maxBulkSizeInBytes;
+    }
+
+    /**
+     * @see Builder#maxBulkDocuments(int)
+     */
+    public int maxBulkDocuments() {
+        return maxBulkDocuments;
+    }
+
+    /**
+     * @see Builder#maxInFlightRequests(int)
+     */
+    public int maxInFlightRequests() {
+        return maxInFlightRequests;
+    }
+
+    /**
+     * @see Builder#compression(boolean)
+     */
+    public boolean compression() {
+        return compression;
+    }
+
+    /**
+     * @see Builder#compressionLevel(int)
+     */
+    public int compressionLevel() {
+        return compressionLevel;
+    }
+
+    /**
+     * @see Builder#compressionMinSizeInBytes(int)
+     */
+    public int compressionMinSizeInBytes() {
+        return compressionMinSizeInBytes;
+    }
+
+    /**
+     * @see Builder#maxRetries(int)
+     */
+    public int maxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * @see Builder#retryBackoff(Duration, Duration)
+     */
+    public Duration retryInitialBackoff() {
+        return retryInitialBackoff;
+    }
+
+    /**
+     * @see Builder#retryBackoff(Duration, Duration)
+     */
+    public Duration retryMaxBackoff() {
+        return retryMaxBackoff;
+    }
+
+    /**
+     * @see Builder#spoolDirectory(Path)
+     */
+    public Optional<Path> spoolDirectory() {
+        return spoolDirectory;
+    }
+
+    /**
+     * @see Builder#maxSpoolSizeInBytes(long)
+     */
+    public long maxSpoolSizeInBytes() {
+        return maxSpoolSizeInBytes;
+    }
+
+    /**
+     * @see Builder#spoolSegmentSizeInBytes(int)
+     */
+    public int spoolSegmentSizeInBytes() {
+        return spoolSegmentSizeInBytes;
+    }
+
+    /**
+     * @see Builder#exportQueue(int, QueuePolicy)
+     */
+    public int exportQueueSize() {
+        return exportQueueSize;
+    }
+
+    /**
+     * @see Builder#exportQueue(int, QueuePolicy)
+     */
+    public QueuePolicy exportQueuePolicy() {
+        return exportQueuePolicy;
+    }
+
+    /**
+     * @see Builder#shutdownTimeout(Duration)
+     */
+    public Duration shutdownTimeout() {
+        return shutdownTimeout;
+    }
+
+    /**
+     * @see Builder#timestampFormat(TimestampFormat)
+     */
+    public TimestampFormat timestampFormat() {
+        return timestampFormat;
+    }
+
+    /**
+     * @see Builder#percentiles(double...)
+     */
+    public double[] percentiles() {
+        return percentiles.clone();
+    }
+
+    /**
+     * @see Builder#histogramBuckets(boolean)
+     */
+    public boolean histogramBuckets() {
+        return histogramBuckets;
+    }
+
+    /**
+     * @see Builder#jmx(boolean)
+     */
+    public boolean jmx() {
+        return jmx;
+    }
+
+    /**
+     * @see Builder#meter(Meter)
+     */
+    public Optional<Meter> meter() {
+        return meter;
+    }
+
+    /**
+     * @see Builder#nodes(URI...)
+     */
+    public List<URI> nodes() {
+        return nodes;
+    }
+
+    /**
+     * @see Builder#loadBalancing(LoadBalancing)
+     */
+    public LoadBalancing loadBalancing() {
+        return loadBalancing;
+    }
+
+    /**
+     * @see Builder#deadNodeBackoff(Duration, Duration)
+     */
+    public Duration deadNodeInitialBackoff() {
+        return deadNodeInitialBackoff;
+    }
+
+    /**
+     * @see Builder#deadNodeBackoff(Duration, Duration)
+     */
+    public Duration deadNodeMaxBackoff() {
+        return deadNodeMaxBackoff;
+    }
+
+    /**
+     * @see Builder#http2(boolean)
+     */
+    public boolean http2() {
+        return http2;
+    }
+
+    /**
+     * @see Builder#executor(Executor)
+     */
+    public Optional<Executor> executor() {
+        return executor;
+    }
+
+    /**
+     * @see Builder#indexRouting(IndexRouting)
+     */
+    public IndexRouting indexRouting() {
+        return indexRouting;
+    }
+
+    /**
+     * @see Builder#indexTemplate(boolean)
+     */
+    public boolean indexTemplate() {
+        return indexTemplate;
+    }
+
+    /**
+     * @see Builder#indexTemplateTimeout(Duration)
+     */
+    public Duration indexTemplateTimeout() {
+        return indexTemplateTimeout;
+    }
+
+    /**
+     * @see Builder#sourceMode(SourceMode)
+     */
+    public SourceMode sourceMode() {
+        return sourceMode;
+    }
+
+    /**
+     * @see Builder#parallelSerialization(int, int)
+     */
+    public int parallelSerializationMinPoints() {
+        return parallelSerializationMinPoints;
+    }
+
+    /**
+     * @see Builder#parallelSerialization(int, int)
+     */
+    public int serializationParallelism() {
+        return serializationParallelism;
+    }
+
+    /**
+     * @see Builder#serializationExecutor(Executor)
+     */
+    public Executor serializationExecutor() {
+        return serializationExecutor;
+    }
+
+    /**
+     * @author lambdaprime intid@protonmail.com
+     */
+    public static class Builder {
+        private ElasticsearchMetricExporterConfiguration config =
+                new ElasticsearchMetricExporterConfiguration();
+
+        /** Connection and request timeout. Default is {@link Duration#ZERO} which means none. */
+        public Builder timeout(Duration timeout) {
+            config.timeout = timeout;
+            return this;
+        }
+
+        /** Allow connections to Elasticsearch with self-signed SSL certificates */
+        public Builder insecure(boolean insecure) {
+            config.insecure = insecure;
+            return this;
+        }
+
+        /**
+         * All metrics of one export are split into multiple bulk requests so that each of them is
+         * not bigger than given size (unless it consists of single document which is bigger than
+         * that). It should be kept below Elasticsearch <b>http.max_content_length</b>. Default is
+         * {@link ElasticsearchMetricExporterConfiguration#DEFAULT_MAX_BULK_SIZE_IN_BYTES}
+         */
+        public Builder maxBulkSizeInBytes(int maxBulkSizeInBytes) {
+            if (maxBulkSizeInBytes <= 0)
+                throw new IllegalArgumentException("Max bulk size must be positive");
+            config.maxBulkSizeInBytes = maxBulkSizeInBytes;
+            return this;
+        }
+
+        /** Maximum number of documents in a single bulk request. By default unlimited. */
+        public Builder maxBulkDocuments(int maxBulkDocuments) {
+            if (maxBulkDocuments <= 0)
+                throw new IllegalArgumentException("Max bulk documents must be positive");
+            config.maxBulkDocuments = maxBulkDocuments;
+            return this;
+        }
+
+        /**
+         * Maximum number of bulk requests which are sent to Elasticsearch concurrently. Rest of the
+         * requests wait until any of the in-flight requests completes. Default is {@link
+         * ElasticsearchMetricExporterConfiguration#DEFAULT_MAX_IN_FLIGHT_REQUESTS}
+         */
+        public Builder maxInFlightRequests(int maxInFlightRequests) {
+            if (maxInFlightRequests <= 0)
+                throw new IllegalArgumentException("Max in-flight requests must be positive");
+            config.maxInFlightRequests = maxInFlightRequests;
+            return this;
+        }
+
+        /**
+         * Send bulk requests compressed with gzip ("Content-Encoding: gzip"). Bodies are compressed
+         * while metrics are being serialized. By default compression is disabled.
+         */
+        public Builder compression(boolean compression) {
+            config.compression = compression;
+            return this;
+        }
+
+        /**
+         * Compression level from 0 to 9 (see {@link Deflater}). Default is {@link
+         * ElasticsearchMetricExporterConfiguration#DEFAULT_COMPRESSION_LEVEL}
+         */
+        public Builder compressionLevel(int compressionLevel) {
+            if (compressionLevel < Deflater.NO_COMPRESSION
+                    || compressionLevel > Deflater.BEST_COMPRESSION)
+                throw new IllegalArgumentException(
+                        "Invalid compression level: " + compressionLevel);
+            config.compressionLevel = compressionLevel;
+            return this;
+        }
+
+        /**
+         * Bulk requests smaller than given size are sent uncompressed. Default is {@link
+         * ElasticsearchMetricExporterConfiguration#DEFAULT_COMPRESSION_MIN_SIZE_IN_BYTES}
+         */
+        public Builder compressionMinSizeInBytes(int compressionMinSizeInBytes) {
+            if (compressionMinSizeInBytes < 0)
+                throw new IllegalArgumentException("Compression min size cannot be negative");
+            config.compressionMinSizeInBytes = compressionMinSizeInBytes;
+            return this;
+        }
+
+        /**
+         * How many times each bulk request can be resent. Requests are resent when they fail with
+         * connection errors or with HTTP status 429 (too many requests) or 502-504. When
+         * Elasticsearch accepts the request but rejects some of its documents with 429 or 5xx, only
+         * those documents are resent. Documents which were rejected for other reasons (for example
+         * mapping errors) are never resent. Set to 0 to disable retries. Default is {@link
+         * ElasticsearchMetricExporterConfiguration#DEFAULT_MAX_RETRIES}
+         */
+        public Builder maxRetries(int maxRetries) {
+            if (maxRetries < 0)
+                throw new IllegalArgumentException("Max retries cannot be negative");
+            config.maxRetries = maxRetries;
+            return this;
+        }
+
+        /**
+         * Retries are delayed using exponential backoff with jitter: delay before retry N is a
+         * random value between half and full of min(initial * 2^N, max). Default is {@link
+         * ElasticsearchMetricExporterConfiguration#DEFAULT_RETRY_INITIAL_BACKOFF} and {@link
+         * ElasticsearchMetricExporterConfiguration#DEFAULT_RETRY_MAX_BACKOFF}
+         */
+        public Builder retryBackoff(Duration initial, Duration max) {
+            if (initial.isNegative() || initial.compareTo(max) > 0)
+                throw new IllegalArgumentException(
+                        "Invalid retry backoff: " + initial + ", " + max);
+            config.retryInitialBackoff = initial;
+            config.retryMaxBackoff = max;
+            return this;
+        }
+
+        /**
+         * Directory where bulk requests which could not be sent (after all retries) are stored.
+         * They are replayed in order by the background thread once Elasticsearch is available
+         * again. While there are requests waiting to be replayed all new requests are stored there
+         * as well. Spool is preserved across restarts of the application. By default spool is
+         * disabled.
+         */
+        public Builder spoolDirectory(Path spoolDirectory) {
+            config.spoolDirectory = Optional.of(spoolDirectory);
+            return this;
+        }
+
+        /**
+         * Maximum size of the spool on the disk. When it is reached the oldest requests are
+         * dropped. Default is {@link
+         * ElasticsearchMetricExporterConfiguration#DEFAULT_MAX_SPOOL_SIZE_IN_BYTES}
+         */
+        public Builder maxSpoolSizeInBytes(long maxSpoolSizeInBytes) {
+            if (maxSpoolSizeInBytes <= 0)
+                throw new IllegalArgumentException("Max spool size must be positive");
+            config.maxSpoolSizeInBytes = maxSpoolSizeInBytes;
+            return this;
+        }
+
+        /**
+         * Spool consists of the segment files of given size (at least two of them). Segment should
+         * be bigger than {@link #maxBulkSizeInBytes(int)}, otherwise requests which do not fit into
+         * it are dropped. Default is {@link
+         * ElasticsearchMetricExporterConfiguration#DEFAULT_SPOOL_SEGMENT_SIZE_IN_BYTES}
+         */
+        public Builder spoolSegmentSizeInBytes(int spoolSegmentSizeInBytes) {
+            if (spoolSegmentSizeInBytes <= 0)
+                throw new IllegalArgumentException("Spool segment size must be positive");
+            config.spoolSegmentSizeInBytes = spoolSegmentSizeInBytes;
+            return this;
+        }
+
+        /**
+         * Serialize and send metrics on the separate worker thread. Each export is put into the
+         * queue of given size and {@link ElasticsearchMetricExporter#export} returns immediately.
+         * When queue is full new exports are handled according to the policy. By default queue is
+         * disabled and metrics are serialized on the thread which calls export.
+         */
+        public Builder exportQueue(int size, QueuePolicy policy) {
+            if (size <= 0) throw new IllegalArgumentException("Export queue size must be positive");
+            config.exportQueueSize = size;
+            config.exportQueuePolicy = policy;
+            return this;
+        }
+
+        /**
+         * How long {@link ElasticsearchMetricExporter#shutdown()} waits for all queued and
+         * in-flight exports to complete. Default is {@link
+         * ElasticsearchMetricExporterConfiguration#DEFAULT_SHUTDOWN_TIMEOUT}
+         */
+        public Builder shutdownTimeout(Duration shutdownTimeout) {
+            if (shutdownTimeout.isNegative() || shutdownTimeout.isZero())
+                throw new IllegalArgumentException("Shutdown timeout must be positive");
+            config.shutdownTimeout = shutdownTimeout;
+            return this;
+        }
+
+        /** Format of the point timestamps. Default is {@link TimestampFormat#ISO_8601} */
+        public Builder timestampFormat(TimestampFormat timestampFormat) {
+            config.timestampFormat = timestampFormat;
+            return this;
+        }
+
+        /**
+         * Percentiles (from 0 to 100) which are added to each histogram document as separate fields
+         * ("P50", "P99", "P99_9"). They are linearly interpolated from the histogram buckets. By
+         * default none.
+         */
+        public Builder percentiles(double... percentiles) {
+            config.percentiles = HistogramPercentiles.check(percentiles);
+            return this;
+        }
+
+        /**
+         * Add histogram buckets to each histogram document as <a
+         * href="https://www.elastic.co/guide/en/elasticsearch/reference/current/histogram.html">histogram
+         * field</a> {@link ExportSchema#BUCKETS} with midpoints of non-empty buckets as "values"
+         * and their counts as "counts". Field should be mapped as "histogram" in the index, then
+         * Elasticsearch can aggregate percentiles across the documents. By default disabled.
+         */
+        public Builder histogramBuckets(boolean histogramBuckets) {
+            config.histogramBuckets = histogramBuckets;
+            return this;
+        }
+
+        /**
+         * Register {@link ExporterStatsMXBean} of the exporter in the platform MBean server. It is
+         * unregistered on shutdown, so exporters which are never shut down stay registered. By
+         * default disabled.
+         */
+        public Builder jmx(boolean jmx) {
+            config.jmx = jmx;
+            return this;
+        }
+
+        /**
+         * Report {@link ExporterStatsMXBean} of the exporter as "exporter.*" instruments of the
+         * given meter. By default none.
+         */
+        public Builder meter(Meter meter) {
+            config.meter = Optional.of(meter);
+            return this;
+        }
+
+        /**
+         * Other nodes of the same Elasticsearch cluster ("http://node2:9200"). Bulk requests are
+         * distributed between them and the node of the exporter URI, which also defines index and
+         * credentials for all of them, so node URIs cannot have path. By default only the node of
+         * the exporter URI is used.
+         */
+        public Builder nodes(URI... nodes) {
+            for (var node : nodes) {
+                if (node.getScheme() == null || node.getHost() == null)
+                    throw new IllegalArgumentException(
+                            "Node URI must have scheme and host: " + node);
+                var path = node.getRawPath();
+                if ((path != null && !path.isEmpty() && !path.equals("/"))
+                        || node.getRawQuery() != null)
+                    throw new IllegalArgumentException(
+                            "Node URI cannot have path or query: " + node);
+            }
+            config.nodes = List.of(nodes);
+            return this;
+        }
+
+        /** Default is {@link LoadBalancing#ROUND_ROBIN} */
+        public Builder loadBalancing(LoadBalancing loadBalancing) {
+            config.loadBalancing = loadBalancing;
+            return this;
+        }
+
+        /**
+         * Node which could not be connected to or did not respond in time is not used until the
+         * backoff delay passes: initial * 2^N, but not more than max, where N is the number of
+         * consecutive failures of the node. If all nodes are dead the one which should be
+         * resurrected first is used. Default is {@link
+         * ElasticsearchMetricExporterConfiguration#DEFAULT_DEAD_NODE_INITIAL_BACKOFF} and {@link
+         * ElasticsearchMetricExporterConfiguration#DEFAULT_DEAD_NODE_MAX_BACKOFF}
+         */
+        public Builder deadNodeBackoff(Duration initial, Duration max) {
+            if (initial.isNegative() || initial.compareTo(max) > 0)
+                throw new IllegalArgumentException(
+                        "Invalid dead node backoff: " + initial + ", " + max);
+            config.deadNodeInitialBackoff = initial;
+            config.deadNodeMaxBackoff = max;
+            return this;
+        }
+
+        /**
+         * Use HTTP/2 when Elasticsearch supports it. By default HTTP/1.1 is used, which is what
+         * Elasticsearch supports over the plain connections.
+         */
+        public Builder http2(boolean http2) {
+            config.http2 = http2;
+            return this;
+        }
+
+        /**
+         * Executor of the {@link java.net.http.HttpClient} which handles responses. By default
+         * client creates its own thread pool.
+         */
+        public Builder executor(Executor executor) {
+            config.executor = Optional.of(executor);
+            return this;
+        }
+
+        /** Default is {@link IndexRouting#NONE} */
+        public Builder indexRouting(IndexRouting indexRouting) {
+            config.indexRouting = indexRouting;
+            return this;
+        }
+
+        /**
+         * Install <a
+         * href="https://www.elastic.co/guide/en/elasticsearch/reference/current/index-templates.html">index
+         * template</a> "opentelemetry-exporters-pack-&lt;index&gt;" when exporter is created. It
+         * maps all fields of {@link ExportSchema} explicitly ("keyword" for names and attributes,
+         * "date" for times, numeric types for values) instead of relying on dynamic mapping. Index
+         * patterns of the template follow {@link #indexRouting(IndexRouting)}. Template is
+         * installed once by each exporter (it replaces any existing template with the same name)
+         * and applies only to the indices which are created after that. Exports do not wait for the
+         * installation, if it fails they start it again. By default disabled.
+         */
+        public Builder indexTemplate(boolean indexTemplate) {
+            config.indexTemplate = indexTemplate;
+            return this;
+        }
+
+        /**
+         * Timeout of the request which installs {@link #indexTemplate(boolean)} when {@link
+         * #timeout(Duration)} is not set. This request is always bounded, so node which does not
+         * respond cannot keep the installation in progress forever. Default is {@link
+         * ElasticsearchMetricExporterConfiguration#DEFAULT_INDEX_TEMPLATE_TIMEOUT}
+         */
+        public Builder indexTemplateTimeout(Duration indexTemplateTimeout) {
+            if (indexTemplateTimeout.isNegative() || indexTemplateTimeout.isZero())
+                throw new IllegalArgumentException("Index template timeout must be positive");
+            config.indexTemplateTimeout = indexTemplateTimeout;
+            return this;
+        }
+
+        /** Used by {@link #indexTemplate(boolean)}. Default is {@link SourceMode#STORED} */
+        public Builder sourceMode(SourceMode sourceMode) {
+            config.sourceMode = sourceMode;
+            return this;
+        }
+
+        /**
+         * Serialize exports which have at least given number of points on several threads. Points
+         * of the export are split into ranges of equal size, each range is serialized into its own
+         * bulk requests which are sent as soon as they are ready. Serialization of one range
+         * happens on the thread which calls export, the others on the {@link
+         * #serializationExecutor(Executor)}. Requests of one range keep the order of its points,
+         * but requests of different ranges are sent in any order. For smaller exports the overhead
+         * of splitting outweighs the gain, so they are still serialized sequentially. By default
+         * disabled.
+         *
+         * @param parallelism maximum number of ranges
+         */
+        public Builder parallelSerialization(int minPoints, int parallelism) {
+            if (minPoints <= 0)
+                throw new IllegalArgumentException("Minimum number of points must be positive");
+            if (parallelism < 2)
+                throw new IllegalArgumentException("Parallelism must be at least 2");
+            config.parallelSerializationMinPoints = minPoints;
+            config.serializationParallelism = parallelism;
+            return this;
+        }
+
+        /**
+         * Executor for {@link #parallelSerialization(int, int)}, for example the one which starts
+         * virtual threads. Default is {@link ForkJoinPool#commonPool()}
+         */
+        public Builder serializationExecutor(Executor executor) {
+            config.serializationExecutor = executor;
+            return this;
+        }
+
+        public ElasticsearchMetricExporterConfiguration build() {
+            try {
+                return (ElasticsearchMetricExporterConfiguration) config.clone();
+            } catch (CloneNotSupportedException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import id.opentelemetry.exporters.ElasticsearchMetricExporterConfiguration.QueuePolicy;
+import id.xfunction.logging.XLogger;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Queue;
+import java.util.function.Function;
+
+/**
+ * Bounded queue between {@link ElasticsearchMetricExporter#export(Collection)} and the worker
+ * thread which serializes and sends the metrics.
+ *
+ * <p>When queue is full the new export is handled according to {@link QueuePolicy}. Exports which
+ * were dropped fail with {@link DroppedMetricsException}.
+ *
+ * <p>Thread safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+class ExportQueue implements AutoCloseable {
+    private static final XLogger LOGGER = XLogger.getLogger(ExportQueue.class.getName());
+
+    private record Task(Collection<MetricData> metrics, CompletableResultCode result) {}
+
+    private final int capacity;
+    private final QueuePolicy policy;
+    private final Function<Collection<MetricData>, CompletableResultCode> export;
+    private final Queue<Task> tasks = new ArrayDeque<>();
+    private final Thread worker;
+    private boolean isClosed;
+
+    /**
+     * @param export serializes and sends metrics
+     */
+    ExportQueue(
+            int capacity,
+            QueuePolicy policy,
+            Function<Collection<MetricData>, CompletableResultCode> export) {
+        this.capacity = capacity;
+        this.policy = policy;
+        this.export = export;
+        worker = new Thread(this::run, "elasticsearch-exporter-worker");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * @return result which completes when metrics are sent
+     */
+    CompletableResultCode submit(Collection<MetricData> metrics) {
+        var task = new Task(metrics, new CompletableResultCode());
+        Task dropped = null;
+        boolean wasClosed;
+        synchronized (this) {
+            while (!isClosed && tasks.size() >= capacity && policy == QueuePolicy.BLOCK) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            wasClosed = isClosed;
+            if (isClosed) dropped = task;
+            else if (tasks.size() >= capacity)
+                dropped = policy == QueuePolicy.DROP_OLDEST ? tasks.poll() : task;
+            if (dropped != task) {
+                tasks.add(task);
+                notifyAll();
+            }
+        }
+        if (dropped != null)
+            drop(dropped, wasClosed ? "Exporter is shut down" : "Export queue is full");
+        return task.result;
+    }
+
+    /** Stops accepting new exports and waits until all queued exports are passed to the sender. */
+    @Override
+    public void close() {
+        close(Duration.ZERO);
+    }
+
+    /**
+     * @param timeout how long to wait for the worker to pass all queued exports to the sender.
+     *     Exports which are left in the queue after that are dropped. {@link Duration#ZERO} means
+     *     wait indefinitely.
+     */
+    void close(Duration timeout) {
+        synchronized (this) {
+            isClosed = true;
+            notifyAll();
+        }
+        try {
+            worker.join(timeout.toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        worker.interrupt();
+        Task task;
+        while ((task = poll()) != null) drop(task, "Exporter is shut down");
+    }
+
+    private synchronized Task poll() {
+        var task = tasks.poll();
+        if (task != null) notifyAll();
+        return task;
+    }
+
+    private void run() {
+        while (true) {
+            Task task;
+            synchronized (this) {
+                while (tasks.isEmpty() && !isClosed) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                task = tasks.poll();
+                if (task == null) return;
+                notifyAll();
+            }
+            CompletableResultCode result;
+            try {
+                result = export.apply(task.metrics());
+            } catch (RuntimeException e) {
+                LOGGER.severe(e);
+                result = CompletableResultCode.ofExceptionalFailure(e);
+            }
+            var code = result;
+            code.whenComplete(
+                    () -> {
+                        if (code.isSuccess()) task.result().succeed();
+                        else if (code.getFailureThrowable() != null)
+                            task.result().failExceptionally(code.getFailureThrowable());
+                        else task.result().fail();
+                    });
+        }
+    }
+
+    private void drop(Task task, String reason) {
+        LOGGER.warning("{0}, dropping {1} metrics", reason, task.metrics().size());
+        task.result().failExceptionally(new DroppedMetricsException(1, task.metrics().size()));
+    }
+}
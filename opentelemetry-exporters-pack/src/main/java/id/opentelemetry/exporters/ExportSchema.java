@@ -32,4 +32,14 @@ public interface ExportSchema {
     String SCOPE_VERSION = "SCOPE_VERSION";
     String SCOPE_SCHEMA = "SCOPE_SCHEMA";
     String ATTR_PREFIX = "ATTR.";
+    String PERCENTILE_PREFIX = "P";
+    String BUCKETS = "BUCKETS";
+    String SCALE = "SCALE";
+    String ZERO_COUNT = "ZERO_COUNT";
+    String POSITIVE = "POSITIVE";
+    String NEGATIVE = "NEGATIVE";
+    String QUANTILES = "QUANTILES";
+
+    /** Same as {@link #END_TIME}, required by Elasticsearch data streams */
+    String TIMESTAMP = "@timestamp";
 }
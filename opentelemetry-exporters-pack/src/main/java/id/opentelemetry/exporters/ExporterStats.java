@@ -0,0 +1,346 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import id.xfunction.logging.XLogger;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.DoubleHistogram;
+import io.opentelemetry.api.metrics.LongHistogram;
+import io.opentelemetry.api.metrics.Meter;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntSupplier;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+/**
+ * Collects {@link ExporterStatsMXBean} values and publishes them through JMX and {@link Meter}.
+ *
+ * <p>Values are recorded by the export threads with {@link LongAdder}s, so recording does not
+ * contend even when many requests complete at the same time. They are summed only when somebody
+ * reads them. Counters are passed to the {@link Meter} as asynchronous instruments which read the
+ * same adders, only the histograms are recorded to the {@link Meter} separately.
+ *
+ * <p>Thread safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+class ExporterStats implements ExporterStatsMXBean, AutoCloseable {
+    private static final XLogger LOGGER = XLogger.getLogger(ExporterStats.class.getName());
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+    private static final AttributeKey<String> EXPORTER = AttributeKey.stringKey("exporter");
+    private static final AttributeKey<Long> STATUS_CODE =
+            AttributeKey.longKey("http.response.status_code");
+
+    private final LongAdder exports = new LongAdder();
+    private final LongAdder failedExports = new LongAdder();
+    private final LongAdder documents = new LongAdder();
+    private final LongAdder payloadBytes = new LongAdder();
+    private final LongAdder droppedMetrics = new LongAdder();
+    private final LongAdder droppedDocuments = new LongAdder();
+    private final LongAdder retriedDocuments = new LongAdder();
+    private final Map<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+    private final TimeHistogram serializationTime = new TimeHistogram();
+    private final TimeHistogram sendTime = new TimeHistogram();
+    private final IntSupplier pendingExports;
+    private final Attributes attributes;
+    private volatile long lastSuccessEpochMillis;
+    private Optional<ObjectName> objectName = Optional.empty();
+    private final List<AutoCloseable> instruments = new ArrayList<>();
+    private Optional<DoubleHistogram> serializationTimeInstrument = Optional.empty();
+    private Optional<DoubleHistogram> sendTimeInstrument = Optional.empty();
+    private Optional<LongHistogram> documentsInstrument = Optional.empty();
+
+    /**
+     * @param exporter name of the exporter which is used in the JMX name and as "exporter"
+     *     attribute of the {@link Meter} instruments
+     * @param pendingExports number of exports which are queued or in progress
+     */
+    ExporterStats(String exporter, IntSupplier pendingExports) {
+        this.pendingExports = pendingExports;
+        attributes = Attributes.of(EXPORTER, exporter);
+    }
+
+    /** Registers stats in the platform MBean server. Failure is logged and ignored. */
+    void registerMBean(Class<?> exporterClass) {
+        try {
+            var name =
+                    new ObjectName(
+                            "id.opentelemetry.exporters:type="
+                                    + exporterClass.getSimpleName()
+                                    + ",id="
+                                    + NEXT_ID.incrementAndGet());
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+            objectName = Optional.of(name);
+            LOGGER.fine("Registered MBean {0}", name);
+        } catch (JMException e) {
+            LOGGER.warning("Could not register exporter MBean: {0}", e.getMessage());
+        }
+    }
+
+    /** Creates instruments which report the stats to the meter */
+    void registerInstruments(Meter meter) {
+        instruments.add(
+                meter.counterBuilder("exporter.exports")
+                        .setDescription("Completed exports")
+                        .buildWithCallback(m -> m.record(exports.sum(), attributes)));
+        instruments.add(
+                meter.counterBuilder("exporter.exports.failed")
+                        .setDescription("Failed exports")
+                        .buildWithCallback(m -> m.record(failedExports.sum(), attributes)));
+        instruments.add(
+                meter.upDownCounterBuilder("exporter.exports.pending")
+                        .setDescription("Exports which are queued or in progress")
+                        .buildWithCallback(m -> m.record(pendingExports.getAsInt(), attributes)));
+        instruments.add(
+                meter.counterBuilder("exporter.documents")
+                        .setDescription("Exported documents")
+                        .buildWithCallback(m -> m.record(documents.sum(), attributes)));
+        instruments.add(
+                meter.counterBuilder("exporter.payload.size")
+                        .setUnit("By")
+                        .setDescription("Size of serialized payload before compression")
+                        .buildWithCallback(m -> m.record(payloadBytes.sum(), attributes)));
+        instruments.add(
+                meter.counterBuilder("exporter.metrics.dropped")
+                        .setDescription("Metrics dropped because export queue was full")
+                        .buildWithCallback(m -> m.record(droppedMetrics.sum(), attributes)));
+        instruments.add(
+                meter.counterBuilder("exporter.documents.dropped")
+                        .setDescription("Documents which were lost or rejected")
+                        .buildWithCallback(m -> m.record(droppedDocuments.sum(), attributes)));
+        instruments.add(
+                meter.counterBuilder("exporter.documents.retried")
+                        .setDescription("Documents which were scheduled to be sent again")
+                        .buildWithCallback(m -> m.record(retriedDocuments.sum(), attributes)));
+        instruments.add(
+                meter.counterBuilder("exporter.requests")
+                        .setDescription("HTTP requests by the response status code")
+                        .buildWithCallback(
+                                m ->
+                                        statusCodes.forEach(
+                                                (code, count) ->
+                                                        m.record(
+                                                                count.sum(),
+                                                                attributes.toBuilder()
+                                                                        .put(
+                                                                                STATUS_CODE,
+                                                                                code.longValue())
+                                                                        .build()))));
+        instruments.add(
+                meter.gaugeBuilder("exporter.last_success")
+                        .ofLongs()
+                        .setUnit("ms")
+                        .setDescription("Time of the last successful export since epoch")
+                        .buildWithCallback(m -> m.record(lastSuccessEpochMillis, attributes)));
+        serializationTimeInstrument =
+                Optional.of(
+                        meter.histogramBuilder("exporter.serialization.duration")
+                                .setUnit("ms")
+                                .setDescription("Serialization time of each export")
+                                .build());
+        sendTimeInstrument =
+                Optional.of(
+                        meter.histogramBuilder("exporter.send.duration")
+                                .setUnit("ms")
+                                .setDescription("HTTP round trip or write time of the payload")
+                                .build());
+        documentsInstrument =
+                Optional.of(
+                        meter.histogramBuilder("exporter.export.documents")
+                                .ofLongs()
+                                .setDescription("Documents per export")
+                                .build());
+    }
+
+    /** Export was serialized */
+    void recordSerialization(long nanos, int documents, long payloadBytes) {
+        serializationTime.record(nanos);
+        this.documents.add(documents);
+        this.payloadBytes.add(payloadBytes);
+        serializationTimeInstrument.ifPresent(h -> h.record(nanos / 1e6, attributes));
+        documentsInstrument.ifPresent(h -> h.record(documents, attributes));
+    }
+
+    /** Export completed */
+    void recordExport(boolean isSuccess) {
+        exports.increment();
+        if (isSuccess) lastSuccessEpochMillis = System.currentTimeMillis();
+        else failedExports.increment();
+    }
+
+    /**
+     * @param statusCode 0 if no response was received
+     */
+    void recordRequest(int statusCode, long nanos) {
+        statusCodes.computeIfAbsent(statusCode, k -> new LongAdder()).increment();
+        recordSend(nanos);
+    }
+
+    void recordSend(long nanos) {
+        sendTime.record(nanos);
+        sendTimeInstrument.ifPresent(h -> h.record(nanos / 1e6, attributes));
+    }
+
+    void recordDroppedMetrics(int metrics) {
+        droppedMetrics.add(metrics);
+    }
+
+    void recordDroppedDocuments(int documents) {
+        droppedDocuments.add(documents);
+    }
+
+    void recordRetriedDocuments(int documents) {
+        retriedDocuments.add(documents);
+    }
+
+    @Override
+    public long getExports() {
+        return exports.sum();
+    }
+
+    @Override
+    public long getFailedExports() {
+        return failedExports.sum();
+    }
+
+    @Override
+    public int getPendingExports() {
+        return pendingExports.getAsInt();
+    }
+
+    @Override
+    public long getDocuments() {
+        return documents.sum();
+    }
+
+    @Override
+    public double getDocumentsPerExport() {
+        var count = serializationTime.count();
+        return count == 0 ? 0 : (double) documents.sum() / count;
+    }
+
+    @Override
+    public long getPayloadBytes() {
+        return payloadBytes.sum();
+    }
+
+    @Override
+    public long getDroppedMetrics() {
+        return droppedMetrics.sum();
+    }
+
+    @Override
+    public long getDroppedDocuments() {
+        return droppedDocuments.sum();
+    }
+
+    @Override
+    public long getRetriedDocuments() {
+        return retriedDocuments.sum();
+    }
+
+    @Override
+    public Map<String, Long> getStatusCodes() {
+        var result = new TreeMap<String, Long>();
+        statusCodes.forEach((code, count) -> result.put(code.toString(), count.sum()));
+        return result;
+    }
+
+    @Override
+    public Map<String, Long> getSerializationTimeHistogram() {
+        return serializationTime.toMap();
+    }
+
+    @Override
+    public Map<String, Long> getSendTimeHistogram() {
+        return sendTime.toMap();
+    }
+
+    @Override
+    public long getLastSuccessEpochMillis() {
+        return lastSuccessEpochMillis;
+    }
+
+    /** Unregisters MBean and closes {@link Meter} instruments */
+    @Override
+    public void close() {
+        objectName.ifPresent(
+                name -> {
+                    try {
+                        ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+                    } catch (JMException e) {
+                        LOGGER.warning("Could not unregister MBean {0}: {1}", name, e.getMessage());
+                    }
+                });
+        objectName = Optional.empty();
+        for (var instrument : instruments) {
+            try {
+                instrument.close();
+            } catch (Exception e) {
+                LOGGER.severe(e);
+            }
+        }
+        instruments.clear();
+    }
+
+    /**
+     * Histogram with fixed bucket boundaries in milliseconds
+     *
+     * @author lambdaprime intid@protonmail.com
+     */
+    private static class TimeHistogram {
+        private static final long[] BOUNDARIES_MILLIS = {
+            1, 2, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000
+        };
+        private final LongAdder[] counts = new LongAdder[BOUNDARIES_MILLIS.length + 1];
+
+        TimeHistogram() {
+            for (int i = 0; i < counts.length; i++) counts[i] = new LongAdder();
+        }
+
+        void record(long nanos) {
+            var i = 0;
+            while (i < BOUNDARIES_MILLIS.length && nanos > BOUNDARIES_MILLIS[i] * 1_000_000) i++;
+            counts[i].increment();
+        }
+
+        long count() {
+            var count = 0L;
+            for (var c : counts) count += c.sum();
+            return count;
+        }
+
+        Map<String, Long> toMap() {
+            var result = new LinkedHashMap<String, Long>();
+            for (int i = 0; i < BOUNDARIES_MILLIS.length; i++)
+                result.put(Long.toString(BOUNDARIES_MILLIS[i]), counts[i].sum());
+            result.put("+Inf", counts[BOUNDARIES_MILLIS.length].sum());
+            return result;
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import java.util.Map;
+
+/**
+ * Telemetry of the exporter itself.
+ *
+ * <p>Exporters register it in the platform MBean server under the name
+ * "id.opentelemetry.exporters:type=&lt;exporter class&gt;,id=&lt;N&gt;" (see {@link
+ * ElasticsearchMetricExporterConfiguration.Builder#jmx(boolean)}, {@link
+ * CsvMetricExporterConfiguration.Builder#jmx(boolean)}). It is also available directly through
+ * {@link ElasticsearchMetricExporter#stats()} and {@link CsvMetricExporter#stats()}.
+ *
+ * <p>All values are accumulated since the exporter was created.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public interface ExporterStatsMXBean {
+
+    /** Number of completed exports, both successful and failed */
+    long getExports();
+
+    long getFailedExports();
+
+    /** Number of exports which are queued or in progress */
+    int getPendingExports();
+
+    /** Number of exported documents (Elasticsearch) or rows (CSV) */
+    long getDocuments();
+
+    /** Average number of documents per export */
+    double getDocumentsPerExport();
+
+    /** Size of serialized payload before compression */
+    long getPayloadBytes();
+
+    /** Number of metrics which were dropped because export queue was full */
+    long getDroppedMetrics();
+
+    /** Number of documents which were lost after all retries or rejected by Elasticsearch */
+    long getDroppedDocuments();
+
+    /** Number of documents which were scheduled to be sent again */
+    long getRetriedDocuments();
+
+    /** Number of HTTP requests by the response status code ("0" when no response was received) */
+    Map<String, Long> getStatusCodes();
+
+    /**
+     * Histogram of serialization time of each export. Keys are upper bounds of the buckets in
+     * milliseconds ("1", "2", "5", ..., "+Inf").
+     */
+    Map<String, Long> getSerializationTimeHistogram();
+
+    /**
+     * Histogram of time which it took to deliver the payload: HTTP round trip of each bulk request
+     * (Elasticsearch) or writing of the export to the files (CSV). Keys are same as in {@link
+     * #getSerializationTimeHistogram()}.
+     */
+    Map<String, Long> getSendTimeHistogram();
+
+    /** Time of the last successful export in milliseconds since epoch, 0 if none */
+    long getLastSuccessEpochMillis();
+}
@@ -0,0 +1,250 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import id.xfunction.logging.XLogger;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Metric Exporter which passes each collection of metrics to several exporters (sinks).
+ *
+ * <p>It allows to use single {@link io.opentelemetry.sdk.metrics.export.PeriodicMetricReader} (and
+ * so collect metrics only once) for all the exporters. Metrics are filtered once before being
+ * passed to the sinks and all exporters of this package share formatted timestamps.
+ *
+ * <p>Each sink is called on its own thread, so slow sink never delays the reader thread or other
+ * sinks. Export fails if any of the sinks fails or does not complete it within the timeout. When
+ * sink has too many exports which are not completed yet, new exports to it are dropped with {@link
+ * DroppedMetricsException}. This includes exports which timed out and the ones which sink accepted
+ * but still sends on its own (like {@link ElasticsearchMetricExporter} does), so sink which stalls
+ * cannot accumulate the metrics.
+ *
+ * <p>All sinks should use the same {@link AggregationTemporality}.
+ *
+ * <h2>Usage</h2>
+ *
+ * <pre>{@code
+ * var metricReader = PeriodicMetricReader
+ *   .builder(new FanOutMetricExporter(List.of(csvExporter, elasticsearchExporter)))
+ *   .setInterval(Duration.ofSeconds(3))
+ *   .build();
+ * }</pre>
+ *
+ * <p>Thread safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public final class FanOutMetricExporter implements MetricExporter {
+    private static final XLogger LOGGER = XLogger.getLogger(FanOutMetricExporter.class.getName());
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(10);
+
+    /** Max number of exports which sink did not complete yet */
+    private static final int MAX_PENDING_EXPORTS = 4;
+
+    private final List<Sink> sinks = new ArrayList<>();
+    private final Duration timeout;
+    private final Predicate<MetricData> filter;
+    private final ScheduledExecutorService timer =
+            Executors.newSingleThreadScheduledExecutor(
+                    r -> {
+                        var thread = new Thread(r, "fan-out-exporter-timer");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+    private final AggregationTemporality[] temporalities =
+            new AggregationTemporality[InstrumentType.values().length];
+
+    /**
+     * @param sinks exporters which receive the metrics
+     */
+    public FanOutMetricExporter(List<MetricExporter> sinks) {
+        this(sinks, DEFAULT_TIMEOUT, metric -> true);
+    }
+
+    /**
+     * @param sinks exporters which receive the metrics
+     * @param timeout how long to wait for each sink to complete the export
+     * @param filter metrics which should be exported
+     */
+    public FanOutMetricExporter(
+            List<MetricExporter> sinks, Duration timeout, Predicate<MetricData> filter) {
+        if (sinks.isEmpty()) throw new IllegalArgumentException("No sinks");
+        if (timeout.isNegative() || timeout.isZero())
+            throw new IllegalArgumentException("Timeout must be positive");
+        for (var type : InstrumentType.values()) {
+            var temporality = sinks.get(0).getAggregationTemporality(type);
+            for (var sink : sinks)
+                if (sink.getAggregationTemporality(type) != temporality)
+                    throw new IllegalArgumentException(
+                            "Sinks use different aggregation temporality for " + type);
+            temporalities[type.ordinal()] = temporality;
+        }
+        this.timeout = timeout;
+        this.filter = filter;
+        for (int i = 0; i < sinks.size(); i++) this.sinks.add(new Sink(i, sinks.get(i)));
+    }
+
+    @Override
+    public CompletableResultCode export(Collection<MetricData> metrics) {
+        var filtered = new ArrayList<MetricData>(metrics.size());
+        for (var metric : metrics) if (filter.test(metric)) filtered.add(metric);
+        if (filtered.isEmpty()) return CompletableResultCode.ofSuccess();
+        var exported = List.copyOf(filtered);
+        return call(exporter -> exporter.export(exported), exported.size());
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return call(MetricExporter::flush, 0);
+    }
+
+    /** Shuts down all sinks once their pending exports are completed */
+    @Override
+    public CompletableResultCode shutdown() {
+        var result = call(MetricExporter::shutdown, 0);
+        sinks.forEach(Sink::close);
+        result.whenComplete(timer::shutdown);
+        return result;
+    }
+
+    @Override
+    public AggregationTemporality getAggregationTemporality(InstrumentType instrumentType) {
+        return temporalities[instrumentType.ordinal()];
+    }
+
+    private CompletableResultCode call(
+            Function<MetricExporter, CompletableResultCode> operation, int metrics) {
+        var results = new ArrayList<CompletableResultCode>(sinks.size());
+        for (var sink : sinks) results.add(sink.call(operation, metrics));
+        return CompletableResultCode.ofAll(results);
+    }
+
+    /**
+     * Sink exporter with its own thread
+     *
+     * @author lambdaprime intid@protonmail.com
+     */
+    private class Sink {
+        private final MetricExporter exporter;
+        private final ThreadPoolExecutor executor;
+        private final String name;
+
+        /** Exports which were submitted but their results did not complete yet */
+        private final AtomicInteger pendingExports = new AtomicInteger();
+
+        Sink(int index, MetricExporter exporter) {
+            this.exporter = exporter;
+            name = exporter.getClass().getSimpleName();
+            executor =
+                    new ThreadPoolExecutor(
+                            1,
+                            1,
+                            0,
+                            TimeUnit.MILLISECONDS,
+                            // exports are limited by pendingExports
+                            new LinkedBlockingQueue<>(),
+                            r -> {
+                                var thread = new Thread(r, "fan-out-exporter-sink-" + index);
+                                thread.setDaemon(true);
+                                return thread;
+                            });
+        }
+
+        /**
+         * @param metrics number of exported metrics, 0 for the operations other than export, which
+         *     are never dropped
+         * @return result which completes once sink completes the operation or it times out
+         */
+        CompletableResultCode call(
+                Function<MetricExporter, CompletableResultCode> operation, int metrics) {
+            var isExport = metrics > 0;
+            if (isExport && pendingExports.incrementAndGet() > MAX_PENDING_EXPORTS) {
+                pendingExports.decrementAndGet();
+                return drop("Sink " + name + " is too slow", metrics);
+            }
+            var result = new CompletableResultCode();
+            try {
+                executor.execute(
+                        () -> {
+                            try {
+                                var code = operation.apply(exporter);
+                                code.whenComplete(
+                                        () -> {
+                                            if (isExport) pendingExports.decrementAndGet();
+                                            if (code.isSuccess()) result.succeed();
+                                            else if (code.getFailureThrowable() != null)
+                                                result.failExceptionally(
+                                                        code.getFailureThrowable());
+                                            else result.fail();
+                                        });
+                            } catch (RuntimeException e) {
+                                if (isExport) pendingExports.decrementAndGet();
+                                LOGGER.severe(e);
+                                result.failExceptionally(e);
+                            }
+                        });
+            } catch (RejectedExecutionException e) {
+                if (isExport) pendingExports.decrementAndGet();
+                return drop("Exporter is shut down", metrics);
+            }
+            try {
+                timer.schedule(
+                        () -> {
+                            if (result.isDone()) return;
+                            LOGGER.warning("Sink {0} timed out", name);
+                            result.failExceptionally(
+                                    new TimeoutException("Sink " + name + " timed out"));
+                        },
+                        timeout.toMillis(),
+                        TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // exporter is shut down, result completes without timeout
+            }
+            return result;
+        }
+
+        private CompletableResultCode drop(String reason, int metrics) {
+            LOGGER.warning("{0}, dropping {1} metrics", reason, metrics);
+            var result = new CompletableResultCode();
+            result.failExceptionally(new DroppedMetricsException(1, metrics));
+            return result;
+        }
+
+        void close() {
+            executor.shutdown();
+        }
+    }
+}
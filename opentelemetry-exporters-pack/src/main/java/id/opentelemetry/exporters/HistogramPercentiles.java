@@ -0,0 +1,181 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import io.opentelemetry.sdk.metrics.data.ExponentialHistogramPointData;
+import io.opentelemetry.sdk.metrics.data.HistogramPointData;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Percentiles of explicit bucket and exponential histograms.
+ *
+ * <p>Percentile is found in the bucket which contains its rank and it is linearly interpolated
+ * between the bucket bounds (same as Prometheus histogram_quantile does). Unbounded first and last
+ * buckets are bounded by histogram min and max, when they are present.
+ *
+ * <p>Nothing is allocated, except what bucket lists of the points allocate themselves.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+class HistogramPercentiles {
+
+    /**
+     * @return copy of percentiles
+     * @throws IllegalArgumentException if any of percentiles is not in range from 0 to 100
+     */
+    static double[] check(double... percentiles) {
+        for (var p : percentiles)
+            if (!(p >= 0 && p <= 100))
+                throw new IllegalArgumentException("Invalid percentile: " + p);
+        return percentiles.clone();
+    }
+
+    /** Names of the fields or columns for the given percentiles */
+    static String[] fieldNames(double[] percentiles) {
+        var names = new String[percentiles.length];
+        for (int i = 0; i < percentiles.length; i++) names[i] = fieldName(percentiles[i]);
+        return names;
+    }
+
+    /**
+     * Name of the field or column for the given percentile ("P99", "P99_9").
+     *
+     * <p>Percentile is rounded to 6 decimal places, so that the ones which are computed from the
+     * quantiles (0.3 * 100 = 30.000000000000004) get the same name as the ones which are set
+     * directly.
+     */
+    static String fieldName(double percentile) {
+        if (percentile == Math.rint(percentile))
+            return ExportSchema.PERCENTILE_PREFIX + (long) percentile;
+        return ExportSchema.PERCENTILE_PREFIX
+                + BigDecimal.valueOf(percentile)
+                        .setScale(6, RoundingMode.HALF_EVEN)
+                        .stripTrailingZeros()
+                        .toPlainString()
+                        .replace('.', '_');
+    }
+
+    /**
+     * @param percentile from 0 to 100
+     * @return NaN if histogram is empty
+     */
+    static double percentile(HistogramPointData p, double percentile) {
+        if (p.getCount() == 0) return Double.NaN;
+        var counts = p.getCounts();
+        var rank = percentile / 100 * p.getCount();
+        long cumulative = 0;
+        for (int i = 0; i < counts.size(); i++) {
+            long count = counts.get(i);
+            if (count == 0 || cumulative + count < rank) {
+                cumulative += count;
+                continue;
+            }
+            var lower = lowerBound(p, i);
+            var upper = upperBound(p, i);
+            if (Double.isInfinite(lower) || Double.isInfinite(upper)) return midpoint(p, i);
+            return lower + (upper - lower) * Math.max(0, rank - cumulative) / count;
+        }
+        // counts do not match the total count
+        return p.hasMax() ? p.getMax() : Double.NaN;
+    }
+
+    /**
+     * Buckets are walked in the order of their values: negative buckets from the largest index to
+     * the smallest one, zero bucket, positive buckets.
+     *
+     * @param percentile from 0 to 100
+     * @return NaN if histogram is empty
+     */
+    static double percentile(ExponentialHistogramPointData p, double percentile) {
+        if (p.getCount() == 0) return Double.NaN;
+        var rank = percentile / 100 * p.getCount();
+        var scale = p.getScale();
+        var negative = p.getNegativeBuckets();
+        var counts = negative.getBucketCounts();
+        long cumulative = 0;
+        for (int i = counts.size() - 1; i >= 0; i--) {
+            long count = counts.get(i);
+            if (count == 0 || cumulative + count < rank) {
+                cumulative += count;
+                continue;
+            }
+            var index = negative.getOffset() + i;
+            return interpolate(
+                    p, -bound(scale, index + 1), -bound(scale, index), rank - cumulative, count);
+        }
+        cumulative += p.getZeroCount();
+        if (p.getZeroCount() > 0 && cumulative >= rank) return 0;
+        var positive = p.getPositiveBuckets();
+        counts = positive.getBucketCounts();
+        for (int i = 0; i < counts.size(); i++) {
+            long count = counts.get(i);
+            if (count == 0 || cumulative + count < rank) {
+                cumulative += count;
+                continue;
+            }
+            var index = positive.getOffset() + i;
+            return interpolate(
+                    p, bound(scale, index), bound(scale, index + 1), rank - cumulative, count);
+        }
+        // counts do not match the total count
+        return p.hasMax() ? p.getMax() : Double.NaN;
+    }
+
+    /** Lower bound of the exponential histogram bucket: base^index, where base = 2^(2^-scale) */
+    private static double bound(int scale, int index) {
+        return Math.pow(2, Math.scalb((double) index, -scale));
+    }
+
+    private static double interpolate(
+            ExponentialHistogramPointData p,
+            double lower,
+            double upper,
+            double rankInBucket,
+            long count) {
+        if (p.hasMin()) lower = Math.max(lower, p.getMin());
+        if (p.hasMax()) upper = Math.min(upper, p.getMax());
+        return lower + (upper - lower) * Math.max(0, rankInBucket) / count;
+    }
+
+    /**
+     * Value which represents all values of the bucket: its midpoint or, for unbounded buckets, its
+     * only finite bound
+     */
+    static double midpoint(HistogramPointData p, int bucket) {
+        var lower = lowerBound(p, bucket);
+        var upper = upperBound(p, bucket);
+        if (Double.isInfinite(lower) && Double.isInfinite(upper)) return p.getSum() / p.getCount();
+        if (Double.isInfinite(lower)) return upper;
+        if (Double.isInfinite(upper)) return lower;
+        return (lower + upper) / 2;
+    }
+
+    /** Bucket lower bound narrowed by histogram min, -Infinity if unbounded */
+    private static double lowerBound(HistogramPointData p, int bucket) {
+        var lower = bucket == 0 ? Double.NEGATIVE_INFINITY : p.getBoundaries().get(bucket - 1);
+        return p.hasMin() ? Math.max(lower, p.getMin()) : lower;
+    }
+
+    /** Bucket upper bound narrowed by histogram max, +Infinity if unbounded */
+    private static double upperBound(HistogramPointData p, int bucket) {
+        var boundaries = p.getBoundaries();
+        var upper = bucket == boundaries.size() ? Double.POSITIVE_INFINITY : boundaries.get(bucket);
+        return p.hasMax() ? Math.min(upper, p.getMax()) : upper;
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import id.opentelemetry.exporters.ElasticsearchMetricExporterConfiguration.IndexRouting;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Selects bulk action line of each document according to {@link IndexRouting}.
+ *
+ * <p>Action lines are encoded once per index and cached. Points of one export usually belong to the
+ * same index, so cache is a small direct-mapped table of immutable entries which is updated without
+ * locks (same as in {@link TimestampFormatter}).
+ *
+ * <p>Thread safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+class IndexRouter {
+    private static final int CACHE_SIZE = 4;
+    private static final long MILLIS_PER_HOUR = 3_600_000L;
+
+    private record Entry(long period, byte[] actionLine) {}
+
+    private final String index;
+    private final IndexRouting routing;
+    private final long periodMillis;
+    private final DateTimeFormatter formatter;
+    private final Entry[] cache = new Entry[CACHE_SIZE];
+
+    /**
+     * @param index name of the index (or data stream) of the exporter URI
+     */
+    IndexRouter(String index, IndexRouting routing) {
+        this.index = index;
+        this.routing = routing;
+        periodMillis =
+                switch (routing) {
+                    case DAILY -> 24 * MILLIS_PER_HOUR;
+                    case HOURLY -> MILLIS_PER_HOUR;
+                    default -> 0;
+                };
+        formatter =
+                DateTimeFormatter.ofPattern(
+                                routing == IndexRouting.HOURLY ? "yyyy.MM.dd.HH" : "yyyy.MM.dd")
+                        .withZone(ZoneOffset.UTC);
+    }
+
+    /** Index name is the last segment of the URI path, excluding "_bulk" */
+    static String indexName(String path) {
+        if (path.endsWith("/_bulk")) path = path.substring(0, path.length() - "/_bulk".length());
+        while (path.endsWith("/")) path = path.substring(0, path.length() - 1);
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    /** Documents should include {@link ExportSchema#TIMESTAMP} field */
+    boolean isDataStream() {
+        return routing == IndexRouting.DATA_STREAM;
+    }
+
+    /**
+     * @return cached bytes which should not be modified
+     */
+    byte[] actionLine(long epochNanos) {
+        if (periodMillis == 0) return BulkWriter.CREATE_JSON;
+        var period = Math.floorDiv(TimestampFormatter.toEpochMillis(epochNanos), periodMillis);
+        var i = (int) period & (CACHE_SIZE - 1);
+        var entry = cache[i];
+        if (entry != null && entry.period() == period) return entry.actionLine();
+        var name = index + "-" + formatter.format(Instant.ofEpochMilli(period * periodMillis));
+        entry =
+                new Entry(
+                        period,
+                        ("{ \"create\": { \"_index\": \"" + name + "\" } }\n")
+                                .getBytes(StandardCharsets.UTF_8));
+        cache[i] = entry;
+        return entry.actionLine();
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import id.opentelemetry.exporters.ElasticsearchMetricExporterConfiguration.IndexRouting;
+import id.xfunction.logging.XLogger;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * Composable index template with explicit mappings of all {@link ExportSchema} fields.
+ *
+ * <p>Installation starts when exporter is created and exports never wait for it. Since the first
+ * export happens only after the reader interval, template is normally installed by then and the
+ * index is not created with dynamic mappings. Request is always sent with timeout ({@link
+ * ElasticsearchMetricExporterConfiguration#indexTemplateTimeout()} if exporter has none), so node
+ * which does not respond cannot keep it in progress forever. If installation fails, exports start
+ * it again not earlier than {@link #RETRY_INTERVAL}.
+ *
+ * <p>Thread safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+class IndexTemplate {
+    private static final XLogger LOGGER = XLogger.getLogger(IndexTemplate.class.getName());
+    private static final Duration RETRY_INTERVAL = Duration.ofMinutes(1);
+
+    /** Higher than the priority of the built-in Elasticsearch templates */
+    private static final int PRIORITY = 200;
+
+    private final HttpClient client;
+    private final NodeSelector nodes;
+    private final ElasticsearchMetricExporterConfiguration config;
+    private final String name;
+    private final String json;
+    private volatile boolean isInstalled;
+    private boolean isSending;
+    private boolean hasFailed;
+    private long nextAttemptNanos;
+
+    /**
+     * @param index name of the index (or data stream) of the exporter URI
+     */
+    IndexTemplate(
+            HttpClient client,
+            NodeSelector nodes,
+            ElasticsearchMetricExporterConfiguration config,
+            String index) {
+        this.client = client;
+        this.nodes = nodes;
+        this.config = config;
+        name = "opentelemetry-exporters-pack-" + index;
+        json = json(config, index);
+    }
+
+    /**
+     * Starts installation of the template unless it is already installed, being installed or last
+     * attempt failed recently. Never waits for the response.
+     */
+    void install() {
+        if (isInstalled) return;
+        synchronized (this) {
+            if (isInstalled || isSending || (hasFailed && System.nanoTime() - nextAttemptNanos < 0))
+                return;
+            isSending = true;
+        }
+        send().thenAccept(this::onResult);
+    }
+
+    private synchronized void onResult(boolean isSuccess) {
+        isInstalled = isSuccess;
+        hasFailed = !isSuccess;
+        isSending = false;
+        nextAttemptNanos = System.nanoTime() + RETRY_INTERVAL.toNanos();
+    }
+
+    /**
+     * Index template API of the node. Path prefix of the node URI (when Elasticsearch is behind the
+     * reverse proxy) is kept, only the index is replaced.
+     */
+    private static URI templateApi(URI addBulkApi, String name) {
+        var path = addBulkApi.getRawPath();
+        if (path.endsWith("/_bulk")) path = path.substring(0, path.length() - "/_bulk".length());
+        while (path.endsWith("/")) path = path.substring(0, path.length() - 1);
+        return addBulkApi.resolve(
+                path.substring(0, path.lastIndexOf('/') + 1) + "_index_template/" + name);
+    }
+
+    private CompletableFuture<Boolean> send() {
+        var node = nodes.select();
+        var builder =
+                HttpRequest.newBuilder(templateApi(node.addBulkApi(), name))
+                        .PUT(HttpRequest.BodyPublishers.ofString(json))
+                        .header("Content-Type", "application/json");
+        builder.timeout(
+                config.timeout().isZero() ? config.indexTemplateTimeout() : config.timeout());
+        return client.sendAsync(builder.build(), HttpResponse.BodyHandlers.ofString())
+                .handle(
+                        (response, ex) -> {
+                            if (ex != null) {
+                                if (ex instanceof CompletionException e && e.getCause() != null)
+                                    ex = e.getCause();
+                                nodes.onFailure(node, NodeSelector.isNodeFailure(ex));
+                                LOGGER.severe(
+                                        "Could not install index template {0}: {1}",
+                                        name, ex.getMessage());
+                                return false;
+                            }
+                            nodes.onSuccess(node);
+                            if (response.statusCode() == 200) {
+                                LOGGER.info("Index template {0} installed", name);
+                                return true;
+                            }
+                            LOGGER.severe(
+                                    "Could not install index template {0}, response code {1}: {2}",
+                                    name, response.statusCode(), response.body());
+                            return false;
+                        });
+    }
+
+    static String json(ElasticsearchMetricExporterConfiguration config, String index) {
+        var properties = new LinkedHashMap<String, String>();
+        for (var field :
+                new String[] {
+                    ExportSchema.METRIC_NAME,
+                    ExportSchema.METRIC_TYPE,
+                    ExportSchema.SCOPE_NAME,
+                    ExportSchema.SCOPE_VERSION,
+                    ExportSchema.SCOPE_SCHEMA
+                }) properties.put(field, type("keyword"));
+        properties.put(ExportSchema.START_TIME, type("date"));
+        properties.put(ExportSchema.END_TIME, type("date"));
+        if (config.indexRouting() == IndexRouting.DATA_STREAM)
+            properties.put(ExportSchema.TIMESTAMP, type("date"));
+        // long values are mapped as double too, same field holds values of all metric types
+        for (var field :
+                new String[] {
+                    ExportSchema.VALUE,
+                    ExportSchema.SUM,
+                    ExportSchema.MIN,
+                    ExportSchema.MAX,
+                    ExportSchema.AVG
+                }) properties.put(field, type("double"));
+        properties.put(ExportSchema.COUNT, type("long"));
+        properties.put(ExportSchema.SCALE, type("integer"));
+        properties.put(ExportSchema.ZERO_COUNT, type("long"));
+        var buckets =
+                "{ \"properties\": { \"offset\": "
+                        + type("integer")
+                        + ", \"counts\": "
+                        + type("long")
+                        + " } }";
+        properties.put(ExportSchema.POSITIVE, buckets);
+        properties.put(ExportSchema.NEGATIVE, buckets);
+        for (var field : HistogramPercentiles.fieldNames(config.percentiles()))
+            properties.put(field, type("double"));
+        if (config.histogramBuckets()) properties.put(ExportSchema.BUCKETS, type("histogram"));
+
+        var json = new StringBuilder();
+        json.append("{ \"index_patterns\": [\"")
+                .append(
+                        config.indexRouting() == IndexRouting.DAILY
+                                        || config.indexRouting() == IndexRouting.HOURLY
+                                ? index + "-*"
+                                : index)
+                .append("\"], \"priority\": ")
+                .append(PRIORITY);
+        if (config.indexRouting() == IndexRouting.DATA_STREAM)
+            json.append(", \"data_stream\": { }");
+        json.append(", \"template\": { \"mappings\": { ");
+        switch (config.sourceMode()) {
+            case SYNTHETIC -> json.append("\"_source\": { \"mode\": \"synthetic\" }, ");
+            case DISABLED -> json.append("\"_source\": { \"enabled\": false }, ");
+            default -> {}
+        }
+        // attributes are dimensions, other fields which are not known in advance (summary
+        // quantiles) are values
+        json.append("\"dynamic_templates\": [")
+                .append(
+                        dynamicTemplate(
+                                "attributes", ExportSchema.ATTR_PREFIX + "*", "string", "keyword"))
+                .append(", ")
+                .append(dynamicTemplate("strings", "*", "string", "keyword"))
+                .append(", ")
+                .append(dynamicTemplate("doubles", "*", "double", "double"))
+                .append("], \"properties\": { ");
+        var isFirst = true;
+        for (var e : properties.entrySet()) {
+            if (!isFirst) json.append(", ");
+            isFirst = false;
+            json.append('"').append(e.getKey()).append("\": ").append(e.getValue());
+        }
+        json.append(" } } } }");
+        return json.toString();
+    }
+
+    private static String type(String type) {
+        return "{ \"type\": \"" + type + "\" }";
+    }
+
+    private static String dynamicTemplate(
+            String name, String pathMatch, String mappingType, String type) {
+        return "{ \""
+                + name
+                + "\": { \"path_match\": \""
+                + pathMatch
+                + "\", \"match_mapping_type\": \""
+                + mappingType
+                + "\", \"mapping\": "
+                + type(type)
+                + " } }";
+    }
+}
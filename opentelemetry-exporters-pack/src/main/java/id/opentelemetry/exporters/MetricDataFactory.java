@@ -0,0 +1,121 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.PointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableExponentialHistogramData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableGaugeData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableHistogramData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableMetricData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableSumData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableSummaryData;
+import java.util.Collection;
+
+/**
+ * Creates {@link MetricData} for the points which were modified by the exporter decorators.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+class MetricDataFactory {
+
+    @SuppressWarnings("unchecked")
+    private static <T extends PointData> Collection<T> cast(Collection<PointData> points) {
+        return (Collection<T>) (Collection<?>) points;
+    }
+
+    /**
+     * @return metric with the same type and properties as the given one but with other points
+     */
+    static MetricData create(MetricData metric, Collection<PointData> points) {
+        var resource = metric.getResource();
+        var scope = metric.getInstrumentationScopeInfo();
+        var name = metric.getName();
+        var description = metric.getDescription();
+        var unit = metric.getUnit();
+        return switch (metric.getType()) {
+            case LONG_SUM ->
+                    ImmutableMetricData.createLongSum(
+                            resource,
+                            scope,
+                            name,
+                            description,
+                            unit,
+                            ImmutableSumData.create(
+                                    metric.getLongSumData().isMonotonic(),
+                                    metric.getLongSumData().getAggregationTemporality(),
+                                    cast(points)));
+            case DOUBLE_SUM ->
+                    ImmutableMetricData.createDoubleSum(
+                            resource,
+                            scope,
+                            name,
+                            description,
+                            unit,
+                            ImmutableSumData.create(
+                                    metric.getDoubleSumData().isMonotonic(),
+                                    metric.getDoubleSumData().getAggregationTemporality(),
+                                    cast(points)));
+            case LONG_GAUGE ->
+                    ImmutableMetricData.createLongGauge(
+                            resource,
+                            scope,
+                            name,
+                            description,
+                            unit,
+                            ImmutableGaugeData.create(cast(points)));
+            case DOUBLE_GAUGE ->
+                    ImmutableMetricData.createDoubleGauge(
+                            resource,
+                            scope,
+                            name,
+                            description,
+                            unit,
+                            ImmutableGaugeData.create(cast(points)));
+            case HISTOGRAM ->
+                    ImmutableMetricData.createDoubleHistogram(
+                            resource,
+                            scope,
+                            name,
+                            description,
+                            unit,
+                            ImmutableHistogramData.create(
+                                    metric.getHistogramData().getAggregationTemporality(),
+                                    cast(points)));
+            case EXPONENTIAL_HISTOGRAM ->
+                    ImmutableMetricData.createExponentialHistogram(
+                            resource,
+                            scope,
+                            name,
+                            description,
+                            unit,
+                            ImmutableExponentialHistogramData.create(
+                                    metric.getExponentialHistogramData()
+                                            .getAggregationTemporality(),
+                                    cast(points)));
+            case SUMMARY ->
+                    ImmutableMetricData.createDoubleSummary(
+                            resource,
+                            scope,
+                            name,
+                            description,
+                            unit,
+                            ImmutableSummaryData.create(cast(points)));
+        };
+    }
+}
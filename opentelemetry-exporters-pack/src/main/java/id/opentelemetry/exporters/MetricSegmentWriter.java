@@ -0,0 +1,276 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.metrics.data.DoublePointData;
+import io.opentelemetry.sdk.metrics.data.HistogramPointData;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.PointData;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Writes blocks of {@link BinaryFormat} to the single segment file.
+ *
+ * <p>Dictionaries are updated while block is being encoded, so if block could not be written the
+ * segment should not be used anymore.
+ *
+ * <p>Not thread safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+class MetricSegmentWriter implements AutoCloseable {
+    private record SeriesKey(
+            byte type, InstrumentationScopeInfo scope, String name, Attributes attributes) {}
+
+    private final FileChannel channel;
+    private final Map<String, Integer> strings = new HashMap<>();
+    private final Map<SeriesKey, Integer> series = new HashMap<>();
+    private final ColumnBuffer newStrings = new ColumnBuffer();
+    private final ColumnBuffer newSeries = new ColumnBuffer();
+    private final ColumnBuffer seriesColumn = new ColumnBuffer();
+    private final ColumnBuffer startTimeColumn = new ColumnBuffer();
+    private final ColumnBuffer timeColumn = new ColumnBuffer();
+    private final ColumnBuffer longColumn = new ColumnBuffer();
+    private final ColumnBuffer doubleColumn = new ColumnBuffer();
+    private final ColumnBuffer block = new ColumnBuffer();
+    private final CRC32 crc = new CRC32();
+    private int newStringCount;
+    private int newSeriesCount;
+    private int points;
+    private int longs;
+    private int doubles;
+    private long prevStartTime;
+    private long prevTime;
+    private long size;
+
+    /** Creates new segment file */
+    MetricSegmentWriter(Path path) throws IOException {
+        channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        block.putInt(BinaryFormat.MAGIC);
+        block.putByte(BinaryFormat.VERSION);
+        try {
+            write(block);
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /** Size of the segment in bytes */
+    long size() {
+        return size;
+    }
+
+    /**
+     * Writes all points of supported metric types as a single block
+     *
+     * @return number of points written
+     */
+    int write(Collection<MetricData> metrics) throws IOException {
+        var minTime = Long.MAX_VALUE;
+        var maxTime = Long.MIN_VALUE;
+        for (var metric : metrics) {
+            if (BinaryFormat.typeCode(metric.getType()) == 0) continue;
+            for (var p : metric.getData().getPoints()) {
+                minTime = Math.min(minTime, p.getEpochNanos());
+                maxTime = Math.max(maxTime, p.getEpochNanos());
+            }
+        }
+        if (minTime > maxTime) return 0;
+        clear();
+        prevStartTime = minTime;
+        prevTime = minTime;
+        for (var metric : metrics) {
+            var type = BinaryFormat.typeCode(metric.getType());
+            if (type == 0) continue;
+            for (var p : metric.getData().getPoints()) {
+                seriesColumn.putVarint(
+                        seriesId(
+                                type,
+                                metric.getInstrumentationScopeInfo(),
+                                metric.getName(),
+                                p.getAttributes()));
+                startTimeColumn.putZigzag(p.getStartEpochNanos() - prevStartTime);
+                prevStartTime = p.getStartEpochNanos();
+                timeColumn.putZigzag(p.getEpochNanos() - prevTime);
+                prevTime = p.getEpochNanos();
+                values(type, p);
+                points++;
+            }
+        }
+        block.putLong(minTime);
+        block.putLong(maxTime);
+        block.putVarint(newStringCount);
+        block.put(newStrings);
+        block.putVarint(newSeriesCount);
+        block.put(newSeries);
+        block.putVarint(points);
+        block.put(seriesColumn);
+        block.put(startTimeColumn);
+        block.put(timeColumn);
+        block.putVarint(longs);
+        block.put(longColumn);
+        block.putVarint(doubles);
+        block.put(doubleColumn);
+        var payloadLength = block.size() - BinaryFormat.BLOCK_HEADER;
+        crc.reset();
+        crc.update(block.array(), BinaryFormat.BLOCK_HEADER, payloadLength);
+        block.setInt(0, payloadLength);
+        block.setInt(4, (int) crc.getValue());
+        write(block);
+        return points;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void clear() {
+        newStrings.clear();
+        newSeries.clear();
+        seriesColumn.clear();
+        startTimeColumn.clear();
+        timeColumn.clear();
+        longColumn.clear();
+        doubleColumn.clear();
+        block.clear();
+        newStringCount = 0;
+        newSeriesCount = 0;
+        points = 0;
+        longs = 0;
+        doubles = 0;
+        // header is set when block is complete
+        block.putLong(0);
+    }
+
+    private void values(byte type, PointData p) {
+        switch (type) {
+            case BinaryFormat.LONG_GAUGE, BinaryFormat.LONG_SUM -> {
+                longColumn.putZigzag(((LongPointData) p).getValue());
+                longs++;
+            }
+            case BinaryFormat.DOUBLE_GAUGE, BinaryFormat.DOUBLE_SUM -> {
+                doubleColumn.putDouble(((DoublePointData) p).getValue());
+                doubles++;
+            }
+            case BinaryFormat.HISTOGRAM -> {
+                var h = (HistogramPointData) p;
+                longColumn.putZigzag(h.getCount());
+                longs++;
+                doubleColumn.putDouble(h.getSum());
+                doubleColumn.putDouble(h.hasMin() ? h.getMin() : Double.NaN);
+                doubleColumn.putDouble(h.hasMax() ? h.getMax() : Double.NaN);
+                doubles += 3;
+            }
+            default -> throw new IllegalArgumentException("Unsupported metric type " + type);
+        }
+    }
+
+    private int seriesId(
+            byte type, InstrumentationScopeInfo scope, String name, Attributes attributes) {
+        var key = new SeriesKey(type, scope, name, attributes);
+        var id = series.get(key);
+        if (id != null) return id;
+        id = series.size();
+        series.put(key, id);
+        newSeriesCount++;
+        newSeries.putByte(type);
+        newSeries.putVarint(stringId(scope.getName()));
+        newSeries.putVarint(scope.getVersion() == null ? 0 : stringId(scope.getVersion()) + 1);
+        newSeries.putVarint(scope.getSchemaUrl() == null ? 0 : stringId(scope.getSchemaUrl()) + 1);
+        newSeries.putVarint(stringId(name));
+        newSeries.putVarint(attributes.size());
+        attributes.forEach(this::attribute);
+        return id;
+    }
+
+    private void attribute(AttributeKey<?> key, Object value) {
+        newSeries.putVarint(stringId(key.getKey()));
+        switch (key.getType()) {
+            case STRING -> {
+                newSeries.putByte(BinaryFormat.ATTR_STRING);
+                newSeries.putVarint(stringId((String) value));
+            }
+            case BOOLEAN -> {
+                newSeries.putByte(BinaryFormat.ATTR_BOOLEAN);
+                newSeries.putByte((Boolean) value ? 1 : 0);
+            }
+            case LONG -> {
+                newSeries.putByte(BinaryFormat.ATTR_LONG);
+                newSeries.putZigzag((Long) value);
+            }
+            case DOUBLE -> {
+                newSeries.putByte(BinaryFormat.ATTR_DOUBLE);
+                newSeries.putDouble((Double) value);
+            }
+            case STRING_ARRAY -> {
+                newSeries.putByte(BinaryFormat.ATTR_STRING_ARRAY);
+                var values = (List<?>) value;
+                newSeries.putVarint(values.size());
+                for (var v : values) newSeries.putVarint(stringId((String) v));
+            }
+            case BOOLEAN_ARRAY -> {
+                newSeries.putByte(BinaryFormat.ATTR_BOOLEAN_ARRAY);
+                var values = (List<?>) value;
+                newSeries.putVarint(values.size());
+                for (var v : values) newSeries.putByte((Boolean) v ? 1 : 0);
+            }
+            case LONG_ARRAY -> {
+                newSeries.putByte(BinaryFormat.ATTR_LONG_ARRAY);
+                var values = (List<?>) value;
+                newSeries.putVarint(values.size());
+                for (var v : values) newSeries.putZigzag((Long) v);
+            }
+            case DOUBLE_ARRAY -> {
+                newSeries.putByte(BinaryFormat.ATTR_DOUBLE_ARRAY);
+                var values = (List<?>) value;
+                newSeries.putVarint(values.size());
+                for (var v : values) newSeries.putDouble((Double) v);
+            }
+        }
+    }
+
+    private int stringId(String value) {
+        var id = strings.get(value);
+        if (id != null) return id;
+        id = strings.size();
+        strings.put(value, id);
+        newStringCount++;
+        newStrings.putString(value);
+        return id;
+    }
+
+    private void write(ColumnBuffer buf) throws IOException {
+        var bb = ByteBuffer.wrap(buf.array(), 0, buf.size());
+        while (bb.hasRemaining()) size += channel.write(bb);
+    }
+}
@@ -0,0 +1,419 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.BiConsumer;
+
+/**
+ * Streaming encoder of single line JSON documents (<a href="https://github.com/ndjson">NDJSON</a>).
+ *
+ * <p>Document is encoded as UTF-8 into the internal buffer which is reused between the documents.
+ * Numbers are written without boxing them and strings are escaped according to JSON spec.
+ *
+ * <p>Output format follows the one used by {@link id.xfunction.XJsonStringBuilder}:
+ *
+ * <pre>{@code
+ * { "NAME1": "value", "NAME2": 123 }
+ * }</pre>
+ *
+ * <p>Fields with null values are omitted.
+ *
+ * <p>Names of the attribute fields and scope fields are the same for all points of the same series,
+ * so they are encoded only once and then copied from the cache. Caches are bounded and evict least
+ * recently used entries, so series which come and go do not make them grow forever.
+ *
+ * <p>Not thread safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+class NdjsonEncoder implements BiConsumer<AttributeKey<?>, Object> {
+    /** Same as in {@link id.xfunction.XJson} */
+    private static final int MAX_FRACTION_LEN = 10;
+
+    private static final long FRACTION_SCALE = 10_000_000_000L;
+
+    /** Doubles above it cannot be scaled by {@link #FRACTION_SCALE} without overflowing long */
+    private static final double MAX_SCALABLE = 900_000_000.;
+
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+    private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes();
+    private static final int MAX_CACHED_ATTRIBUTES = 1024;
+    private static final int MAX_CACHED_SCOPES = 64;
+
+    private final TimestampFormat timestampFormat;
+
+    /** Encoded attribute field names: {@code "ATTR.key": } */
+    private final LruCache<AttributeKey<?>, byte[]> attributeNames =
+            new LruCache<>(MAX_CACHED_ATTRIBUTES);
+
+    /** Encoded scope fields: {@code "SCOPE_NAME": "name", "SCOPE_VERSION": "version"} */
+    private final LruCache<InstrumentationScopeInfo, byte[]> scopes =
+            new LruCache<>(MAX_CACHED_SCOPES);
+
+    private byte[] buf = new byte[512];
+    private int len;
+    private boolean hasFields;
+    private boolean hasArrayValues;
+
+    NdjsonEncoder() {
+        this(TimestampFormat.ISO_8601);
+    }
+
+    NdjsonEncoder(TimestampFormat timestampFormat) {
+        this.timestampFormat = timestampFormat;
+    }
+
+    void beginDocument() {
+        len = 0;
+        hasFields = false;
+        writeByte('{');
+    }
+
+    /** Finishes document by adding closing bracket and new line character */
+    void endDocument() {
+        if (hasFields) writeByte(' ');
+        writeByte('}');
+        writeByte('\n');
+    }
+
+    /** Size of the document in bytes */
+    int size() {
+        return len;
+    }
+
+    void writeTo(BulkBody body) {
+        body.write(buf, 0, len);
+    }
+
+    void field(String name, String value) {
+        if (value == null) return;
+        name(name);
+        string(value);
+    }
+
+    void field(String name, long value) {
+        name(name);
+        number(value);
+    }
+
+    void field(String name, double value) {
+        name(name);
+        number(value);
+    }
+
+    void field(String name, boolean value) {
+        name(name);
+        bool(value);
+    }
+
+    /** Starts nested object, all fields which follow belong to it until {@link #endObject()} */
+    void beginObject(String name) {
+        name(name);
+        writeByte('{');
+        hasFields = false;
+    }
+
+    void endObject() {
+        if (hasFields) writeByte(' ');
+        writeByte('}');
+        hasFields = true;
+    }
+
+    /** Starts array of numbers which are added with {@link #arrayValue} */
+    void beginArray(String name) {
+        name(name);
+        writeByte('[');
+        hasArrayValues = false;
+    }
+
+    void arrayValue(long value) {
+        arraySeparator();
+        number(value);
+    }
+
+    void arrayValue(double value) {
+        arraySeparator();
+        number(value);
+    }
+
+    void endArray() {
+        writeByte(']');
+    }
+
+    /** Writes point timestamp in the configured {@link TimestampFormat} */
+    void timestamp(String name, long epochNanos) {
+        name(name);
+        switch (timestampFormat) {
+            case EPOCH_MILLIS -> number(TimestampFormatter.toEpochMillis(epochNanos));
+            default -> {
+                writeByte('"');
+                writeBytes(TimestampFormatter.SHARED.formatBytes(epochNanos));
+                writeByte('"');
+            }
+        }
+    }
+
+    /**
+     * Writes {@link ExportSchema#SCOPE_NAME}, {@link ExportSchema#SCOPE_VERSION}, {@link
+     * ExportSchema#SCOPE_SCHEMA} fields
+     */
+    void scope(InstrumentationScopeInfo scope) {
+        var fields = scopes.get(scope);
+        if (fields == null) {
+            var encoder = new NdjsonEncoder();
+            encoder.beginDocument();
+            encoder.field(ExportSchema.SCOPE_NAME, scope.getName());
+            encoder.field(ExportSchema.SCOPE_VERSION, scope.getVersion());
+            encoder.field(ExportSchema.SCOPE_SCHEMA, scope.getSchemaUrl());
+            // skip "{ "
+            fields = Arrays.copyOfRange(encoder.buf, 2, encoder.len);
+            scopes.put(scope, fields);
+        }
+        if (fields.length == 0) return;
+        separator();
+        writeBytes(fields);
+    }
+
+    /** Writes all attributes as separate fields with {@link ExportSchema#ATTR_PREFIX} */
+    void attributes(Attributes attributes) {
+        attributes.forEach(this);
+    }
+
+    /** Writes single attribute. Used to iterate over {@link Attributes} without allocations. */
+    @Override
+    public void accept(AttributeKey<?> key, Object value) {
+        if (value == null) return;
+        separator();
+        var name = attributeNames.get(key);
+        if (name != null) {
+            writeBytes(name);
+        } else {
+            var start = len;
+            writeByte('"');
+            stringContent(ExportSchema.ATTR_PREFIX);
+            stringContent(key.getKey());
+            nameEnd();
+            attributeNames.put(key, Arrays.copyOfRange(buf, start, len));
+        }
+        switch (key.getType()) {
+            case STRING -> string((String) value);
+            case BOOLEAN -> bool((Boolean) value);
+            case LONG -> number(((Long) value).longValue());
+            case DOUBLE -> number(((Double) value).doubleValue());
+            case STRING_ARRAY, BOOLEAN_ARRAY, LONG_ARRAY, DOUBLE_ARRAY -> array((List<?>) value);
+        }
+    }
+
+    private void array(List<?> values) {
+        writeByte('[');
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) writeAscii(", ");
+            var v = values.get(i);
+            if (v instanceof String s) string(s);
+            else if (v instanceof Boolean b) bool(b);
+            else if (v instanceof Long l) number(l.longValue());
+            else if (v instanceof Double d) number(d.doubleValue());
+            else writeAscii("null");
+        }
+        writeByte(']');
+    }
+
+    private void name(String name) {
+        nameStart();
+        stringContent(name);
+        nameEnd();
+    }
+
+    private void nameStart() {
+        separator();
+        writeByte('"');
+    }
+
+    private void arraySeparator() {
+        if (hasArrayValues) writeAscii(", ");
+        hasArrayValues = true;
+    }
+
+    /** Separates new field from the previous one */
+    private void separator() {
+        if (hasFields) writeByte(',');
+        hasFields = true;
+        writeByte(' ');
+    }
+
+    private void nameEnd() {
+        writeByte('"');
+        writeByte(':');
+        writeByte(' ');
+    }
+
+    private void bool(boolean value) {
+        writeAscii(value ? "true" : "false");
+    }
+
+    private void string(String value) {
+        writeByte('"');
+        stringContent(value);
+        writeByte('"');
+    }
+
+    /** Writes string as UTF-8 escaping all characters which cannot be present in JSON string */
+    private void stringContent(String value) {
+        // escaped character takes at most 6 bytes
+        ensureCapacity(value.length() * 6);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x20 && c < 0x80 && c != '"' && c != '\\') {
+                // fast path for ASCII, capacity for it is already ensured
+                buf[len++] = (byte) c;
+            } else if (c < 0x80) {
+                escape(c);
+            } else if (c < 0x800) {
+                writeByte(0xc0 | (c >> 6));
+                writeByte(0x80 | (c & 0x3f));
+            } else if (Character.isHighSurrogate(c)
+                    && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, value.charAt(++i));
+                writeByte(0xf0 | (cp >> 18));
+                writeByte(0x80 | ((cp >> 12) & 0x3f));
+                writeByte(0x80 | ((cp >> 6) & 0x3f));
+                writeByte(0x80 | (cp & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                // unpaired surrogate is not valid UTF-16, replace it
+                escape(0xfffd);
+            } else {
+                writeByte(0xe0 | (c >> 12));
+                writeByte(0x80 | ((c >> 6) & 0x3f));
+                writeByte(0x80 | (c & 0x3f));
+            }
+        }
+    }
+
+    private void escape(int c) {
+        writeByte('\\');
+        switch (c) {
+            case '"' -> writeByte('"');
+            case '\\' -> writeByte('\\');
+            case '\n' -> writeByte('n');
+            case '\r' -> writeByte('r');
+            case '\t' -> writeByte('t');
+            case '\b' -> writeByte('b');
+            case '\f' -> writeByte('f');
+            default -> {
+                writeByte('u');
+                writeByte(HEX[(c >> 12) & 0xf]);
+                writeByte(HEX[(c >> 8) & 0xf]);
+                writeByte(HEX[(c >> 4) & 0xf]);
+                writeByte(HEX[c & 0xf]);
+            }
+        }
+    }
+
+    private void number(long value) {
+        if (value == Long.MIN_VALUE) {
+            writeBytes(MIN_LONG);
+            return;
+        }
+        ensureCapacity(20);
+        if (value < 0) {
+            buf[len++] = '-';
+            value = -value;
+        }
+        var start = len;
+        do {
+            buf[len++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        reverse(start, len - 1);
+    }
+
+    /**
+     * Doubles are written with at most {@link #MAX_FRACTION_LEN} fraction digits and without
+     * trailing zeros. Integer values are written without fraction part. NaN and infinities are not
+     * supported by JSON so they are written as null.
+     */
+    private void number(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            writeAscii("null");
+            return;
+        }
+        var abs = Math.abs(value);
+        if (abs < Long.MAX_VALUE && value == Math.rint(value)) {
+            number((long) value);
+            return;
+        }
+        if (abs >= MAX_SCALABLE) {
+            // rare case, fallback to Java formatting which is valid JSON number
+            writeAscii(Double.toString(value));
+            return;
+        }
+        var scaled = (long) Math.rint(abs * FRACTION_SCALE);
+        var intPart = scaled / FRACTION_SCALE;
+        var fraction = scaled % FRACTION_SCALE;
+        if (value < 0 && scaled != 0) writeByte('-');
+        number(intPart);
+        if (fraction == 0) return;
+        ensureCapacity(MAX_FRACTION_LEN + 1);
+        buf[len++] = '.';
+        var digits = MAX_FRACTION_LEN;
+        while (fraction % 10 == 0) {
+            fraction /= 10;
+            digits--;
+        }
+        for (int i = digits - 1; i >= 0; i--) {
+            buf[len + i] = (byte) ('0' + fraction % 10);
+            fraction /= 10;
+        }
+        len += digits;
+    }
+
+    private void reverse(int from, int to) {
+        while (from < to) {
+            var tmp = buf[from];
+            buf[from++] = buf[to];
+            buf[to--] = tmp;
+        }
+    }
+
+    private void writeAscii(String str) {
+        ensureCapacity(str.length());
+        for (int i = 0; i < str.length(); i++) buf[len++] = (byte) str.charAt(i);
+    }
+
+    private void writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buf, len, bytes.length);
+        len += bytes.length;
+    }
+
+    private void writeByte(int b) {
+        ensureCapacity(1);
+        buf[len++] = (byte) b;
+    }
+
+    private void ensureCapacity(int n) {
+        if (len + n <= buf.length) return;
+        buf = Arrays.copyOf(buf, Math.max(buf.length * 2, len + n));
+    }
+}
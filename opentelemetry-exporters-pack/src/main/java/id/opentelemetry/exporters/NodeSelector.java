@@ -0,0 +1,157 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import id.opentelemetry.exporters.ElasticsearchMetricExporterConfiguration.LoadBalancing;
+import id.xfunction.logging.XLogger;
+import java.net.ConnectException;
+import java.net.URI;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Selects Elasticsearch node for each bulk request.
+ *
+ * <p>Nodes are marked dead passively, when request to them fails with connection error or timeout,
+ * and they are not selected until their backoff delay passes. First request which succeeds after
+ * that resurrects the node.
+ *
+ * <p>Thread safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+class NodeSelector {
+    private static final XLogger LOGGER = XLogger.getLogger(NodeSelector.class.getName());
+
+    private final List<Node> nodes;
+    private final LoadBalancing loadBalancing;
+    private final long initialBackoffNanos;
+    private final long maxBackoffNanos;
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * @param addBulkApi bulk API URI of each node
+     */
+    NodeSelector(
+            List<URI> addBulkApi,
+            LoadBalancing loadBalancing,
+            Duration initialBackoff,
+            Duration maxBackoff) {
+        if (addBulkApi.isEmpty()) throw new IllegalArgumentException("No Elasticsearch nodes");
+        this.nodes = addBulkApi.stream().map(Node::new).toList();
+        this.loadBalancing = loadBalancing;
+        this.initialBackoffNanos = initialBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+    }
+
+    /** Node is not reachable or does not respond */
+    static boolean isNodeFailure(Throwable ex) {
+        return ex instanceof ConnectException || ex instanceof HttpTimeoutException;
+    }
+
+    /**
+     * Selects one of the live nodes or, if all nodes are dead, the one which is due to be
+     * resurrected first. Caller should report result of the request with {@link #onSuccess(Node)}
+     * or {@link #onFailure(Node, boolean)}.
+     */
+    Node select() {
+        var now = System.nanoTime();
+        var start = Math.floorMod(next.getAndIncrement(), nodes.size());
+        Node selected = null;
+        for (int i = 0; i < nodes.size(); i++) {
+            var node = nodes.get((start + i) % nodes.size());
+            if (!node.isAlive(now)) continue;
+            if (loadBalancing == LoadBalancing.ROUND_ROBIN) {
+                selected = node;
+                break;
+            }
+            if (selected == null || node.outstanding.get() < selected.outstanding.get())
+                selected = node;
+        }
+        if (selected == null) {
+            for (var node : nodes)
+                if (selected == null || node.deadUntilNanos - selected.deadUntilNanos < 0)
+                    selected = node;
+        }
+        selected.outstanding.incrementAndGet();
+        return selected;
+    }
+
+    /** Node responded (regardless of the response status) */
+    void onSuccess(Node node) {
+        node.outstanding.decrementAndGet();
+        if (node.failures == 0) return;
+        synchronized (node) {
+            if (node.failures == 0) return;
+            LOGGER.info("Elasticsearch node {0} is alive again", node.addBulkApi);
+            node.failures = 0;
+        }
+    }
+
+    /**
+     * @param isNodeFailure request failed due to connection error or timeout and node should be
+     *     marked dead
+     */
+    void onFailure(Node node, boolean isNodeFailure) {
+        node.outstanding.decrementAndGet();
+        if (!isNodeFailure) return;
+        synchronized (node) {
+            var failures = ++node.failures;
+            var backoff =
+                    Math.min(maxBackoffNanos, initialBackoffNanos << Math.min(failures - 1, 30));
+            if (backoff < 0) backoff = maxBackoffNanos;
+            node.deadUntilNanos = System.nanoTime() + backoff;
+            LOGGER.warning(
+                    "Elasticsearch node {0} is marked dead for {1}ms after {2} failures",
+                    node.addBulkApi, backoff / 1_000_000, failures);
+        }
+    }
+
+    int size() {
+        return nodes.size();
+    }
+
+    /**
+     * @author lambdaprime intid@protonmail.com
+     */
+    static class Node {
+        private final URI addBulkApi;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        private volatile int failures;
+        private volatile long deadUntilNanos;
+
+        Node(URI addBulkApi) {
+            this.addBulkApi = addBulkApi;
+        }
+
+        URI addBulkApi() {
+            return addBulkApi;
+        }
+
+        boolean isAlive(long nowNanos) {
+            return failures == 0 || nowNanos - deadUntilNanos >= 0;
+        }
+
+        @Override
+        public String toString() {
+            return addBulkApi.toString();
+        }
+    }
+}
@@ -0,0 +1,467 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.DoublePointData;
+import io.opentelemetry.sdk.metrics.data.ExponentialHistogramBuckets;
+import io.opentelemetry.sdk.metrics.data.ExponentialHistogramPointData;
+import io.opentelemetry.sdk.metrics.data.HistogramPointData;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.MetricDataType;
+import io.opentelemetry.sdk.metrics.data.PointData;
+import io.opentelemetry.sdk.metrics.data.SummaryPointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableDoublePointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableExponentialHistogramBuckets;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableExponentialHistogramPointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableHistogramPointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableLongPointData;
+import io.opentelemetry.sdk.metrics.internal.data.ImmutableSummaryPointData;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Merges points of one series which were received during the roll-up window.
+ *
+ * <p>Only {@link AggregationTemporality#DELTA} points are merged: counters are summed, histograms
+ * have their buckets, sums, min and max merged. For all other points (gauges, cumulative points,
+ * summaries) the last point is kept. Exemplars of merged points are dropped.
+ *
+ * <p>Not thread safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+abstract class RollupAccumulator {
+
+    /** Attributes of the accumulated point */
+    Attributes attributes;
+
+    /**
+     * @param metric metric which the first point of the series belongs to
+     */
+    static RollupAccumulator create(MetricData metric, PointData point) {
+        var accumulator =
+                temporality(metric) == AggregationTemporality.DELTA
+                        ? merging(metric.getType())
+                        : new LastValue();
+        accumulator.attributes = point.getAttributes();
+        accumulator.reset(point);
+        return accumulator;
+    }
+
+    /**
+     * Creates accumulator which merges points of different series of the same metric into a single
+     * point. Points are merged regardless of their temporality, since all of them belong to the
+     * same collection.
+     *
+     * @param attributes attributes of the merged point
+     */
+    static RollupAccumulator createOverflow(
+            MetricData metric, PointData point, Attributes attributes) {
+        var accumulator = merging(metric.getType());
+        accumulator.attributes = attributes;
+        accumulator.reset(point);
+        return accumulator;
+    }
+
+    private static RollupAccumulator merging(MetricDataType type) {
+        return switch (type) {
+            case LONG_SUM -> new LongSum();
+            case DOUBLE_SUM -> new DoubleSum();
+            case HISTOGRAM -> new Histogram();
+            case EXPONENTIAL_HISTOGRAM -> new ExponentialHistogram();
+            default -> new LastValue();
+        };
+    }
+
+    private static AggregationTemporality temporality(MetricData metric) {
+        return switch (metric.getType()) {
+            case LONG_SUM -> metric.getLongSumData().getAggregationTemporality();
+            case DOUBLE_SUM -> metric.getDoubleSumData().getAggregationTemporality();
+            case HISTOGRAM -> metric.getHistogramData().getAggregationTemporality();
+            case EXPONENTIAL_HISTOGRAM ->
+                    metric.getExponentialHistogramData().getAggregationTemporality();
+            default -> AggregationTemporality.CUMULATIVE;
+        };
+    }
+
+    /** Starts accumulation from the given point */
+    abstract void reset(PointData point);
+
+    abstract void add(PointData point);
+
+    /**
+     * @return point which covers all points added since the last {@link #reset(PointData)}
+     */
+    abstract PointData toPoint();
+
+    /**
+     * @author lambdaprime intid@protonmail.com
+     */
+    private static class LastValue extends RollupAccumulator {
+        private PointData point;
+
+        @Override
+        void reset(PointData point) {
+            this.point = point;
+        }
+
+        @Override
+        void add(PointData point) {
+            this.point = point;
+        }
+
+        @Override
+        PointData toPoint() {
+            if (point.getAttributes().equals(attributes)) return point;
+            // point of other series
+            return withAttributes(point, attributes);
+        }
+    }
+
+    /**
+     * @author lambdaprime intid@protonmail.com
+     */
+    private static class LongSum extends RollupAccumulator {
+        private LongPointData first;
+        private long epochNanos;
+        private long value;
+
+        @Override
+        void reset(PointData point) {
+            first = (LongPointData) point;
+            epochNanos = first.getEpochNanos();
+            value = first.getValue();
+        }
+
+        @Override
+        void add(PointData point) {
+            var p = (LongPointData) point;
+            epochNanos = Math.max(epochNanos, p.getEpochNanos());
+            value += p.getValue();
+        }
+
+        @Override
+        PointData toPoint() {
+            return ImmutableLongPointData.create(
+                    first.getStartEpochNanos(), epochNanos, attributes, value);
+        }
+    }
+
+    /**
+     * @author lambdaprime intid@protonmail.com
+     */
+    private static class DoubleSum extends RollupAccumulator {
+        private DoublePointData first;
+        private long epochNanos;
+        private double value;
+
+        @Override
+        void reset(PointData point) {
+            first = (DoublePointData) point;
+            epochNanos = first.getEpochNanos();
+            value = first.getValue();
+        }
+
+        @Override
+        void add(PointData point) {
+            var p = (DoublePointData) point;
+            epochNanos = Math.max(epochNanos, p.getEpochNanos());
+            value += p.getValue();
+        }
+
+        @Override
+        PointData toPoint() {
+            return ImmutableDoublePointData.create(
+                    first.getStartEpochNanos(), epochNanos, attributes, value);
+        }
+    }
+
+    /**
+     * Histogram points can be merged only if they have same boundaries, otherwise accumulation
+     * starts from the new point.
+     *
+     * @author lambdaprime intid@protonmail.com
+     */
+    private static class Histogram extends RollupAccumulator {
+        private HistogramPointData first;
+        private long epochNanos;
+        private double sum;
+        private double min;
+        private double max;
+        private boolean hasMin;
+        private boolean hasMax;
+        private long[] counts;
+
+        @Override
+        void reset(PointData point) {
+            first = (HistogramPointData) point;
+            epochNanos = first.getEpochNanos();
+            sum = first.getSum();
+            hasMin = first.hasMin();
+            min = first.getMin();
+            hasMax = first.hasMax();
+            max = first.getMax();
+            var pointCounts = first.getCounts();
+            counts = new long[pointCounts.size()];
+            for (int i = 0; i < counts.length; i++) counts[i] = pointCounts.get(i);
+        }
+
+        @Override
+        void add(PointData point) {
+            var p = (HistogramPointData) point;
+            if (!p.getBoundaries().equals(first.getBoundaries())) {
+                reset(p);
+                return;
+            }
+            epochNanos = Math.max(epochNanos, p.getEpochNanos());
+            sum += p.getSum();
+            if (p.hasMin()) {
+                min = hasMin ? Math.min(min, p.getMin()) : p.getMin();
+                hasMin = true;
+            }
+            if (p.hasMax()) {
+                max = hasMax ? Math.max(max, p.getMax()) : p.getMax();
+                hasMax = true;
+            }
+            var pointCounts = p.getCounts();
+            for (int i = 0; i < counts.length; i++) counts[i] += pointCounts.get(i);
+        }
+
+        @Override
+        PointData toPoint() {
+            return ImmutableHistogramPointData.create(
+                    first.getStartEpochNanos(),
+                    epochNanos,
+                    attributes,
+                    sum,
+                    hasMin,
+                    min,
+                    hasMax,
+                    max,
+                    first.getBoundaries(),
+                    toList(counts, 0, counts.length));
+        }
+    }
+
+    /**
+     * Points of different scales are merged by downscaling them to the smallest of the scales.
+     * Scale is reduced further if the merged buckets do not fit into {@link #MAX_BUCKETS}.
+     *
+     * @author lambdaprime intid@protonmail.com
+     */
+    private static class ExponentialHistogram extends RollupAccumulator {
+        /** Same as the default max size of exponential histogram aggregation in OpenTelemetry */
+        private static final int MAX_BUCKETS = 160;
+
+        private static final int MIN_SCALE = -10;
+
+        private ExponentialHistogramPointData first;
+        private long epochNanos;
+        private int scale;
+        private double sum;
+        private long zeroCount;
+        private double min;
+        private double max;
+        private boolean hasMin;
+        private boolean hasMax;
+        private final Buckets positive = new Buckets();
+        private final Buckets negative = new Buckets();
+
+        @Override
+        void reset(PointData point) {
+            first = (ExponentialHistogramPointData) point;
+            epochNanos = first.getEpochNanos();
+            scale = first.getScale();
+            sum = first.getSum();
+            zeroCount = first.getZeroCount();
+            hasMin = first.hasMin();
+            min = first.getMin();
+            hasMax = first.hasMax();
+            max = first.getMax();
+            positive.clear();
+            negative.clear();
+            add(first.getPositiveBuckets(), first.getNegativeBuckets());
+        }
+
+        @Override
+        void add(PointData point) {
+            var p = (ExponentialHistogramPointData) point;
+            epochNanos = Math.max(epochNanos, p.getEpochNanos());
+            sum += p.getSum();
+            zeroCount += p.getZeroCount();
+            if (p.hasMin()) {
+                min = hasMin ? Math.min(min, p.getMin()) : p.getMin();
+                hasMin = true;
+            }
+            if (p.hasMax()) {
+                max = hasMax ? Math.max(max, p.getMax()) : p.getMax();
+                hasMax = true;
+            }
+            add(p.getPositiveBuckets(), p.getNegativeBuckets());
+        }
+
+        private void add(
+                ExponentialHistogramBuckets positiveBuckets,
+                ExponentialHistogramBuckets negativeBuckets) {
+            var target = Math.min(scale, positiveBuckets.getScale());
+            while (target > MIN_SCALE
+                    && (positive.span(scale - target, positiveBuckets, target) > MAX_BUCKETS
+                            || negative.span(scale - target, negativeBuckets, target)
+                                    > MAX_BUCKETS)) target--;
+            positive.downscale(scale - target);
+            negative.downscale(scale - target);
+            scale = target;
+            positive.add(positiveBuckets, positiveBuckets.getScale() - target);
+            negative.add(negativeBuckets, negativeBuckets.getScale() - target);
+        }
+
+        @Override
+        PointData toPoint() {
+            return ImmutableExponentialHistogramPointData.create(
+                    scale,
+                    sum,
+                    zeroCount,
+                    hasMin,
+                    min,
+                    hasMax,
+                    max,
+                    positive.toBuckets(scale),
+                    negative.toBuckets(scale),
+                    first.getStartEpochNanos(),
+                    epochNanos,
+                    attributes,
+                    List.of());
+        }
+    }
+
+    /**
+     * Dense array of exponential histogram bucket counts
+     *
+     * @author lambdaprime intid@protonmail.com
+     */
+    private static class Buckets {
+        private int offset;
+        private long[] counts = new long[0];
+        private int size;
+
+        void clear() {
+            size = 0;
+        }
+
+        /**
+         * @return number of buckets after merging with other buckets, when both are downscaled by
+         *     the given number of scales
+         */
+        int span(int downscale, ExponentialHistogramBuckets other, int targetScale) {
+            var otherDownscale = other.getScale() - targetScale;
+            var otherSize = other.getBucketCounts().size();
+            if (size == 0 && otherSize == 0) return 0;
+            var lo = Integer.MAX_VALUE;
+            var hi = Integer.MIN_VALUE;
+            if (size > 0) {
+                lo = offset >> downscale;
+                hi = (offset + size - 1) >> downscale;
+            }
+            if (otherSize > 0) {
+                lo = Math.min(lo, other.getOffset() >> otherDownscale);
+                hi = Math.max(hi, (other.getOffset() + otherSize - 1) >> otherDownscale);
+            }
+            return hi - lo + 1;
+        }
+
+        /** Merges adjacent buckets so that they correspond to the lower scale */
+        void downscale(int by) {
+            if (by == 0 || size == 0) return;
+            var newOffset = offset >> by;
+            var newSize = ((offset + size - 1) >> by) - newOffset + 1;
+            var newCounts = new long[counts.length];
+            for (int i = 0; i < size; i++) newCounts[((offset + i) >> by) - newOffset] += counts[i];
+            offset = newOffset;
+            size = newSize;
+            counts = newCounts;
+        }
+
+        /**
+         * @param downscale difference between scale of other buckets and scale of these buckets
+         */
+        void add(ExponentialHistogramBuckets other, int downscale) {
+            var otherCounts = other.getBucketCounts();
+            if (otherCounts.isEmpty()) return;
+            var lo = other.getOffset() >> downscale;
+            var hi = (other.getOffset() + otherCounts.size() - 1) >> downscale;
+            ensureRange(lo, hi);
+            for (int i = 0; i < otherCounts.size(); i++)
+                counts[((other.getOffset() + i) >> downscale) - offset] += otherCounts.get(i);
+        }
+
+        private void ensureRange(int lo, int hi) {
+            if (size == 0) {
+                offset = lo;
+                size = hi - lo + 1;
+                if (counts.length < size) counts = new long[size];
+                else Arrays.fill(counts, 0);
+                return;
+            }
+            var newOffset = Math.min(offset, lo);
+            var newSize = Math.max(offset + size - 1, hi) - newOffset + 1;
+            if (newOffset == offset && newSize <= counts.length) {
+                size = newSize;
+                return;
+            }
+            var newCounts = new long[Math.max(newSize, counts.length)];
+            System.arraycopy(counts, 0, newCounts, offset - newOffset, size);
+            offset = newOffset;
+            size = newSize;
+            counts = newCounts;
+        }
+
+        ExponentialHistogramBuckets toBuckets(int scale) {
+            return ImmutableExponentialHistogramBuckets.create(
+                    scale, size == 0 ? 0 : offset, toList(counts, 0, size));
+        }
+    }
+
+    private static PointData withAttributes(PointData point, Attributes attributes) {
+        if (point instanceof LongPointData p)
+            return ImmutableLongPointData.create(
+                    p.getStartEpochNanos(), p.getEpochNanos(), attributes, p.getValue());
+        if (point instanceof DoublePointData p)
+            return ImmutableDoublePointData.create(
+                    p.getStartEpochNanos(), p.getEpochNanos(), attributes, p.getValue());
+        if (point instanceof SummaryPointData p)
+            return ImmutableSummaryPointData.create(
+                    p.getStartEpochNanos(),
+                    p.getEpochNanos(),
+                    attributes,
+                    p.getCount(),
+                    p.getSum(),
+                    p.getValues());
+        throw new IllegalArgumentException(
+                "Unsupported point type " + point.getClass().getSimpleName());
+    }
+
+    private static List<Long> toList(long[] values, int from, int to) {
+        var list = new ArrayList<Long>(to - from);
+        for (int i = from; i < to; i++) list.add(values[i]);
+        return list;
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import id.xfunction.logging.XLogger;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.MetricDataType;
+import io.opentelemetry.sdk.metrics.data.PointData;
+import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import io.opentelemetry.sdk.resources.Resource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Metric Exporter decorator which rolls up metrics over the time window before passing them to
+ * another exporter.
+ *
+ * <p>It allows to collect metrics often (to have them up to date locally) but export them less
+ * frequently, which reduces number of documents stored by exporters like {@link
+ * ElasticsearchMetricExporter}.
+ *
+ * <p>Points of each series (metric, its scope, resource and point attributes) received during the
+ * window are merged into one point:
+ *
+ * <ul>
+ *   <li>{@link AggregationTemporality#DELTA} sums are summed
+ *   <li>{@link AggregationTemporality#DELTA} histograms and exponential histograms have their
+ *       buckets, sums, min and max merged
+ *   <li>for gauges, summaries and all {@link AggregationTemporality#CUMULATIVE} points the last
+ *       point is kept
+ * </ul>
+ *
+ * <p>Windows are aligned to the epoch (window of 1 minute always starts at the beginning of the
+ * minute) and points are assigned to the windows by their end time. Merged points of the window are
+ * exported once the first point of the next window is received, or once points reach the end of the
+ * window, whichever comes first. Points which were not exported yet are exported on {@link
+ * #flush()} and {@link #shutdown()}.
+ *
+ * <h2>Usage</h2>
+ *
+ * <pre>{@code
+ * var metricReader = PeriodicMetricReader
+ *   .builder(new RollupMetricExporter(elasticsearchExporter, Duration.ofMinutes(1)))
+ *   .setInterval(Duration.ofSeconds(3))
+ *   .build();
+ * }</pre>
+ *
+ * <p>Thread safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public final class RollupMetricExporter implements MetricExporter {
+    private static final XLogger LOGGER = XLogger.getLogger(RollupMetricExporter.class.getName());
+
+    private record MetricKey(
+            Resource resource, InstrumentationScopeInfo scope, String name, MetricDataType type) {}
+
+    /**
+     * @author lambdaprime intid@protonmail.com
+     */
+    private static class MetricState {
+        /** Last received metric, its description and unit are used for the merged metric */
+        MetricData metric;
+
+        final SeriesMap<RollupAccumulator> series = new SeriesMap<>();
+
+        MetricState(MetricData metric) {
+            this.metric = metric;
+        }
+    }
+
+    private final MetricExporter delegate;
+    private final long windowNanos;
+    private final Map<MetricKey, MetricState> metrics = new LinkedHashMap<>();
+    private long window = Long.MIN_VALUE;
+    private boolean isShutdown;
+
+    /**
+     * @param delegate exporter which receives merged metrics
+     * @param window duration of the roll-up window
+     */
+    public RollupMetricExporter(MetricExporter delegate, Duration window) {
+        if (window.isNegative() || window.isZero())
+            throw new IllegalArgumentException("Window must be positive");
+        this.delegate = delegate;
+        this.windowNanos = window.toNanos();
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<MetricData> metrics) {
+        LOGGER.fine("Received a collection of {0} metrics for export.", metrics.size());
+        if (isShutdown) {
+            LOGGER.warning("Exporter is shut down, ignoring {0} metrics", metrics.size());
+            return CompletableResultCode.ofFailure();
+        }
+        var completed = new ArrayList<List<MetricData>>();
+        var maxEpochNanos = Long.MIN_VALUE;
+        for (var metric : metrics) {
+            MetricState state = null;
+            for (var point : metric.getData().getPoints()) {
+                // window includes its end time, same as point end time
+                var pointWindow = Math.floorDiv(point.getEpochNanos() - 1, windowNanos);
+                if (pointWindow > window) {
+                    if (!this.metrics.isEmpty()) completed.add(drain());
+                    window = pointWindow;
+                    state = null;
+                }
+                if (state == null) state = state(metric);
+                var accumulator = state.series.get(point.getAttributes());
+                if (accumulator == null)
+                    state.series.add(
+                            point.getAttributes(), RollupAccumulator.create(metric, point));
+                else accumulator.add(point);
+                maxEpochNanos = Math.max(maxEpochNanos, point.getEpochNanos());
+            }
+        }
+        // points reached the end of the window
+        if (!this.metrics.isEmpty() && Math.floorDiv(maxEpochNanos, windowNanos) > window)
+            completed.add(drain());
+        return forward(completed);
+    }
+
+    private MetricState state(MetricData metric) {
+        var key =
+                new MetricKey(
+                        metric.getResource(),
+                        metric.getInstrumentationScopeInfo(),
+                        metric.getName(),
+                        metric.getType());
+        var state = metrics.get(key);
+        if (state == null) {
+            state = new MetricState(metric);
+            metrics.put(key, state);
+        } else state.metric = metric;
+        return state;
+    }
+
+    /** Removes all merged metrics */
+    private List<MetricData> drain() {
+        var result = new ArrayList<MetricData>(metrics.size());
+        for (var state : metrics.values()) {
+            var points = new ArrayList<PointData>(state.series.values().size());
+            for (var accumulator : state.series.values()) points.add(accumulator.toPoint());
+            result.add(MetricDataFactory.create(state.metric, points));
+        }
+        metrics.clear();
+        return result;
+    }
+
+    private CompletableResultCode forward(List<List<MetricData>> completed) {
+        if (completed.isEmpty()) return CompletableResultCode.ofSuccess();
+        var results = new ArrayList<CompletableResultCode>(completed.size());
+        for (var batch : completed) {
+            LOGGER.fine("Exporting {0} merged metrics", batch.size());
+            results.add(delegate.export(batch));
+        }
+        return CompletableResultCode.ofAll(results);
+    }
+
+    /** Exports all points which were not exported yet and flushes the delegate */
+    @Override
+    public synchronized CompletableResultCode flush() {
+        LOGGER.fine("flush");
+        var result = forward(metrics.isEmpty() ? List.of() : List.of(drain()));
+        return CompletableResultCode.ofAll(List.of(result, delegate.flush()));
+    }
+
+    /** Exports all points which were not exported yet and shuts down the delegate */
+    @Override
+    public synchronized CompletableResultCode shutdown() {
+        LOGGER.fine("shutdown");
+        if (isShutdown) return CompletableResultCode.ofSuccess();
+        isShutdown = true;
+        var result = forward(metrics.isEmpty() ? List.of() : List.of(drain()));
+        return CompletableResultCode.ofAll(List.of(result, delegate.shutdown()));
+    }
+
+    @Override
+    public AggregationTemporality getAggregationTemporality(InstrumentType instrumentType) {
+        return delegate.getAggregationTemporality(instrumentType);
+    }
+}
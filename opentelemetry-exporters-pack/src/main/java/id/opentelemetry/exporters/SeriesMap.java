@@ -0,0 +1,107 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import io.opentelemetry.api.common.Attributes;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Map from point {@link Attributes} to the state of the series.
+ *
+ * <p>Open addressing table where hash codes of the keys are kept in the primitive array, so lookup
+ * compares attributes only when their hash codes match and no entry objects are allocated. Values
+ * are iterated in the order they were added.
+ *
+ * <p>Not thread safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+class SeriesMap<V> {
+    private static final int INITIAL_CAPACITY = 16;
+    private int[] hashes = new int[INITIAL_CAPACITY];
+    private Attributes[] keys = new Attributes[INITIAL_CAPACITY];
+    private int[] indexes = new int[INITIAL_CAPACITY];
+    private final List<V> values = new ArrayList<>();
+
+    V get(Attributes key) {
+        var hash = hash(key);
+        var mask = keys.length - 1;
+        for (int i = hash & mask; keys[i] != null; i = (i + 1) & mask) {
+            if (hashes[i] == hash && keys[i].equals(key)) return values.get(indexes[i]);
+        }
+        return null;
+    }
+
+    /** Key should not be present in the map */
+    void add(Attributes key, V value) {
+        if ((values.size() + 1) * 2 > keys.length) resize(keys.length * 2);
+        insert(hash(key), key, values.size());
+        values.add(value);
+    }
+
+    /**
+     * @return values in the order they were added
+     */
+    List<V> values() {
+        return values;
+    }
+
+    boolean isEmpty() {
+        return values.isEmpty();
+    }
+
+    void clear() {
+        if (keys.length > INITIAL_CAPACITY) {
+            hashes = new int[INITIAL_CAPACITY];
+            keys = new Attributes[INITIAL_CAPACITY];
+            indexes = new int[INITIAL_CAPACITY];
+        } else {
+            Arrays.fill(keys, null);
+        }
+        values.clear();
+    }
+
+    /** Spreads higher bits of the hash code, same as {@link java.util.HashMap} */
+    private static int hash(Attributes key) {
+        var h = key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private void insert(int hash, Attributes key, int index) {
+        var mask = keys.length - 1;
+        var i = hash & mask;
+        while (keys[i] != null) i = (i + 1) & mask;
+        hashes[i] = hash;
+        keys[i] = key;
+        indexes[i] = index;
+    }
+
+    private void resize(int capacity) {
+        var oldHashes = hashes;
+        var oldKeys = keys;
+        var oldIndexes = indexes;
+        hashes = new int[capacity];
+        keys = new Attributes[capacity];
+        indexes = new int[capacity];
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != null) insert(oldHashes[i], oldKeys[i], oldIndexes[i]);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+/**
+ * How {@link ExportSchema#START_TIME} and {@link ExportSchema#END_TIME} of the points are exported
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public enum TimestampFormat {
+    /** UTC date and time with millisecond precision, for example "2023-02-12T00:53:45.663Z" */
+    ISO_8601,
+
+    /**
+     * Number of milliseconds since the epoch. It is cheaper to produce and to parse (Elasticsearch
+     * "date" fields accept it by default).
+     */
+    EPOCH_MILLIS
+}
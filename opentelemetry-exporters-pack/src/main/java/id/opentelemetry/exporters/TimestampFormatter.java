@@ -0,0 +1,145 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Formats point timestamps as {@link TimestampFormat#ISO_8601} strings.
+ *
+ * <p>Output is exactly the same as of {@link java.time.ZonedDateTime#toString()} in UTC with
+ * millisecond precision ("2023-02-12T00:53:45.663Z", "2023-02-12T00:53Z"), but it is produced
+ * without creating any {@link java.time} objects.
+ *
+ * <p>All points of one export usually share the same start and end times, so formatted values are
+ * cached. Cache is a small direct-mapped table of immutable entries which is updated without locks
+ * (in case of race one of the entries is simply lost).
+ *
+ * <p>Thread safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+class TimestampFormatter {
+    /** Formatter shared by all exporters */
+    static final TimestampFormatter SHARED = new TimestampFormatter();
+
+    private static final int CACHE_SIZE = 16;
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final long DAYS_0000_TO_1970 = 719_528L;
+    private static final long DAYS_PER_CYCLE = 146_097L;
+
+    private record Entry(long epochMillis, byte[] bytes, String string) {}
+
+    private final Entry[] cache = new Entry[CACHE_SIZE];
+
+    static long toEpochMillis(long epochNanos) {
+        // same as Instant.ofEpochMilli(epochNanos / 1000000)
+        return epochNanos / 1_000_000;
+    }
+
+    /**
+     * @return cached bytes (US-ASCII) which should not be modified
+     */
+    byte[] formatBytes(long epochNanos) {
+        return entry(toEpochMillis(epochNanos)).bytes();
+    }
+
+    String format(long epochNanos) {
+        return entry(toEpochMillis(epochNanos)).string();
+    }
+
+    private Entry entry(long epochMillis) {
+        var index = (int) (epochMillis ^ (epochMillis >>> 32)) & (CACHE_SIZE - 1);
+        var entry = cache[index];
+        if (entry != null && entry.epochMillis() == epochMillis) return entry;
+        var bytes = format(epochMillis, new byte[32]);
+        entry = new Entry(epochMillis, bytes, new String(bytes, StandardCharsets.US_ASCII));
+        cache[index] = entry;
+        return entry;
+    }
+
+    private static byte[] format(long epochMillis, byte[] buf) {
+        var epochDay = Math.floorDiv(epochMillis, MILLIS_PER_DAY);
+        var millisOfDay = (int) Math.floorMod(epochMillis, MILLIS_PER_DAY);
+        // civil date, same algorithm as in LocalDate.ofEpochDay
+        var zeroDay = epochDay + DAYS_0000_TO_1970 - 60;
+        long adjust = 0;
+        if (zeroDay < 0) {
+            var adjustCycles = (zeroDay + 1) / DAYS_PER_CYCLE - 1;
+            adjust = adjustCycles * 400;
+            zeroDay += -adjustCycles * DAYS_PER_CYCLE;
+        }
+        var year = (400 * zeroDay + 591) / DAYS_PER_CYCLE;
+        var dayOfYear = zeroDay - (365 * year + year / 4 - year / 100 + year / 400);
+        if (dayOfYear < 0) {
+            year--;
+            dayOfYear = zeroDay - (365 * year + year / 4 - year / 100 + year / 400);
+        }
+        year += adjust;
+        var marchDayOfYear = (int) dayOfYear;
+        var marchMonth = (marchDayOfYear * 5 + 2) / 153;
+        var month = (marchMonth + 2) % 12 + 1;
+        var day = marchDayOfYear - (marchMonth * 306 + 5) / 10 + 1;
+        year += marchMonth / 10;
+
+        var pos = 0;
+        pos = year(buf, pos, (int) year);
+        buf[pos++] = '-';
+        pos = digits(buf, pos, month, 2);
+        buf[pos++] = '-';
+        pos = digits(buf, pos, day, 2);
+        buf[pos++] = 'T';
+        var millis = millisOfDay % 1000;
+        var seconds = millisOfDay / 1000;
+        pos = digits(buf, pos, seconds / 3600, 2);
+        buf[pos++] = ':';
+        pos = digits(buf, pos, seconds / 60 % 60, 2);
+        if (seconds % 60 != 0 || millis != 0) {
+            buf[pos++] = ':';
+            pos = digits(buf, pos, seconds % 60, 2);
+            if (millis != 0) {
+                buf[pos++] = '.';
+                pos = digits(buf, pos, millis, 3);
+            }
+        }
+        buf[pos++] = 'Z';
+        var bytes = new byte[pos];
+        System.arraycopy(buf, 0, bytes, 0, pos);
+        return bytes;
+    }
+
+    /** Same as in LocalDate.toString */
+    private static int year(byte[] buf, int pos, int year) {
+        var absYear = Math.abs(year);
+        if (absYear < 1000) {
+            if (year < 0) buf[pos++] = '-';
+            return digits(buf, pos, absYear, 4);
+        }
+        if (year > 9999) buf[pos++] = '+';
+        else if (year < 0) buf[pos++] = '-';
+        return digits(buf, pos, absYear, Integer.toString(absYear).length());
+    }
+
+    private static int digits(byte[] buf, int pos, int value, int width) {
+        for (int i = pos + width - 1; i >= pos; i--) {
+            buf[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        return pos + width;
+    }
+}
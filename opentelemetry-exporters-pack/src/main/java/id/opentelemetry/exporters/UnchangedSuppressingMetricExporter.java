@@ -0,0 +1,217 @@
+/*
+ * Copyright 2026 opentelemetry-exporters-pack project
+ * 
+ * Website: https://github.com/lambdaprime/opentelemetry-exporters-pack
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package id.opentelemetry.exporters;
+
+import id.xfunction.logging.XLogger;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.sdk.common.CompletableResultCode;
+import io.opentelemetry.sdk.common.InstrumentationScopeInfo;
+import io.opentelemetry.sdk.metrics.InstrumentType;
+import io.opentelemetry.sdk.metrics.data.AggregationTemporality;
+import io.opentelemetry.sdk.metrics.data.DoublePointData;
+import io.opentelemetry.sdk.metrics.data.ExponentialHistogramPointData;
+import io.opentelemetry.sdk.metrics.data.HistogramPointData;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.metrics.data.PointData;
+import io.opentelemetry.sdk.metrics.export.MetricExporter;
+import io.opentelemetry.sdk.resources.Resource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+
+/**
+ * Metric Exporter decorator which skips points that do not carry any new information.
+ *
+ * <p>Following points are skipped:
+ *
+ * <ul>
+ *   <li>{@link AggregationTemporality#DELTA} sums with zero value and histograms with zero count
+ *   <li>gauges and {@link AggregationTemporality#CUMULATIVE} sums and histograms with the same
+ *       value (count for histograms) as the last exported point of the same series
+ * </ul>
+ *
+ * <p>Each series is still exported at least once per heartbeat interval (measured by point end
+ * time), so that missing points can be distinguished from the unchanged ones.
+ *
+ * <p>Last exported values are kept in the cache of bounded size. When series is evicted from the
+ * cache its next point is always exported.
+ *
+ * <h2>Usage</h2>
+ *
+ * <pre>{@code
+ * var metricReader = PeriodicMetricReader
+ *   .builder(new UnchangedSuppressingMetricExporter(elasticsearchExporter, Duration.ofMinutes(5)))
+ *   .setInterval(Duration.ofSeconds(3))
+ *   .build();
+ * }</pre>
+ *
+ * <p>Thread safe.
+ *
+ * @author lambdaprime intid@protonmail.com
+ */
+public final class UnchangedSuppressingMetricExporter implements MetricExporter {
+    private static final XLogger LOGGER =
+            XLogger.getLogger(UnchangedSuppressingMetricExporter.class.getName());
+
+    public static final int DEFAULT_MAX_SERIES = 10_000;
+
+    private record SeriesKey(
+            Resource resource,
+            InstrumentationScopeInfo scope,
+            String name,
+            Attributes attributes) {}
+
+    /**
+     * Last exported point of the series
+     *
+     * @author lambdaprime intid@protonmail.com
+     */
+    private static class Emitted {
+        long epochNanos;
+
+        /** Value of long points or bits of double value */
+        long value;
+    }
+
+    private final MetricExporter delegate;
+    private final long heartbeatNanos;
+    private final LruCache<SeriesKey, Emitted> emitted;
+
+    /**
+     * @param delegate exporter which receives changed points
+     * @param heartbeat how often each series is exported even if it has not changed
+     */
+    public UnchangedSuppressingMetricExporter(MetricExporter delegate, Duration heartbeat) {
+        this(delegate, heartbeat, DEFAULT_MAX_SERIES);
+    }
+
+    /**
+     * @param maxSeries max number of series for which last exported values are kept
+     */
+    public UnchangedSuppressingMetricExporter(
+            MetricExporter delegate, Duration heartbeat, int maxSeries) {
+        if (heartbeat.isNegative() || heartbeat.isZero())
+            throw new IllegalArgumentException("Heartbeat must be positive");
+        if (maxSeries <= 0) throw new IllegalArgumentException("Max series must be positive");
+        this.delegate = delegate;
+        this.heartbeatNanos = heartbeat.toNanos();
+        emitted = new LruCache<>(maxSeries);
+    }
+
+    @Override
+    public synchronized CompletableResultCode export(Collection<MetricData> metrics) {
+        var result = new ArrayList<MetricData>(metrics.size());
+        var suppressed = 0;
+        for (var metric : metrics) {
+            var points = metric.getData().getPoints();
+            var changed = new ArrayList<PointData>(points.size());
+            for (var point : points) if (isChanged(metric, point)) changed.add(point);
+            suppressed += points.size() - changed.size();
+            if (changed.size() == points.size()) result.add(metric);
+            else if (!changed.isEmpty()) result.add(MetricDataFactory.create(metric, changed));
+        }
+        LOGGER.fine("Suppressed {0} points", suppressed);
+        if (result.isEmpty()) return CompletableResultCode.ofSuccess();
+        return delegate.export(result);
+    }
+
+    /**
+     * @return true if point should be exported
+     */
+    private boolean isChanged(MetricData metric, PointData point) {
+        boolean isDelta;
+        boolean isZero;
+        // for cumulative histograms buckets cannot change without their count being changed
+        long value;
+        switch (metric.getType()) {
+            case LONG_SUM -> {
+                isDelta = isDelta(metric.getLongSumData().getAggregationTemporality());
+                value = ((LongPointData) point).getValue();
+                isZero = value == 0;
+            }
+            case DOUBLE_SUM -> {
+                isDelta = isDelta(metric.getDoubleSumData().getAggregationTemporality());
+                var v = ((DoublePointData) point).getValue();
+                value = Double.doubleToLongBits(v);
+                isZero = v == 0;
+            }
+            case LONG_GAUGE -> {
+                isDelta = false;
+                value = ((LongPointData) point).getValue();
+                isZero = value == 0;
+            }
+            case DOUBLE_GAUGE -> {
+                isDelta = false;
+                var v = ((DoublePointData) point).getValue();
+                value = Double.doubleToLongBits(v);
+                isZero = v == 0;
+            }
+            case HISTOGRAM -> {
+                isDelta = isDelta(metric.getHistogramData().getAggregationTemporality());
+                value = ((HistogramPointData) point).getCount();
+                isZero = value == 0;
+            }
+            case EXPONENTIAL_HISTOGRAM -> {
+                isDelta = isDelta(metric.getExponentialHistogramData().getAggregationTemporality());
+                value = ((ExponentialHistogramPointData) point).getCount();
+                isZero = value == 0;
+            }
+            default -> {
+                return true;
+            }
+        }
+        var key =
+                new SeriesKey(
+                        metric.getResource(),
+                        metric.getInstrumentationScopeInfo(),
+                        metric.getName(),
+                        point.getAttributes());
+        var last = emitted.get(key);
+        if (last == null) {
+            last = new Emitted();
+            emitted.put(key, last);
+        } else {
+            var isUnchanged = isDelta ? isZero : last.value == value;
+            if (isUnchanged && point.getEpochNanos() - last.epochNanos < heartbeatNanos)
+                return false;
+        }
+        last.epochNanos = point.getEpochNanos();
+        last.value = value;
+        return true;
+    }
+
+    private static boolean isDelta(AggregationTemporality temporality) {
+        return temporality == AggregationTemporality.DELTA;
+    }
+
+    @Override
+    public CompletableResultCode flush() {
+        return delegate.flush();
+    }
+
+    @Override
+    public CompletableResultCode shutdown() {
+        return delegate.shutdown();
+    }
+
+    @Override
+    public AggregationTemporality getAggregationTemporality(InstrumentType instrumentType) {
+        return delegate.getAggregationTemporality(instrumentType);
+    }
+}
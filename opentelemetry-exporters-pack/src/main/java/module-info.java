@@ -11,6 +11,8 @@
  * <p>Available exporters:
  *
  * <ul>
+ *   <li>{@link id.opentelemetry.exporters.BinaryMetricExporter} - compact binary files which can be
+ *       read back with {@link id.opentelemetry.exporters.BinaryMetricReader}
  *   <li>{@link id.opentelemetry.exporters.CsvMetricExporter}
  *   <li>{@link id.opentelemetry.exporters.ElasticsearchMetricExporter} - export metrics to <a
  *       href="https://www.elastic.co/elasticsearch/">Elasticsearch</a> directly without need for
@@ -18,6 +20,19 @@
  *       default it is disabled and when enabled it prints warning message to the logs)
  * </ul>
  *
+ * <p>Exporter decorators:
+ *
+ * <ul>
+ *   <li>{@link id.opentelemetry.exporters.CardinalityLimitingMetricExporter} - limits number of
+ *       series of each metric, new series above the limit are merged into overflow series
+ *   <li>{@link id.opentelemetry.exporters.FanOutMetricExporter} - passes metrics to several
+ *       exporters, each on its own thread
+ *   <li>{@link id.opentelemetry.exporters.RollupMetricExporter} - merges points over the time
+ *       window to reduce number of exported points
+ *   <li>{@link id.opentelemetry.exporters.UnchangedSuppressingMetricExporter} - skips zero deltas
+ *       and unchanged values, with periodic heartbeat of each series
+ * </ul>
+ *
  * @see <a href="https://opentelemetry.io">OpenTelemetry</a>
  * @see <a
  *     href="https://github.com/open-telemetry/opentelemetry-java/tree/main/exporters">OpenTelemetry
@@ -44,5 +59,6 @@ module id.opentelemetry.exporters.pack {
     requires io.opentelemetry.sdk.metrics;
     requires io.opentelemetry.api;
     requires java.logging;
+    requires java.management;
     requires java.net.http;
 }